@@ -2,6 +2,7 @@ plugins {
     java
     id("io.spring.dependency-management") version "1.0.10.RELEASE"
     id("org.springframework.boot") version "2.4.0"
+    id("me.champeau.gradle.jmh") version "0.5.2"
 }
 
 repositories {
@@ -26,6 +27,15 @@ dependencies {
     testImplementation("io.projectreactor:reactor-test")
 }
 
+// Benchmarks live in src/jmh/java, run with: ./gradlew jmh
+jmh {
+    jmhVersion = "1.26"
+    jvmArgs = listOf("--enable-preview")
+    profilers = listOf("gc")
+    // Results kept in build/reports/jmh/results.json, to compare throughput and allocation across releases
+    resultFormat = "JSON"
+}
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.add("--enable-preview")
 }
@@ -0,0 +1,57 @@
+package brokers.interactive_brokers.tick.handler;
+
+import com.ib.client.TickType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.processor.BidAskSpreadTickProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a bid/ask price update through IbTickHandler, none of which cross a Price Level. Compare allocation rate of
+ * the default and flyweight paths with the GC profiler, e.g. {@code -prof gc} and gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbTickHandlerBenchmark {
+
+    @Param({"false", "true"})
+    private boolean flyweight;
+
+    private IbTickHandler tickHandler;
+    private Disposable tickDisposable;
+    private double price = 100.0;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        tickHandler = new IbTickHandler(ticker, new BidAskSpreadTickProcessor(), flyweight);
+        tickHandler.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 50.0, PriceLevelDirection.FALLS_BELOW));
+        tickHandler.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 150.0, PriceLevelDirection.RISES_ABOVE));
+
+        tickDisposable = tickHandler.getTicks().subscribe(blackhole::consume);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tickDisposable.dispose();
+    }
+
+    @Benchmark
+    public void tickPrice() {
+        price = price > 101.0 ? 99.0 : price + 0.01;
+
+        tickHandler.tickPrice(TickType.BID, price, 0);
+        tickHandler.tickPrice(TickType.ASK, price + 0.02, 0);
+    }
+}
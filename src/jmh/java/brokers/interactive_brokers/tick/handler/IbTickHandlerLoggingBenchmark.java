@@ -0,0 +1,115 @@
+package brokers.interactive_brokers.tick.handler;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.ib.client.TickType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.processor.BidAskSpreadTickProcessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time the IB callback thread spends on a burst of price, size and timestamp callbacks, including logging. The previous
+ * configuration is a synchronous file appender at DEBUG, the current one an async appender at INFO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbTickHandlerLoggingBenchmark {
+
+    @Param({"DEBUG", "INFO"})
+    private String level;
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private IbTickHandler tickHandler;
+    private Disposable tickDisposable;
+    private Appender<ILoggingEvent> appender;
+    private Path logFile;
+    private double price = 100.0;
+    private long timestamp = 1_600_000_000L;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setup(Blackhole blackhole) throws IOException {
+        final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logFile = Files.createTempFile("theta-logging-benchmark", ".log");
+
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%date %-5level %logger{0} [%thread] - %message%n");
+        encoder.start();
+
+        final FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        if (async) {
+            final AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(0);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        } else {
+            appender = fileAppender;
+        }
+
+        final Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(Level.toLevel(level));
+
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        tickHandler = new IbTickHandler(ticker, new BidAskSpreadTickProcessor());
+        tickHandler.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 50.0, PriceLevelDirection.FALLS_BELOW));
+        tickHandler.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 150.0, PriceLevelDirection.RISES_ABOVE));
+
+        tickDisposable = tickHandler.getTicks().subscribe(blackhole::consume);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        tickDisposable.dispose();
+        appender.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void tickCallbacks() {
+        price = price > 101.0 ? 99.0 : price + 0.01;
+
+        tickHandler.tickString(TickType.LAST_TIMESTAMP, Long.toString(timestamp++));
+        tickHandler.tickPrice(TickType.LAST, price, 0);
+        tickHandler.tickSize(TickType.LAST_SIZE, 100);
+        tickHandler.tickPrice(TickType.BID, price, 0);
+        tickHandler.tickSize(TickType.BID_SIZE, 200);
+        tickHandler.tickPrice(TickType.ASK, price + 0.02, 0);
+        tickHandler.tickSize(TickType.ASK_SIZE, 300);
+    }
+}
@@ -0,0 +1,67 @@
+package theta.domain.pricelevel;
+
+import org.openjdk.jmh.annotations.*;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.SecurityType;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.option.Option;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price Level creation from a Theta, and crossing checks of a PriceLevelBook as it grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceLevelBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int priceLevels;
+
+    private Theta theta;
+    private PriceLevelBook priceLevelBook;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+        final LocalDate expiration = LocalDate.of(2030, 1, 18);
+
+        theta = Theta.of(Stock.of(ticker, 100L, 50.0),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, expiration, 1.0),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, expiration, 1.0));
+
+        // Half each direction, spread around 100
+        priceLevelBook = new PriceLevelBook();
+        for (int level = 0; level < priceLevels; level++) {
+            priceLevelBook.add(level % 2 == 0
+                    ? DefaultPriceLevel.from(ticker, 90.0 - level, PriceLevelDirection.FALLS_BELOW)
+                    : DefaultPriceLevel.from(ticker, 110.0 + level, PriceLevelDirection.RISES_ABOVE));
+        }
+    }
+
+    @Benchmark
+    public PriceLevel priceLevelOf() {
+        return DefaultPriceLevel.of(theta);
+    }
+
+    @Benchmark
+    public boolean isCrossed() {
+        return priceLevelBook.isCrossed(100.0, 100.0);
+    }
+
+    @Benchmark
+    public List<PriceLevel> getCrossed() {
+        return priceLevelBook.getCrossed(85.0, 115.0);
+    }
+}
@@ -0,0 +1,54 @@
+package theta.domain.ticker;
+
+import org.openjdk.jmh.annotations.*;
+import theta.domain.Ticker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-Tick lookup of Ticker state, by hashing into a ConcurrentHashMap against indexing a TickerMap by Ticker id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickerMapBenchmark {
+
+    @Param({"10", "500"})
+    private int tickers;
+
+    private Ticker[] tickerArray;
+    private final ConcurrentMap<Ticker, Object> concurrentHashMap = new ConcurrentHashMap<>();
+    private final TickerMap<Object> tickerMap = new TickerMap<>();
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tickerArray = new Ticker[tickers];
+
+        for (int i = 0; i < tickers; i++) {
+            tickerArray[i] = DefaultTicker.from("T" + i);
+            concurrentHashMap.put(tickerArray[i], new Object());
+            tickerMap.put(tickerArray[i], new Object());
+        }
+    }
+
+    @Benchmark
+    public Object concurrentHashMapGet() {
+        return concurrentHashMap.get(nextTicker());
+    }
+
+    @Benchmark
+    public Object tickerMapGet() {
+        return tickerMap.get(nextTicker());
+    }
+
+    private Ticker nextTicker() {
+        next = next + 1 == tickers ? 0 : next + 1;
+        return tickerArray[next];
+    }
+}
@@ -0,0 +1,106 @@
+package theta.portfolio.manager;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+import theta.api.PositionHandler;
+import theta.domain.Security;
+import theta.domain.SecurityType;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.option.Option;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+import theta.properties.PortfolioProperties;
+import theta.tick.api.TickMonitor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup reconciliation of a synthetic portfolio, streamed per position or as a single batch. Each Ticker holds a
+ * Stock covering four straddles at different strikes, plus an unmatched call, so ten positions per Ticker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DefaultPortfolioManagerBenchmark {
+    private static final int POSITIONS_PER_TICKER = 10;
+    private static final int STRADDLES_PER_TICKER = 4;
+
+    @Param({"5000"})
+    private int positions;
+
+    @Param({"false", "true"})
+    private boolean batchReconciliation;
+
+    private List<Security> securities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final LocalDate expiration = LocalDate.of(2030, 1, 18);
+
+        securities = new ArrayList<>(positions);
+
+        for (int i = 0; i < positions / POSITIONS_PER_TICKER; i++) {
+            final Ticker ticker = DefaultTicker.from("T" + i);
+
+            securities.add(Stock.of(ticker, 100L * STRADDLES_PER_TICKER, 50.0));
+            for (int strike = 0; strike < STRADDLES_PER_TICKER; strike++) {
+                securities.add(new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0 + strike,
+                        expiration, 1.0));
+                securities.add(new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0 + strike,
+                        expiration, 1.0));
+            }
+            securities.add(new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 75.0, expiration, 1.0));
+        }
+    }
+
+    @Benchmark
+    public DefaultPortfolioManager reconcile() {
+        final DefaultPortfolioManager portfolioManager = new DefaultPortfolioManager(
+                new FixedPositionHandler(securities), new NoOpTickMonitor(),
+                new PortfolioProperties(batchReconciliation));
+
+        portfolioManager.startPositionProcessing().block();
+
+        return portfolioManager;
+    }
+
+    private static class FixedPositionHandler implements PositionHandler {
+        private final List<Security> securities;
+
+        private FixedPositionHandler(List<Security> securities) {
+            this.securities = securities;
+        }
+
+        @Override
+        public Flux<Security> requestPositionsFromBrokerage() {
+            return Flux.fromIterable(securities);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    private static class NoOpTickMonitor implements TickMonitor {
+        @Override
+        public void addMonitor(Theta theta) {
+        }
+
+        @Override
+        public int deleteMonitor(Theta theta) {
+            return 0;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
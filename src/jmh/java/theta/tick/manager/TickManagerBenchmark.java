@@ -0,0 +1,121 @@
+package theta.tick.manager;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import theta.api.TickSubscriber;
+import theta.domain.PriceLevel;
+import theta.domain.SecurityType;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.option.Option;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.Executor;
+import theta.execution.domain.CandidateStockOrder;
+import theta.tick.api.Tick;
+import theta.tick.api.TickProcessor;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+import theta.tick.processor.LastTickProcessor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Ticks through TickManager, as the number of monitored Tickers and Price Levels per Ticker grows. Ticks never
+ * cross a Price Level, so only the lookup and evaluation of the Ticker's own Thetas is measured. A burst is one Tick for
+ * every monitored Ticker, so its time is per burst, not per Tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickManagerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int monitoredTickers;
+
+    @Param({"1", "10"})
+    private int priceLevelsPerTicker;
+
+    private TickManager tickManager;
+    private Tick[] ticks;
+    private int tickIndex = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tickManager = new TickManager(new NoOpTickSubscriber(), new LastTickProcessor(), new NoOpExecutor(),
+                timeToCheck -> true);
+
+        ticks = new Tick[monitoredTickers];
+
+        for (int i = 0; i < monitoredTickers; i++) {
+            final Ticker ticker = DefaultTicker.from("T" + i);
+            for (int level = 0; level < priceLevelsPerTicker; level++) {
+                tickManager.addMonitor(buildTheta(ticker, 50.0 - level));
+            }
+            ticks[i] = new DefaultTick(ticker, TickType.LAST, 100.0, 99.99, 100.01, Instant.MAX);
+        }
+    }
+
+    @Benchmark
+    public void processTick() {
+        tickManager.processTick(ticks[tickIndex]);
+        tickIndex = (tickIndex + 1) % ticks.length;
+    }
+
+    @Benchmark
+    public void processTickBurst() {
+        for (final Tick tick : ticks) {
+            tickManager.processTick(tick);
+        }
+    }
+
+    static Theta buildTheta(Ticker ticker, double strikePrice) {
+        final LocalDate expiration = LocalDate.of(2030, 1, 18);
+
+        return Theta.of(Stock.of(ticker, 100L, strikePrice),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, strikePrice, expiration, 1.0),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, strikePrice, expiration, 1.0));
+    }
+
+    static class NoOpTickSubscriber implements TickSubscriber {
+        @Override
+        public Flux<Tick> getTicksAcrossStrikePrices() {
+            return Flux.never();
+        }
+
+        @Override
+        public void addPriceLevelMonitor(PriceLevel priceLevel, TickProcessor tickProcessor) {
+        }
+
+        @Override
+        public int removePriceLevelMonitor(PriceLevel priceLevel) {
+            return 0;
+        }
+
+        @Override
+        public void unsubscribeAll() {
+        }
+    }
+
+    private static class NoOpExecutor implements Executor {
+        @Override
+        public Mono<Void> reverseTrade(CandidateStockOrder candidateOrder) {
+            return Mono.empty();
+        }
+
+        @Override
+        public void convertToMarketOrderIfExists(Ticker ticker) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package theta.tick.manager;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.Executor;
+import theta.execution.domain.CandidateStockOrder;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+import theta.tick.processor.BidAskSpreadTickProcessor;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end cost of a Tick crossing a Price Level through TickManager, until the CandidateStockOrder reaches the
+ * Executor. The trade completes immediately, so the reversed Theta is monitored again for the next invocation, which
+ * is included in the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickToOrderBenchmark {
+
+    @Param({"1", "10"})
+    private int priceLevelsPerTicker;
+
+    private TickManager tickManager;
+    private Theta crossedTheta;
+    private Tick crossingTick;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        tickManager = new TickManager(new TickManagerBenchmark.NoOpTickSubscriber(), new BidAskSpreadTickProcessor(),
+                new CapturingExecutor(blackhole), timeToCheck -> true);
+
+        // Only the highest FALLS_BELOW level is crossed
+        crossedTheta = TickManagerBenchmark.buildTheta(ticker, 50.0);
+        tickManager.addMonitor(crossedTheta);
+        for (int level = 1; level < priceLevelsPerTicker; level++) {
+            tickManager.addMonitor(TickManagerBenchmark.buildTheta(ticker, 50.0 - level));
+        }
+
+        crossingTick = new DefaultTick(ticker, TickType.BID, 49.8, 49.7, 49.75, Instant.MAX);
+    }
+
+    @Benchmark
+    public void tickToCandidateOrder() {
+        tickManager.processTick(crossingTick);
+        tickManager.addMonitor(crossedTheta);
+    }
+
+    private static class CapturingExecutor implements Executor {
+        private final Blackhole blackhole;
+
+        private CapturingExecutor(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public Mono<Void> reverseTrade(CandidateStockOrder candidateOrder) {
+            blackhole.consume(candidateOrder);
+            return Mono.empty();
+        }
+
+        @Override
+        public void convertToMarketOrderIfExists(Ticker ticker) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package theta.tick.processor;
+
+import org.openjdk.jmh.annotations.*;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.api.TickProcessor;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Tick evaluation against a single Price Level, by Tick Processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickProcessorBenchmark {
+
+    @Param({"LAST", "BID_ASK_SPREAD"})
+    private String processor;
+
+    private TickProcessor tickProcessor;
+    private PriceLevel priceLevel;
+    private Tick tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        tickProcessor = switch (processor) {
+            case "LAST" -> new LastTickProcessor();
+            case "BID_ASK_SPREAD" -> new BidAskSpreadTickProcessor();
+            default -> throw new IllegalArgumentException("Unknown Tick Processor: " + processor);
+        };
+
+        priceLevel = DefaultPriceLevel.from(ticker, 50.0, PriceLevelDirection.FALLS_BELOW);
+
+        // Applicable to both processors, and not crossing
+        final TickType tickType = tickProcessor.isApplicable(TickType.LAST) ? TickType.LAST : TickType.BID;
+        tick = new DefaultTick(ticker, tickType, 50.5, 50.49, 50.51, Instant.MAX);
+    }
+
+    @Benchmark
+    public boolean processTick() {
+        return tickProcessor.processTick(tick, priceLevel);
+    }
+
+    @Benchmark
+    public double getCrossingPrice() {
+        return tickProcessor.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW);
+    }
+}
@@ -0,0 +1,65 @@
+package theta.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-Tick market hours check, converting each time to a ZonedDateTime against comparing it to the cached session of a
+ * MarketSessionCalendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketSessionCalendarBenchmark {
+
+    private static final ZoneId MARKET_TIMEZONE = ZoneId.of("America/New_York");
+    private static final LocalTime MARKET_OPEN_TIME = LocalTime.of(9, 30);
+    private static final LocalTime MARKET_CLOSE_TIME = LocalTime.of(16, 0);
+
+    private final MarketSessionCalendar calendar = MarketSessionCalendar.newYork();
+
+    // A second of Ticks during a session, a millisecond apart
+    private final Instant[] times = new Instant[1_000];
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Instant start = ZonedDateTime.of(LocalDate.of(2020, 10, 30), LocalTime.NOON, MARKET_TIMEZONE).toInstant();
+
+        for (int i = 0; i < times.length; i++) {
+            times[i] = start.plusMillis(i);
+        }
+    }
+
+    @Benchmark
+    public boolean zonedDateTime() {
+        final ZonedDateTime marketInstant = nextTime().atZone(MARKET_TIMEZONE);
+        final DayOfWeek marketDayOfWeek = DayOfWeek.from(marketInstant);
+        final LocalTime marketLocalTime = marketInstant.toLocalTime();
+
+        return marketDayOfWeek != DayOfWeek.SATURDAY
+                && marketDayOfWeek != DayOfWeek.SUNDAY
+                && marketLocalTime.isAfter(MARKET_OPEN_TIME)
+                && marketLocalTime.isBefore(MARKET_CLOSE_TIME);
+    }
+
+    @Benchmark
+    public boolean sessionCalendar() {
+        return calendar.isDuringSession(nextTime());
+    }
+
+    private Instant nextTime() {
+        next = next + 1 == times.length ? 0 : next + 1;
+        return times[next];
+    }
+}
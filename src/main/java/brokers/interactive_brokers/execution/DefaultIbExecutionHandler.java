@@ -1,8 +1,10 @@
 package brokers.interactive_brokers.execution;
 
-import brokers.interactive_brokers.IbController;
 import brokers.interactive_brokers.execution.order.DefaultIbOrderHandler;
 import brokers.interactive_brokers.execution.order.IbOrderHandler;
+import brokers.interactive_brokers.pacing.IbMessagePriority;
+import brokers.interactive_brokers.pacing.IbMessageScheduler;
+import brokers.interactive_brokers.util.ConcurrentIntMap;
 import brokers.interactive_brokers.util.IbOrderUtil;
 import com.ib.client.Contract;
 import com.ib.client.Order;
@@ -15,24 +17,24 @@ import theta.api.ExecutionHandler;
 import theta.domain.SecurityType;
 import theta.execution.api.ExecutableOrder;
 import theta.execution.api.OrderStatus;
+import theta.metrics.LatencyRecorder;
+import theta.metrics.LatencyStage;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 @Component
 public class DefaultIbExecutionHandler implements ExecutionHandler {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private final IbController ibController;
+    private final IbMessageScheduler ibMessageScheduler;
 
-    private final ConcurrentMap<Integer, IbOrderHandler> orderHandlerMapper =
-            new ConcurrentHashMap<>();
+    // Map IB order id to Order Handler
+    private final ConcurrentIntMap<IbOrderHandler> orderHandlerMapper = new ConcurrentIntMap<>();
 
-    public DefaultIbExecutionHandler(IbController ibController) {
+    public DefaultIbExecutionHandler(IbMessageScheduler ibMessageScheduler) {
         logger.info("Starting Interactive Brokers Execution Handler");
-        this.ibController = Objects.requireNonNull(ibController, "Controller cannot be null");
+        this.ibMessageScheduler = Objects.requireNonNull(ibMessageScheduler, "Message Scheduler cannot be null");
     }
 
     @Override
@@ -71,7 +73,7 @@ public class DefaultIbExecutionHandler implements ExecutionHandler {
     @Override
     public Flux<OrderStatus> cancelOrder(ExecutableOrder order) {
         order.getBrokerId().ifPresentOrElse(
-                id -> ibController.getController().cancelOrder(id),
+                id -> ibMessageScheduler.send(IbMessagePriority.ORDER, controller -> controller.cancelOrder(id)),
                 () -> logger.warn("Can not cancel stock order with empty broker id for: {}", order));
 
         return Flux.empty();
@@ -82,11 +84,14 @@ public class DefaultIbExecutionHandler implements ExecutionHandler {
         Order ibOrder = IbOrderUtil.buildIbOrder(order);
         IbOrderHandler orderHandler = new DefaultIbOrderHandler(order);
 
-        ibController.getController().placeOrModifyOrder(ibContract, ibOrder, orderHandler);
+        ibMessageScheduler.send(IbMessagePriority.ORDER, controller -> {
+            controller.placeOrModifyOrder(ibContract, ibOrder, orderHandler);
+            LatencyRecorder.record(LatencyStage.BROKER_SUBMIT, order.getTicker());
 
-        // Store after call to placeOrModifyOrder, as the call updates the ibOrder id
-        orderHandlerMapper.put(ibOrder.orderId(), orderHandler);
-        order.setBrokerId(ibOrder.orderId());
+            // Store after call to placeOrModifyOrder, as the call updates the ibOrder id
+            orderHandlerMapper.put(ibOrder.orderId(), orderHandler);
+            order.setBrokerId(ibOrder.orderId());
+        });
 
         return orderHandler.getOrderStatus();
     }
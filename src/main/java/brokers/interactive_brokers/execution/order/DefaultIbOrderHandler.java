@@ -41,7 +41,7 @@ public class DefaultIbOrderHandler implements IbOrderHandler {
     @Override
     public void orderState(OrderState orderState) {
         logger.debug("Received OrderState: Order Id: {}, Ticker: {}, {}", order.getBrokerId().orElse(null),
-                order.getTicker(), IbStringUtil.toStringOrderState(orderState));
+                order.getTicker(), IbStringUtil.lazyOrderState(orderState));
         ibOrderStatus = orderState.status();
         commission = orderState.commission();
     }
@@ -49,14 +49,17 @@ public class DefaultIbOrderHandler implements IbOrderHandler {
     @Override
     public void orderStatus(OrderStatus status, double filled, double remaining, double avgFillPrice,
                             long permId, int parentId, double lastFillPrice, int clientId, String whyHeld) {
-        final IbOrderStatus ibOrderStatusBuilder =
-                new DefaultIbOrderStatus.DefaultIbOrderStatusBuilder(status).numberFilled(filled)
-                        .numberRemaining(remaining).withAverageFillPrice(avgFillPrice).withPermId(permId)
-                        .withParentId(parentId).withLastFillPrice(lastFillPrice).withClientId(clientId)
-                        .withHeldReason(whyHeld).build();
-
-        logger.debug("Received OrderStatus: Order Id: {}, Ticker: {}, {}",
-                order.getBrokerId().orElse(null), order.getTicker(), ibOrderStatusBuilder);
+        // IB Order Status is only built to be logged
+        if (logger.isDebugEnabled()) {
+            final IbOrderStatus ibOrderStatusBuilder =
+                    new DefaultIbOrderStatus.DefaultIbOrderStatusBuilder(status).numberFilled(filled)
+                            .numberRemaining(remaining).withAverageFillPrice(avgFillPrice).withPermId(permId)
+                            .withParentId(parentId).withLastFillPrice(lastFillPrice).withClientId(clientId)
+                            .withHeldReason(whyHeld).build();
+
+            logger.debug("Received OrderStatus: Order Id: {}, Ticker: {}, {}",
+                    order.getBrokerId().orElse(null), order.getTicker(), ibOrderStatusBuilder);
+        }
 
         ibOrderStatus = status;
         this.filled = filled;
@@ -87,7 +90,9 @@ public class DefaultIbOrderHandler implements IbOrderHandler {
         switch (ibOrderStatus) {
             case ApiPending, PreSubmitted, PendingSubmit, PendingCancel -> orderState = theta.execution.api.OrderState.PENDING;
             case ApiCancelled, Cancelled -> orderState = theta.execution.api.OrderState.CANCELLED;
-            case Submitted -> orderState = theta.execution.api.OrderState.SUBMITTED;
+            case Submitted -> orderState = filled > 0.0
+                    ? theta.execution.api.OrderState.PARTIALLY_FILLED
+                    : theta.execution.api.OrderState.SUBMITTED;
             case Filled -> orderState = theta.execution.api.OrderState.FILLED;
             default -> {
                 logger.warn("Unknown order status from brokerage: {}. Setting Order State to PENDING.",
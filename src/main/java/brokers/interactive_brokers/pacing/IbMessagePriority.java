@@ -0,0 +1,8 @@
+package brokers.interactive_brokers.pacing;
+
+/**
+ * Priority of messages sent to IB, most urgent first.
+ */
+public enum IbMessagePriority {
+    ORDER, ACCOUNT, MARKET_DATA
+}
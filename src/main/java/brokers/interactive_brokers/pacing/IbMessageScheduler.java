@@ -0,0 +1,35 @@
+package brokers.interactive_brokers.pacing;
+
+import com.ib.controller.ApiController;
+
+import java.util.function.Consumer;
+
+public interface IbMessageScheduler {
+    /**
+     * Send message to IB as soon as pacing allows, ahead of any less urgent messages waiting.
+     *
+     * @param priority Priority of message
+     * @param message  Call on ApiController sending message
+     */
+    void send(IbMessagePriority priority, Consumer<ApiController> message);
+
+    /**
+     * Send message that can be withdrawn with its key, as long as it is still waiting. Replaces a message of the same
+     * priority still waiting with the same key.
+     *
+     * @param priority Priority of message
+     * @param key      Key message can be withdrawn with
+     * @param message  Call on ApiController sending message
+     */
+    void send(IbMessagePriority priority, Object key, Consumer<ApiController> message);
+
+    /**
+     * Withdraw message still waiting to be sent.
+     *
+     * @param key Key message was sent with
+     * @return True if message was withdrawn, and will never be sent
+     */
+    boolean withdraw(Object key);
+
+    int getQueueDepth();
+}
@@ -0,0 +1,48 @@
+package brokers.interactive_brokers.pacing;
+
+/**
+ * Refills at a fixed rate up to capacity, one token per message. Not thread-safe.
+ */
+class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0.0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate must be positive and capacity at least 1. Rate: "
+                    + tokensPerSecond + ", Capacity: " + capacity);
+        }
+
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+
+        return false;
+    }
+
+    long nanosUntilAvailable(long nowNanos) {
+        refill(nowNanos);
+
+        return tokens >= 1.0 ? 0L : (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+    }
+
+    private void refill(long nowNanos) {
+        if (nowNanos > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package brokers.interactive_brokers.pacing;
+
+import brokers.interactive_brokers.IbController;
+import com.ib.controller.ApiController;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import theta.metrics.SharedGauge;
+import theta.properties.PacingProperties;
+
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Paces all messages to IB with a token bucket, so bursts like subscribing hundreds of Tickers at startup don't cause
+ * pacing violations. Messages are sent on the calling thread while tokens are available and nothing as urgent is
+ * waiting, otherwise they wait for a dispatcher thread that always sends the most urgent message first.
+ *
+ * <p>A message sent with the key of one still waiting replaces it in its place in line, so churn like subscribing and
+ * re-subscribing a handler is sent as a single message.
+ *
+ * <p>Reports "theta.ib.messages.queued" and "theta.ib.messages.wait", tagged by priority.
+ */
+@Component
+public class TokenBucketIbMessageScheduler implements IbMessageScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final IbMessagePriority[] PRIORITIES = IbMessagePriority.values();
+
+    private static final SharedGauge<AtomicInteger> MESSAGES_QUEUED = new SharedGauge<>("theta.ib.messages.queued",
+            "Messages waiting to be sent to IB", AtomicInteger::get);
+
+    private final IbController ibController;
+
+    // Guarded by this
+    private final TokenBucket tokenBucket;
+
+    private final Map<IbMessagePriority, Queue<Message>> queues = new EnumMap<>(IbMessagePriority.class);
+    private final Map<IbMessagePriority, AtomicInteger> queueDepths = new EnumMap<>(IbMessagePriority.class);
+    private final Map<IbMessagePriority, Timer> waitTimers = new EnumMap<>(IbMessagePriority.class);
+    private final ConcurrentMap<Object, Message> waitingByKey = new ConcurrentHashMap<>();
+
+    // One permit per queued message, including withdrawn ones not yet polled
+    private final Semaphore queuedMessages = new Semaphore(0);
+    private final AtomicBoolean dispatcherStarted = new AtomicBoolean(false);
+    private final Thread dispatcher = new Thread(this::dispatch, "ib-message-dispatcher");
+
+    private volatile boolean running = true;
+
+    public TokenBucketIbMessageScheduler(IbController ibController, PacingProperties pacingProperties) {
+        logger.info("Starting Interactive Brokers Message Scheduler at {} messages per second",
+                pacingProperties.getMessagesPerSecond());
+        this.ibController = Objects.requireNonNull(ibController, "Controller cannot be null.");
+        this.tokenBucket = new TokenBucket(pacingProperties.getMessagesPerSecond(), pacingProperties.getBurst(),
+                System.nanoTime());
+
+        for (final IbMessagePriority priority : PRIORITIES) {
+            final AtomicInteger queueDepth = new AtomicInteger();
+
+            queues.put(priority, new ConcurrentLinkedQueue<>());
+            queueDepths.put(priority, queueDepth);
+            MESSAGES_QUEUED.bind(queueDepth, "priority", priority.name());
+            waitTimers.put(priority, Timer.builder("theta.ib.messages.wait")
+                    .description("Time messages waited for IB pacing")
+                    .tag("priority", priority.name())
+                    .register(Metrics.globalRegistry));
+        }
+
+        dispatcher.setDaemon(true);
+    }
+
+    @Override
+    public void send(IbMessagePriority priority, Consumer<ApiController> message) {
+        send(priority, null, message);
+    }
+
+    @Override
+    public void send(IbMessagePriority priority, Object key, Consumer<ApiController> message) {
+        if (key != null) {
+            final Message waitingMessage = waitingByKey.get(key);
+
+            if (waitingMessage != null && waitingMessage.priority == priority && waitingMessage.replace(message)) {
+                logger.debug("Replaced message waiting to be sent: {}", key);
+                return;
+            }
+        }
+
+        final Message waitingMessage = new Message(Objects.requireNonNull(priority, "Priority cannot be null."), key,
+                Objects.requireNonNull(message, "Message cannot be null."), System.nanoTime());
+
+        if (isNextInLine(priority) && tryAcquireToken()) {
+            waitingMessage.claim();
+            sendMessage(waitingMessage);
+        } else {
+            waitingMessage.queued = true;
+
+            if (key != null) {
+                waitingByKey.put(key, waitingMessage);
+            }
+
+            queueDepths.get(priority).incrementAndGet();
+            queues.get(priority).add(waitingMessage);
+            queuedMessages.release();
+
+            if (dispatcherStarted.compareAndSet(false, true)) {
+                dispatcher.start();
+            }
+        }
+    }
+
+    @Override
+    public boolean withdraw(Object key) {
+        final Message waitingMessage = waitingByKey.remove(key);
+
+        if (waitingMessage != null && waitingMessage.claim()) {
+            logger.debug("Withdrew message before it was sent: {}", key);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepths.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    // Nothing as urgent is waiting
+    private boolean isNextInLine(IbMessagePriority priority) {
+        for (final IbMessagePriority other : PRIORITIES) {
+            if (queueDepths.get(other).get() > 0) {
+                return false;
+            }
+            if (other == priority) {
+                return true;
+            }
+        }
+
+        return true;
+    }
+
+    private synchronized boolean tryAcquireToken() {
+        return tokenBucket.tryConsume(System.nanoTime());
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                queuedMessages.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            final Message message = nextMessage();
+
+            if (message != null) {
+                sendMessage(message);
+            }
+        }
+    }
+
+    // Waits for a token, then takes the most urgent message at that time. Null if it was withdrawn.
+    private Message nextMessage() {
+        while (running) {
+            final long waitNanos;
+
+            synchronized (this) {
+                waitNanos = tokenBucket.nanosUntilAvailable(System.nanoTime());
+
+                if (waitNanos == 0L) {
+                    final Message message = pollMostUrgent();
+
+                    if (message.claim()) {
+                        tokenBucket.tryConsume(System.nanoTime());
+                        return message;
+                    }
+
+                    return null;
+                }
+            }
+
+            LockSupport.parkNanos(waitNanos);
+        }
+
+        return null;
+    }
+
+    private Message pollMostUrgent() {
+        for (final IbMessagePriority priority : PRIORITIES) {
+            final Message message = queues.get(priority).poll();
+
+            if (message != null) {
+                return message;
+            }
+        }
+
+        throw new IllegalStateException("No message queued for permit");
+    }
+
+    private void sendMessage(Message message) {
+        if (message.key != null) {
+            waitingByKey.remove(message.key, message);
+        }
+
+        waitTimers.get(message.priority).record(System.nanoTime() - message.queuedNanos, TimeUnit.NANOSECONDS);
+
+        try {
+            message.getMessage().accept(ibController.getController());
+        } catch (RuntimeException e) {
+            logger.error("Error sending {} message to IB", message.priority, e);
+        }
+    }
+
+    private class Message {
+        private final IbMessagePriority priority;
+        private final Object key;
+        private final long queuedNanos;
+
+        // Guarded by this, message is only replaced until claimed
+        private Consumer<ApiController> message;
+        private boolean claimed = false;
+
+        // Counted in queue depth until claimed
+        private volatile boolean queued = false;
+
+        private Message(IbMessagePriority priority, Object key, Consumer<ApiController> message, long queuedNanos) {
+            this.priority = priority;
+            this.key = key;
+            this.message = message;
+            this.queuedNanos = queuedNanos;
+        }
+
+        // Sent or withdrawn, only once
+        private synchronized boolean claim() {
+            if (claimed) {
+                return false;
+            }
+
+            claimed = true;
+            if (queued) {
+                queueDepths.get(priority).decrementAndGet();
+            }
+
+            return true;
+        }
+
+        private synchronized boolean replace(Consumer<ApiController> replacement) {
+            if (claimed) {
+                return false;
+            }
+
+            message = Objects.requireNonNull(replacement, "Message cannot be null.");
+            return true;
+        }
+
+        private synchronized Consumer<ApiController> getMessage() {
+            return message;
+        }
+    }
+}
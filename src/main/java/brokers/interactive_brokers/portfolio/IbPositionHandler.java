@@ -1,6 +1,8 @@
 package brokers.interactive_brokers.portfolio;
 
-import brokers.interactive_brokers.IbController;
+import brokers.interactive_brokers.pacing.IbMessagePriority;
+import brokers.interactive_brokers.pacing.IbMessageScheduler;
+import brokers.interactive_brokers.util.ConcurrentIntMap;
 import brokers.interactive_brokers.util.IbOptionUtil;
 import brokers.interactive_brokers.util.IbStringUtil;
 import com.ib.client.Contract;
@@ -18,40 +20,41 @@ import theta.domain.stock.Stock;
 import theta.domain.ticker.DefaultTicker;
 
 import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class IbPositionHandler implements IPositionHandler, PositionHandler {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    // Map IB Id to Internal Id
-    private final Map<Integer, UUID> contractIdMap;
-    private final IbController controller;
-    private ReplayProcessor<Security> subjectPositions;
+    private static final String CONTRACT_ID_NAMESPACE = "interactive-brokers:conid:";
 
-    public IbPositionHandler(IbController controller) {
+    // Map IB Id to Internal Id, so the name based UUID is only derived once per contract
+    private final ConcurrentIntMap<UUID> contractIdMap = new ConcurrentIntMap<>();
+    private final IbMessageScheduler ibMessageScheduler;
+    // Replaced on request, while positions are received on the IB reader thread
+    private volatile ReplayProcessor<Security> subjectPositions;
+
+    public IbPositionHandler(IbMessageScheduler ibMessageScheduler) {
         logger.info("Starting Interactive Brokers Position Handler");
-        contractIdMap = new HashMap<>();
         subjectPositions = ReplayProcessor.create();
-        this.controller = controller;
+        this.ibMessageScheduler = ibMessageScheduler;
     }
 
     @Override
     public Flux<Security> requestPositionsFromBrokerage() {
         logger.info("Requesting Positions from Interactive Brokers");
         subjectPositions = ReplayProcessor.create();
-        controller.getController().reqPositions(this);
+        ibMessageScheduler.send(IbMessagePriority.ACCOUNT, controller -> controller.reqPositions(this));
         return subjectPositions.onBackpressureBuffer();
     }
 
     @Override
     public void position(String account, Contract contract, double position, double avgCost) {
         if (contract != null) {
-            logger.debug("Received position from Brokers servers. Quantity: {}, Contract: [{}], Account: {}, Average Cost: {}", position, IbStringUtil.toStringContract(contract), account, avgCost);
+            logger.debug("Received position from Brokers servers. Quantity: {}, Contract: [{}], Account: {}, Average Cost: {}", position, IbStringUtil.lazyContract(contract), account, avgCost);
             processIbPosition(contract, position, avgCost);
         } else {
             logger.warn("Received null Contract from Brokers server. Quantity: {}, Contract: null, Account: {}, Average Cost: {}", position, account, avgCost);
@@ -78,7 +81,7 @@ public class IbPositionHandler implements IPositionHandler, PositionHandler {
         switch (contract.secType()) {
             case STK -> subjectPositions.onNext(generateStock(contract, position, avgCost));
             case OPT -> subjectPositions.onNext(generateOption(contract, position, avgCost));
-            default -> logger.error("Can not determine Position Type: {}", IbStringUtil.toStringContract(contract));
+            default -> logger.error("Can not determine Position Type: {}", IbStringUtil.lazyContract(contract));
         }
     }
 
@@ -113,22 +116,20 @@ public class IbPositionHandler implements IPositionHandler, PositionHandler {
             wholeQuantity = (long) quantity;
 
             logger.warn("Security quantity not whole value. Truncating from {} to {} for {}",
-                    quantity, wholeQuantity, IbStringUtil.toStringContract(contract));
+                    quantity, wholeQuantity, IbStringUtil.lazyContract(contract));
         }
 
         return wholeQuantity;
     }
 
+    /**
+     * Id derived from the IB contract id, so a contract has the same id across position requests and restarts.
+     *
+     * @param contractId IB contract id
+     * @return Name based UUID of the contract id
+     */
     private UUID generateId(int contractId) {
-        UUID uuid = UUID.randomUUID();
-        final Integer boxedContractId = contractId;
-
-        if (contractIdMap.containsKey(boxedContractId)) {
-            uuid = contractIdMap.get(boxedContractId);
-        } else {
-            contractIdMap.put(boxedContractId, uuid);
-        }
-
-        return uuid;
+        return contractIdMap.computeIfAbsent(contractId, id ->
+                UUID.nameUUIDFromBytes((CONTRACT_ID_NAMESPACE + id).getBytes(StandardCharsets.UTF_8)));
     }
 }
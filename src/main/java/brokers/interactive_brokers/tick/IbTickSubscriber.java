@@ -1,9 +1,7 @@
 package brokers.interactive_brokers.tick;
 
-import brokers.interactive_brokers.IbController;
 import brokers.interactive_brokers.tick.handler.IbTickHandler;
 import brokers.interactive_brokers.tick.handler.IbTickHandlerFactory;
-import brokers.interactive_brokers.util.IbStringUtil;
 import com.ib.contracts.StkContract;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,41 +9,69 @@ import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
 import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
 import theta.api.TickHandler;
 import theta.api.TickSubscriber;
 import theta.domain.PriceLevel;
 import theta.domain.Ticker;
+import theta.domain.ticker.TickerMap;
+import theta.metrics.SharedGauge;
+import theta.metrics.TickerCounter;
+import theta.properties.TickProperties;
 import theta.tick.api.Tick;
+import theta.tick.api.TickBuffer;
 import theta.tick.api.TickProcessor;
+import theta.tick.buffer.ConflatingTickBuffer;
+import theta.tick.buffer.RingTickBuffer;
+import theta.tick.buffer.SinkTickBuffer;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+/**
+ * Subscribes to Ticks of Tickers with monitored Price Levels, handing them to Tick consumers through a Tick Buffer.
+ *
+ * <p>Reports Ticks handed to the buffer as "theta.ticks.received" by Ticker, and Ticks waiting in it as
+ * "theta.ticks.buffered".
+ */
 @Component
 public class IbTickSubscriber implements TickSubscriber {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private final IbController ibController;
+    private static final TickerCounter TICKS_RECEIVED =
+            new TickerCounter("theta.ticks.received", "Ticks received from IB that may cross a Price Level");
+    private static final SharedGauge<TickBuffer> TICKS_BUFFERED = new SharedGauge<>("theta.ticks.buffered",
+            "Ticks waiting in the Tick Buffer for Tick consumers", TickBuffer::getDepth);
+
+    private final MarketDataLineManager marketDataLineManager;
     private final IbTickHandlerFactory tickHandlerFactory;
-    private final Sinks.Many<Tick> tickSink = Sinks.many().multicast().onBackpressureBuffer();
-    private final ConcurrentMap<Ticker, IbTickHandler> ibTickHandlers = new ConcurrentHashMap<>();
+    private final TickBuffer tickBuffer;
+    private final TickerMap<IbTickHandler> ibTickHandlers = new TickerMap<>();
     private final Disposable.Composite disposables = Disposables.composite();
 
-    public IbTickSubscriber(IbController ibController, IbTickHandlerFactory tickHandlerFactory) {
+    public IbTickSubscriber(MarketDataLineManager marketDataLineManager, IbTickHandlerFactory tickHandlerFactory,
+                            TickProperties tickProperties) {
         logger.info("Starting Interactive Brokers Tick Subscriber");
-        this.ibController = ibController;
+        this.marketDataLineManager = marketDataLineManager;
         this.tickHandlerFactory = tickHandlerFactory;
+        this.tickBuffer = createTickBuffer(tickProperties.getBuffer());
+
+        TICKS_BUFFERED.bind(tickBuffer, "type", tickProperties.getBuffer().getType().name());
+    }
+
+    private static TickBuffer createTickBuffer(TickProperties.Buffer bufferProperties) {
+        return switch (bufferProperties.getType()) {
+            case SINK -> new SinkTickBuffer();
+            case RING -> new RingTickBuffer(bufferProperties.getSize(), bufferProperties.getWaitStrategy());
+            case CONFLATING -> new ConflatingTickBuffer(bufferProperties.getWaitStrategy());
+        };
     }
 
     @Override
     public Flux<Tick> getTicksAcrossStrikePrices() {
-        return tickSink.asFlux();
+        return tickBuffer.getTicks();
     }
 
     @Override
@@ -73,12 +99,10 @@ public class IbTickSubscriber implements TickSubscriber {
 
     @Override
     public void unsubscribeAll() {
-        for (final Ticker ticker : ibTickHandlers.keySet()) {
+        for (final Ticker ticker : ibTickHandlers.keys()) {
             unsubscribeTick(ticker);
         }
-        if (!tickSink.isScanAvailable()) {
-            tickSink.tryEmitComplete().orThrow();
-        }
+        tickBuffer.close();
         disposables.dispose();
     }
 
@@ -92,11 +116,7 @@ public class IbTickSubscriber implements TickSubscriber {
 
             IbTickHandler ibTickHandler = tickHandlerFactory.createTickHandler(ticker, tickProcessor);
             ibTickHandlers.put(ticker, ibTickHandler);
-            StkContract contract = new StkContract(ticker.getSymbol());
-
-            logger.info("Sending Tick Request to Interactive Brokers server for Contract: {}",
-                    IbStringUtil.toStringContract(contract));
-            ibController.getController().reqTopMktData(contract, "", false, ibTickHandler);
+            marketDataLineManager.subscribe(ticker, new StkContract(ticker.getSymbol()), ibTickHandler);
 
             Disposable disposableTickHandler = ibTickHandler.getTicks()
                     .doOnError(exception -> logger.error("Error with: {}", ibTickHandler, exception))
@@ -104,9 +124,9 @@ public class IbTickSubscriber implements TickSubscriber {
                         logger.info("Tick Handler completed and unsubscribed for: {}", ticker);
                         unsubscribeTick(ticker);
                     }).subscribe(
-                            tickSink::tryEmitNext,
-                            tickSink::tryEmitError,
-                            tickSink::tryEmitComplete
+                            this::publish,
+                            tickBuffer::error,
+                            tickBuffer::complete
                     );
 
             disposables.add(disposableTickHandler);
@@ -115,12 +135,17 @@ public class IbTickSubscriber implements TickSubscriber {
         return ibTickHandlers.get(ticker);
     }
 
+    private void publish(Tick tick) {
+        TICKS_RECEIVED.increment(tick.getTicker());
+        tickBuffer.publish(tick);
+    }
+
     private void unsubscribeTick(Ticker ticker) {
         final IbTickHandler ibTickHandler = ibTickHandlers.remove(ticker);
 
         if (ibTickHandler != null) {
             logger.info("Unsubscribing from Tick Handler: {}", ibTickHandler);
-            ibController.getController().cancelTopMktData(ibTickHandler);
+            marketDataLineManager.unsubscribe(ticker);
             ibTickHandler.cancel();
         } else {
             logger.warn("IB Last Tick Handler does not exist for: {}", ticker);
@@ -0,0 +1,465 @@
+package brokers.interactive_brokers.tick;
+
+import brokers.interactive_brokers.pacing.IbMessagePriority;
+import brokers.interactive_brokers.pacing.IbMessageScheduler;
+import brokers.interactive_brokers.tick.handler.IbTickHandler;
+import brokers.interactive_brokers.util.IbStringUtil;
+import com.ib.client.Contract;
+import com.ib.client.TickType;
+import com.ib.client.Types.MktDataType;
+import com.ib.controller.ApiController.ITopMktDataHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import theta.api.MarketSessionListener;
+import theta.domain.Ticker;
+import theta.metrics.SharedGauge;
+import theta.properties.MarketDataProperties;
+
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns the account's limited streaming market data lines to the Tickers nearest a Price Level. Tickers without a
+ * line are polled with snapshots instead, so more Tickers can be monitored than there are lines. Crossings of polled
+ * Tickers are still seen, just up to one poll interval later.
+ *
+ * <p>Every minimum poll interval Tickers are ranked by their distance to trigger, lines of Tickers that drifted away
+ * are moved to Tickers that came closer, and the rest are snapshotted. Tickers already streaming get a small advantage
+ * in the ranking, so Tickers at about the same distance don't swap lines every interval.
+ *
+ * <p>How often a Ticker without a line is snapshotted adapts to how soon it could reach its nearest Price Level: the
+ * time for a move of {@value #MOVE_SIGMAS} standard deviations of its recent volatility to cover the distance. Tickers
+ * that could not get there within the maximum poll interval are polled even when lines are free.
+ *
+ * <p>Outside market sessions all lines are cancelled and polling stops, while Tickers stay subscribed and their Tick
+ * Handlers keep the last prices received. At warm up, before the open, lines are requested again through the pacing
+ * scheduler and the rest of the Tickers are snapshotted, so every Ticker has a current quote by the first Tick of the
+ * session.
+ *
+ * <p>Reports Tickers by how their market data is received as "theta.ib.market-data.lines", tagged streaming or polled.
+ */
+@Component
+public class MarketDataLineManager implements MarketSessionListener {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    // A streaming Ticker keeps its line until another Ticker is at least 20% nearer its Price Level
+    private static final double STREAMING_ADVANTAGE = 0.8;
+
+    // Poll often enough that reaching the nearest Price Level in between would take a move this unlikely
+    private static final double MOVE_SIGMAS = 3.0;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final SharedGauge<MarketDataLineManager> STREAMING_LINES = new SharedGauge<>(
+            "theta.ib.market-data.lines", "Tickers receiving market data", MarketDataLineManager::getStreamingCount);
+    private static final SharedGauge<MarketDataLineManager> POLLED_LINES = new SharedGauge<>(
+            "theta.ib.market-data.lines", "Tickers receiving market data", MarketDataLineManager::getPolledCount);
+
+    private final IbMessageScheduler ibMessageScheduler;
+    private final int maxLines;
+    private final long minPollNanos;
+    private final long maxPollNanos;
+    private final Scheduler scheduler;
+
+    // Guarded by this. In subscription order, so requests are sent in a repeatable order
+    private final Map<Ticker, Line> lines = new LinkedHashMap<>();
+    private int streamingCount = 0;
+    private Disposable polling;
+    private boolean suspended = false;
+
+    @Autowired
+    public MarketDataLineManager(IbMessageScheduler ibMessageScheduler, MarketDataProperties marketDataProperties) {
+        this(ibMessageScheduler, marketDataProperties.getMaxLines(), marketDataProperties.getMinPollInterval(),
+                marketDataProperties.getMaxPollInterval(), Schedulers.parallel());
+    }
+
+    /**
+     * Create Market Data Line Manager polling on a supplied Scheduler.
+     *
+     * @param ibMessageScheduler Scheduler market data requests are sent through
+     * @param maxLines           Simultaneous streaming lines of the account
+     * @param minPollInterval    Time between reassigning lines, and shortest time between snapshots of a Ticker
+     * @param maxPollInterval    Longest time between snapshots of a Ticker
+     * @param scheduler          Scheduler polling runs on
+     */
+    public MarketDataLineManager(IbMessageScheduler ibMessageScheduler, int maxLines, Duration minPollInterval,
+                                 Duration maxPollInterval, Scheduler scheduler) {
+        this.ibMessageScheduler = Objects.requireNonNull(ibMessageScheduler, "Message Scheduler cannot be null.");
+        this.minPollNanos = Objects.requireNonNull(minPollInterval, "Min Poll Interval cannot be null.").toNanos();
+        this.maxPollNanos = Objects.requireNonNull(maxPollInterval, "Max Poll Interval cannot be null.").toNanos();
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null.");
+
+        if (minPollNanos <= 0L || maxPollNanos < minPollNanos) {
+            throw new IllegalArgumentException("Poll Intervals must be positive with max at least min: "
+                    + minPollInterval + ", " + maxPollInterval);
+        }
+        if (maxLines < 0) {
+            throw new IllegalArgumentException("Max Lines cannot be negative: " + maxLines);
+        }
+        this.maxLines = maxLines;
+
+        STREAMING_LINES.bind(this, "mode", "streaming");
+        POLLED_LINES.bind(this, "mode", "polled");
+    }
+
+    /**
+     * Start market data for Ticker, streaming if a line is free, otherwise snapshotted until it ranks high enough.
+     *
+     * @param ticker        Ticker to request market data for
+     * @param contract      Contract of Ticker
+     * @param ibTickHandler Handler receiving market data of Ticker
+     */
+    public synchronized void subscribe(Ticker ticker, Contract contract, IbTickHandler ibTickHandler) {
+        final Line line = new Line(ticker, contract, ibTickHandler, minPollNanos);
+
+        if (lines.putIfAbsent(ticker, line) != null) {
+            logger.warn("Market data already requested for: {}", ticker);
+            return;
+        }
+
+        if (suspended) {
+            logger.info("Market session closed, requesting market data for: {} at warm up", ticker);
+            return;
+        }
+
+        if (streamingCount < maxLines) {
+            startStreaming(line);
+        } else {
+            logger.info("All {} market data lines in use, polling snapshots for: {}", maxLines, ticker);
+            requestSnapshot(line, scheduler.now(TimeUnit.NANOSECONDS));
+        }
+
+        if (polling == null) {
+            polling = scheduler.schedulePeriodically(this::poll, minPollNanos, minPollNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stop market data for Ticker. A freed line is given to the nearest Ticker being polled.
+     *
+     * @param ticker Ticker to stop market data for
+     */
+    public synchronized void unsubscribe(Ticker ticker) {
+        final Line line = lines.remove(ticker);
+
+        if (line == null) {
+            logger.warn("No market data requested for: {}", ticker);
+            return;
+        }
+
+        line.closed = true;
+
+        if (line.streaming) {
+            stopStreaming(line);
+            rebalance();
+        } else if (line.pendingSnapshot != null && ibMessageScheduler.withdraw(line.pendingSnapshot)) {
+            line.pendingSnapshot = null;
+        }
+    }
+
+    /**
+     * Cancel every line and outstanding snapshot, and stop polling, until the warm up of the next session.
+     */
+    @Override
+    public synchronized void onSessionClose() {
+        if (suspended) {
+            return;
+        }
+
+        logger.info("Suspending market data of {} Ticker(s) until the next session", lines.size());
+        suspended = true;
+
+        if (polling != null) {
+            polling.dispose();
+            polling = null;
+        }
+
+        for (final Line line : lines.values()) {
+            if (line.streaming) {
+                stopStreaming(line);
+            } else if (line.pendingSnapshot != null && ibMessageScheduler.withdraw(line.pendingSnapshot)) {
+                line.pendingSnapshot = null;
+            }
+        }
+    }
+
+    /**
+     * Give lines to the Tickers nearest a Price Level, as of the last prices before the close, snapshot the others, and
+     * start polling again.
+     */
+    @Override
+    public synchronized void onSessionWarmUp() {
+        if (!suspended) {
+            return;
+        }
+
+        logger.info("Resuming market data of {} Ticker(s) ahead of the session", lines.size());
+        suspended = false;
+
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        rebalance();
+
+        final long now = scheduler.now(TimeUnit.NANOSECONDS);
+        for (final Line line : lines.values()) {
+            if (!line.streaming && line.pendingSnapshot == null) {
+                requestSnapshot(line, now);
+            }
+        }
+
+        polling = scheduler.schedulePeriodically(this::poll, minPollNanos, minPollNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized boolean isSuspended() {
+        return suspended;
+    }
+
+    public synchronized int getStreamingCount() {
+        return streamingCount;
+    }
+
+    public synchronized int getPolledCount() {
+        return lines.size() - streamingCount;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    // Package-private for testing
+    synchronized void poll() {
+        final long now = scheduler.now(TimeUnit.NANOSECONDS);
+
+        // Polled Tickers are sampled when their snapshot ends
+        for (final Line line : lines.values()) {
+            if (line.streaming) {
+                line.volatility.sample(line.ibTickHandler.getReferencePrice(), now);
+            }
+        }
+
+        rebalance();
+
+        for (final Line line : lines.values()) {
+            if (line.pendingSnapshot != null && now >= line.snapshotDeadlineNanos) {
+                expireSnapshot(line);
+            }
+
+            // Skipped while the last snapshot is outstanding, so polls never queue up behind pacing
+            if (!line.streaming && line.pendingSnapshot == null && now >= line.nextSnapshotNanos) {
+                requestSnapshot(line, now);
+            }
+        }
+    }
+
+    // Package-private for testing
+    synchronized long getPollIntervalNanos(Ticker ticker) {
+        return Optional.ofNullable(lines.get(ticker)).map(this::getPollIntervalNanos).orElse(minPollNanos);
+    }
+
+    private long getPollIntervalNanos(Line line) {
+        final double distance = line.ibTickHandler.getDistanceToTrigger();
+        final double volatility = line.volatility.getPerSecond();
+
+        // Without a price or enough samples nothing is known, so poll as often as allowed
+        if (Double.isInfinite(distance) || Double.isNaN(volatility)) {
+            return minPollNanos;
+        }
+
+        // Moves grow with the square root of time, so the time to cover the distance grows with its square
+        final double sigmasToCover = distance / (MOVE_SIGMAS * volatility);
+        final double intervalNanos = sigmasToCover * sigmasToCover * NANOS_PER_SECOND;
+
+        return (long) Math.max(minPollNanos, Math.min(maxPollNanos, intervalNanos));
+    }
+
+    private void rebalance() {
+        // Prices keep changing while sorting, so ranks are taken once up front. Ties, like Tickers without prices yet,
+        // leave streaming Tickers where they are.
+        final List<Line> ranked = new ArrayList<>(lines.size());
+        final List<Line> toPoll = new ArrayList<>();
+
+        for (final Line line : lines.values()) {
+            line.pollIntervalNanos = getPollIntervalNanos(line);
+
+            if (line.pollIntervalNanos < maxPollNanos) {
+                line.updateRank();
+                ranked.add(line);
+            } else {
+                toPoll.add(line);
+            }
+        }
+
+        ranked.sort(Comparator.comparingDouble((Line line) -> line.rank).thenComparing(line -> !line.streaming));
+
+        final List<Line> toStream = ranked.subList(0, Math.min(maxLines, ranked.size()));
+        toPoll.addAll(ranked.subList(toStream.size(), ranked.size()));
+
+        // Lines are freed before they are reused, as the scheduler sends messages of a priority in order
+        for (final Line line : toPoll) {
+            if (line.streaming) {
+                logger.info("Moving {} from streaming to snapshots every {}s, distance to trigger: {}", line.ticker,
+                        line.pollIntervalNanos / NANOS_PER_SECOND, line.ibTickHandler.getDistanceToTrigger());
+                stopStreaming(line);
+            }
+        }
+
+        for (final Line line : toStream) {
+            if (!line.streaming) {
+                logger.info("Moving {} from snapshots to streaming, distance to trigger: {}",
+                        line.ticker, line.ibTickHandler.getDistanceToTrigger());
+                startStreaming(line);
+            }
+        }
+    }
+
+    private void startStreaming(Line line) {
+        // Stopped and started again before the cancel was sent, so the line is still streaming at IB
+        if (ibMessageScheduler.withdraw(line)) {
+            logger.debug("Withdrew cancel of streaming line for: {}", line.ticker);
+        } else {
+            logger.info("Sending Tick Request to Interactive Brokers server for Contract: {}",
+                    IbStringUtil.lazyContract(line.contract));
+
+            // Keyed by handler, so stopping before the request is sent withdraws it
+            ibMessageScheduler.send(IbMessagePriority.MARKET_DATA, line.ibTickHandler,
+                    controller -> controller.reqTopMktData(line.contract, "", false, line.ibTickHandler));
+        }
+        line.streaming = true;
+        streamingCount++;
+    }
+
+    private void stopStreaming(Line line) {
+        // Keyed by line, so starting again before the cancel is sent withdraws it
+        if (!ibMessageScheduler.withdraw(line.ibTickHandler)) {
+            ibMessageScheduler.send(IbMessagePriority.MARKET_DATA, line,
+                    controller -> controller.cancelTopMktData(line.ibTickHandler));
+        }
+        line.streaming = false;
+        streamingCount--;
+    }
+
+    private void requestSnapshot(Line line, long now) {
+        final SnapshotHandler snapshotHandler = new SnapshotHandler(line);
+        line.pendingSnapshot = snapshotHandler;
+        line.nextSnapshotNanos = now + line.pollIntervalNanos;
+        line.snapshotDeadlineNanos = line.nextSnapshotNanos + maxPollNanos;
+
+        ibMessageScheduler.send(IbMessagePriority.MARKET_DATA, snapshotHandler,
+                controller -> controller.reqTopMktData(line.contract, "", true, snapshotHandler));
+    }
+
+    // Snapshots IB never ends would otherwise stop the Ticker being polled for good
+    private void expireSnapshot(Line line) {
+        final SnapshotHandler snapshotHandler = line.pendingSnapshot;
+        logger.warn("Snapshot of {} not ended by its deadline, cancelling it", line.ticker);
+
+        if (!ibMessageScheduler.withdraw(snapshotHandler)) {
+            ibMessageScheduler.send(IbMessagePriority.MARKET_DATA,
+                    controller -> controller.cancelTopMktData(snapshotHandler));
+        }
+        line.pendingSnapshot = null;
+    }
+
+    private synchronized void completeSnapshot(SnapshotHandler snapshotHandler) {
+        final Line line = snapshotHandler.line;
+
+        if (line.pendingSnapshot == snapshotHandler) {
+            line.pendingSnapshot = null;
+            line.volatility.sample(line.ibTickHandler.getReferencePrice(), scheduler.now(TimeUnit.NANOSECONDS));
+        }
+
+        // The controller keeps a handler until it is cancelled, even once its snapshot has ended
+        ibMessageScheduler.send(IbMessagePriority.MARKET_DATA,
+                controller -> controller.cancelTopMktData(snapshotHandler));
+    }
+
+    private static class Line {
+        private final Ticker ticker;
+        private final Contract contract;
+        private final IbTickHandler ibTickHandler;
+        private final PriceVolatility volatility = new PriceVolatility();
+
+        private boolean streaming = false;
+        private SnapshotHandler pendingSnapshot;
+        private double rank;
+        private long pollIntervalNanos;
+        private long nextSnapshotNanos;
+        private long snapshotDeadlineNanos;
+
+        // Snapshots already sent may still answer after unsubscribing, when the Tick Handler has been cancelled
+        private volatile boolean closed = false;
+
+        private Line(Ticker ticker, Contract contract, IbTickHandler ibTickHandler, long pollIntervalNanos) {
+            this.ticker = ticker;
+            this.contract = contract;
+            this.ibTickHandler = ibTickHandler;
+            this.pollIntervalNanos = pollIntervalNanos;
+        }
+
+        private void updateRank() {
+            final double distance = ibTickHandler.getDistanceToTrigger();
+
+            rank = streaming ? distance * STREAMING_ADVANTAGE : distance;
+        }
+    }
+
+    // Passes a single snapshot to the Tick Handler of its Ticker, releasing the request once it has ended
+    private class SnapshotHandler implements ITopMktDataHandler {
+        private final Line line;
+
+        private SnapshotHandler(Line line) {
+            this.line = line;
+        }
+
+        @Override
+        public void tickPrice(TickType tickType, double price, int canAutoExecute) {
+            if (!line.closed) {
+                line.ibTickHandler.tickPrice(tickType, price, canAutoExecute);
+            }
+        }
+
+        @Override
+        public void tickSize(TickType tickType, int size) {
+            if (!line.closed) {
+                line.ibTickHandler.tickSize(tickType, size);
+            }
+        }
+
+        @Override
+        public void tickString(TickType tickType, String value) {
+            if (!line.closed) {
+                line.ibTickHandler.tickString(tickType, value);
+            }
+        }
+
+        @Override
+        public void tickSnapshotEnd() {
+            line.ibTickHandler.tickSnapshotEnd();
+            completeSnapshot(this);
+        }
+
+        @Override
+        public void marketDataType(MktDataType marketDataType) {
+            line.ibTickHandler.marketDataType(marketDataType);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package brokers.interactive_brokers.tick;
+
+/**
+ * Recent volatility of a Ticker, as an exponentially weighted average of squared log returns between price samples.
+ * Returns are scaled by the time between samples, so samples don't have to be evenly spaced.
+ */
+class PriceVolatility {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    // Weight of the existing estimate on each sample, about the last 30 samples count
+    private static final double DECAY = 0.94;
+
+    private double lastPrice = Double.NaN;
+    private long lastNanos;
+    private double variancePerSecond = Double.NaN;
+
+    /**
+     * Add price sample. Prices of IB's "no price" -1 are ignored.
+     *
+     * @param price Price sampled
+     * @param nanos Time of sample, in nanoseconds
+     */
+    void sample(double price, long nanos) {
+        if (!(price > 0.0)) {
+            return;
+        }
+
+        if (lastPrice > 0.0 && nanos > lastNanos) {
+            final double logReturn = Math.log(price / lastPrice);
+            final double variance = logReturn * logReturn / ((nanos - lastNanos) / NANOS_PER_SECOND);
+
+            variancePerSecond = Double.isNaN(variancePerSecond)
+                    ? variance
+                    : DECAY * variancePerSecond + (1.0 - DECAY) * variance;
+        }
+
+        lastPrice = price;
+        lastNanos = nanos;
+    }
+
+    /**
+     * Standard deviation of relative price moves over one second.
+     *
+     * @return Volatility per square root of a second, NaN until two prices have been sampled
+     */
+    double getPerSecond() {
+        return Math.sqrt(variancePerSecond);
+    }
+}
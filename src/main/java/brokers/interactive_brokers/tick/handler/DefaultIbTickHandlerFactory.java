@@ -2,12 +2,39 @@ package brokers.interactive_brokers.tick.handler;
 
 import org.springframework.stereotype.Component;
 import theta.domain.Ticker;
+import theta.properties.TickProperties;
+import theta.tick.api.TickJournal;
 import theta.tick.api.TickProcessor;
+import theta.tick.journal.MappedTickJournal;
+import theta.tick.journal.NoOpTickJournal;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Objects;
 
 @Component
 public class DefaultIbTickHandlerFactory implements IbTickHandlerFactory {
+
+    private final TickProperties tickProperties;
+
+    // Shared by all Tick Handlers, which are called on the same broker thread
+    private final TickJournal tickJournal;
+
+    public DefaultIbTickHandlerFactory(TickProperties tickProperties) {
+        this.tickProperties = Objects.requireNonNull(tickProperties, "Tick Properties cannot be null.");
+        this.tickJournal = tickProperties.getJournal().isEnabled()
+                ? new MappedTickJournal(Path.of(tickProperties.getJournal().getDirectory()), Clock.systemUTC())
+                : NoOpTickJournal.INSTANCE;
+    }
+
     @Override
     public IbTickHandler createTickHandler(Ticker ticker, TickProcessor tickProcessor) {
-        return new IbTickHandler(ticker, tickProcessor);
+        return new IbTickHandler(ticker, tickProcessor, tickProperties.isFlyweight(), tickJournal);
+    }
+
+    @PreDestroy
+    public void closeJournal() {
+        tickJournal.close();
     }
 }
@@ -10,28 +10,54 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 import theta.api.TickHandler;
 import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
 import theta.domain.Ticker;
+import theta.domain.pricelevel.PriceLevelBook;
+import theta.metrics.LatencyRecorder;
+import theta.metrics.LatencyStage;
+import theta.metrics.TickerCounter;
 import theta.tick.api.Tick;
+import theta.tick.api.TickJournal;
 import theta.tick.api.TickProcessor;
-import theta.tick.domain.DefaultTick;
+import theta.tick.domain.MutableTick;
+import theta.tick.domain.SeqLockQuote;
+import theta.tick.journal.NoOpTickJournal;
 
 import java.lang.invoke.MethodHandles;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.*;
+import java.util.Objects;
+import java.util.Set;
 
 public class IbTickHandler implements ITopMktDataHandler, TickHandler {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final int MAX_EMIT_RETRIES = 16;
+
+    private static final TickerCounter TICKS_DROPPED =
+            new TickerCounter("theta.ticks.dropped", "Ticks dropped by IB Tick Handlers as a subscriber could not keep up");
+
     //    private final FluxProcessor<TickType, TickType> tickSubject = ReplayProcessor.createSizeAndTimeout(1, Duration.ofSeconds(1L));
-    private final Sinks.Many<TickType> tickSink = Sinks.many().replay().limit(1, Duration.ofSeconds(1L));
+    private final Sinks.Many<TickType> tickSink;
 
     private final Ticker ticker;
     private final TickProcessor tickProcessor;
-    private final Map<TickType, IbTickInstant> instantTick = new HashMap<>();
-    private Instant lastTime = Instant.EPOCH;
+    // Written on the IB callback thread, snapshotted without locking on whichever thread builds the Tick
+    private final SeqLockQuote quote;
+
+    // Flyweight mode writes prices into a single reusable Tick and only copies it when a Price Level is crossed
+    private final boolean flyweight;
+    private final MutableTick tickSlot;
+    private long lastEpochNanos = 0L;
 
-    private final Set<PriceLevel> priceLevels = new HashSet<>();
+    private final TickJournal tickJournal;
+
+    private final PriceLevelBook priceLevels = new PriceLevelBook();
+
+    // Latest BID, ASK or LAST received, read by the Market Data Line Manager when ranking Tickers
+    private volatile double referencePrice = Double.NaN;
 
     /**
      * Create Interactive Brokers tick handler for a specific symbol. And with a specific processor
@@ -41,18 +67,57 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
      * @param tickProcessor Processor that will handle transition of ticker symbol.
      */
     public IbTickHandler(Ticker ticker, TickProcessor tickProcessor) {
+        this(ticker, tickProcessor, false);
+    }
+
+    /**
+     * Create Interactive Brokers tick handler for a specific symbol, optionally without allocating a Tick for every
+     * price received.
+     *
+     * @param ticker        Text version of symbol.
+     * @param tickProcessor Processor that will handle transition of ticker symbol.
+     * @param flyweight     Reuse a single mutable Tick, only emitting a copy when a Price Level is crossed.
+     */
+    public IbTickHandler(Ticker ticker, TickProcessor tickProcessor, boolean flyweight) {
+        this(ticker, tickProcessor, flyweight, NoOpTickJournal.INSTANCE);
+    }
+
+    /**
+     * Create Interactive Brokers tick handler for a specific symbol, recording every price and size received.
+     *
+     * @param ticker        Text version of symbol.
+     * @param tickProcessor Processor that will handle transition of ticker symbol.
+     * @param flyweight     Reuse a single mutable Tick, only emitting a copy when a Price Level is crossed.
+     * @param tickJournal   Journal prices and sizes are appended to.
+     */
+    public IbTickHandler(Ticker ticker, TickProcessor tickProcessor, boolean flyweight, TickJournal tickJournal) {
+        this.tickJournal = Objects.requireNonNull(tickJournal, "Tick Journal cannot be null for Tick Processor initialization.");
         this.ticker = Objects.requireNonNull(ticker, "Ticker cannot be null for Tick Processor initialization.");
         this.tickProcessor = Objects.requireNonNull(tickProcessor, "Ticker Processor cannot be null for Tick Processor initialization.");
+        this.flyweight = flyweight;
+        this.tickSlot = new MutableTick(ticker);
+        this.quote = new SeqLockQuote(ticker);
 
-        instantTick.put(TickType.LAST, new DefaultIbTickInstant(TickType.LAST));
-        instantTick.put(TickType.BID, new DefaultIbTickInstant(TickType.BID));
-        instantTick.put(TickType.ASK, new DefaultIbTickInstant(TickType.ASK));
+        // Replay buffer allocates a node per element, and the flyweight slot already holds the latest prices
+        this.tickSink = flyweight
+                ? Sinks.many().multicast().directBestEffort()
+                : Sinks.many().replay().limit(1, Duration.ofSeconds(1L));
 
         logger.info("Built Interactive Brokers Tick Handler for: {}", ticker);
     }
 
     @Override
     public Flux<Tick> getTicks() {
+        if (flyweight) {
+            return tickSink.asFlux()
+                    .filter(tickType -> processTick(tickSlot))
+                    .map(tickType -> {
+                        final Tick tick = tickSlot.toDefaultTick();
+                        LatencyRecorder.record(LatencyStage.BUILD_TICK, getTicker());
+                        return tick;
+                    });
+        }
+
         return tickSink.asFlux()
                 .map(this::buildTick)
                 .filter(this::processTick);
@@ -60,17 +125,45 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
 
     @Override
     public void tickPrice(TickType tickType, double price, int canAutoExecute) {
-        logger.debug("Received Tick Price from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Price: {}, CanAutoExecute: {}",
-                getTicker(), tickType, price, canAutoExecute);
+        // Guarded, as the arguments are boxed into an array even when debug is off
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received Tick Price from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Price: {}, CanAutoExecute: {}",
+                    getTicker(), tickType, price, canAutoExecute);
+        }
 
         switch (tickType) {
             case BID, ASK -> {
-                instantTick.get(tickType).updatePriceTime(price, Instant.now());
+                final long receivedNanos = System.nanoTime();
+                LatencyRecorder.markReceived(getTicker(), receivedNanos);
+
+                referencePrice = price;
+
+                final long epochNanos = System.currentTimeMillis() * NANOS_PER_MILLI;
+                tickJournal.append(getTicker(), IbTickUtil.convertToEngineTickType(tickType), price, 0L, epochNanos);
+
+                if (flyweight) {
+                    tickSlot.update(IbTickUtil.convertToEngineTickType(tickType), price, epochNanos);
+                } else {
+                    quote.update(IbTickUtil.convertToEngineTickType(tickType), price, epochNanos);
+                }
                 addTickIfApplicable(tickType);
+                LatencyRecorder.recordSince(LatencyStage.CALLBACK, receivedNanos);
             }
             case LAST -> {
-                instantTick.get(tickType).updatePriceTime(price, lastTime);
+                final long receivedNanos = System.nanoTime();
+                LatencyRecorder.markReceived(getTicker(), receivedNanos);
+
+                referencePrice = price;
+
+                tickJournal.append(getTicker(), IbTickUtil.convertToEngineTickType(tickType), price, 0L, lastEpochNanos);
+
+                if (flyweight) {
+                    tickSlot.update(IbTickUtil.convertToEngineTickType(tickType), price, lastEpochNanos);
+                } else {
+                    quote.update(IbTickUtil.convertToEngineTickType(tickType), price, lastEpochNanos);
+                }
                 addTickIfApplicable(tickType);
+                LatencyRecorder.recordSince(LatencyStage.CALLBACK, receivedNanos);
             }
             case CLOSE, OPEN, LOW, HIGH, HALTED -> logger.debug("TickType: {} not implemented", tickType);
             default -> logger.warn("'Tick Price' not logged for: {} @ {}", tickType, price);
@@ -79,17 +172,31 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
 
     @Override
     public void tickSize(TickType tickType, int size) {
-        logger.debug("Received Tick Size from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Size: {}",
-                getTicker(), tickType, size);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received Tick Size from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Size: {}",
+                    getTicker(), tickType, size);
+        }
+
+        switch (tickType) {
+            case BID_SIZE -> journalSize(theta.tick.domain.TickType.BID, size);
+            case ASK_SIZE -> journalSize(theta.tick.domain.TickType.ASK, size);
+            case LAST_SIZE -> journalSize(theta.tick.domain.TickType.LAST, size);
+            default -> logger.debug("TickType: {} not journaled", tickType);
+        }
     }
 
     @Override
     public void tickString(TickType tickType, String value) {
-        logger.debug("Received Tick String from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Value: {}",
-                getTicker(), tickType, value);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received Tick String from Interactive Brokers servers - Ticker: {}, Tick Type: {}, Value: {}",
+                    getTicker(), tickType, value);
+        }
 
         switch (tickType) {
-            case LAST_TIMESTAMP -> lastTime = Instant.ofEpochSecond(Long.parseLong(value));
+            case LAST_TIMESTAMP -> {
+                final long lastEpochSecond = Long.parseLong(value);
+                lastEpochNanos = lastEpochSecond * NANOS_PER_SECOND;
+            }
             case BID_EXCH, ASK_EXCH -> logger.debug("TickType: {} not implemented", tickType);
             default -> logger.warn("'Tick String' not logged for: {} with value: {}", tickType, value);
         }
@@ -112,12 +219,10 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
     }
 
     private Tick buildTick(TickType tickType) {
-        return new DefaultTick(getTicker(),
-                IbTickUtil.convertToEngineTickType(tickType),
-                getTickPrice(TickType.LAST),
-                getTickPrice(TickType.BID),
-                getTickPrice(TickType.ASK),
-                getTickTime(tickType));
+        final Tick tick = quote.snapshot(IbTickUtil.convertToEngineTickType(tickType));
+        LatencyRecorder.record(LatencyStage.BUILD_TICK, getTicker());
+
+        return tick;
     }
 
     private boolean processTick(Tick tick) {
@@ -125,21 +230,44 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
             logger.warn("Attempted to process Tick when Tick Handler has no Price Levels. Tick: {}, TickHandler: {}", tick, this);
         }
 
-        return priceLevels.stream().anyMatch(priceLevel -> tickProcessor.processTick(tick, priceLevel));
+        return priceLevels.isCrossed(
+                tickProcessor.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW),
+                tickProcessor.getCrossingPrice(tick, PriceLevelDirection.RISES_ABOVE));
+    }
+
+    private void journalSize(theta.tick.domain.TickType tickType, int size) {
+        tickJournal.append(getTicker(), tickType, Double.NaN, size, System.currentTimeMillis() * NANOS_PER_MILLI);
     }
 
     private void addTickIfApplicable(TickType tickType) {
         if (tickProcessor.isApplicable(IbTickUtil.convertToEngineTickType(tickType))) {
-            tickSink.tryEmitNext(tickType).orThrow();
+            emitTick(tickType);
         }
     }
 
-    private double getTickPrice(TickType tickType) {
-        return instantTick.get(tickType).getInstancePrice();
-    }
+    // Never throws onto the broker thread. emitNext is not used, as on overflow it terminates the sink with an error.
+    private void emitTick(TickType tickType) {
+        Sinks.EmitResult emitResult = tickSink.tryEmitNext(tickType);
 
-    private Instant getTickTime(TickType tickType) {
-        return instantTick.get(tickType).getInstantTime();
+        // Ticks and snapshots all arrive on the EReader thread, but cancel() completes the sink from the thread removing
+        // the last Price Level. That completion is done within a few spins, after which the emit fails as terminated.
+        for (int retry = 0; emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED && retry < MAX_EMIT_RETRIES; retry++) {
+            Thread.onSpinWait();
+            emitResult = tickSink.tryEmitNext(tickType);
+        }
+
+        switch (emitResult) {
+            // Without replay, prices received before subscription are only kept in the flyweight slot
+            case OK, FAIL_ZERO_SUBSCRIBER -> {
+            }
+            case FAIL_OVERFLOW, FAIL_NON_SERIALIZED -> {
+                TICKS_DROPPED.increment(getTicker());
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Dropped Tick: {} for: {}, Result: {}", tickType, getTicker(), emitResult);
+                }
+            }
+            default -> logger.debug("Tick: {} for: {} not emitted, Result: {}", tickType, getTicker(), emitResult);
+        }
     }
 
     @Override
@@ -180,7 +308,33 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
 
     @Override
     public Set<PriceLevel> getPriceLevelsMonitored() {
-        return priceLevels;
+        return priceLevels.toSet();
+    }
+
+    /**
+     * Latest BID, ASK or LAST price received, whether streamed or from a snapshot.
+     *
+     * @return Latest price, NaN if none has been received
+     */
+    public double getReferencePrice() {
+        return referencePrice;
+    }
+
+    /**
+     * Distance from the latest price received to the nearest Price Level, relative to that price so Tickers trading at
+     * different prices can be compared.
+     *
+     * @return Relative distance to nearest Price Level, infinite if no price has been received or nothing is monitored
+     */
+    public double getDistanceToTrigger() {
+        final double price = referencePrice;
+
+        // IB sends -1 when no price is available
+        if (!(price > 0.0)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return priceLevels.distanceToNearest(price) / price;
     }
 
     @Override
@@ -203,8 +357,9 @@ public class IbTickHandler implements ITopMktDataHandler, TickHandler {
         return "IbTickHandler{" +
                 "ticker=" + ticker +
                 ", tickProcessor=" + tickProcessor +
-                ", instantTick=" + instantTick +
-                ", lastTime=" + lastTime +
+                ", quote=" + quote +
+                ", flyweight=" + flyweight +
+                ", tickSlot=" + tickSlot +
                 ", priceLevels=" + priceLevels +
                 ", tickSink=" + tickSink +
                 '}';
@@ -0,0 +1,262 @@
+package brokers.interactive_brokers.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Map from primitive int keys, such as IB contract and order ids, to values. Keys are never boxed.
+ *
+ * <p>Entries are kept in an open-addressing table with linear probing. Reads are lock-free, writes are serialized on
+ * the map. A slot's key is written before its value is published with release semantics, and once a slot holds a key
+ * it keeps it until the table is rebuilt, so a reader that sees a value also sees the key it belongs to. Removed
+ * entries leave a tombstone so probing continues past them. The table is rebuilt without tombstones when it grows
+ * past half full.
+ *
+ * <p>Null values are not permitted.
+ *
+ * @param <V> Type of value
+ */
+public class ConcurrentIntMap<V> {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Slot value of a removed entry
+    private static final Object TOMBSTONE = new Object();
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private volatile Table table;
+
+    // Live entries, and slots holding a key including tombstones. Both guarded by this.
+    private int size;
+    private int used;
+
+    public ConcurrentIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Number of entries the map can hold before being rebuilt
+     */
+    public ConcurrentIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param key Key to look up
+     * @return Value mapped to key, or null if none
+     */
+    public V get(int key) {
+        return unwrap(table.find(key));
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @param key   Key to map
+     * @param value Value to map to key
+     * @return Previous value mapped to key, or null if none
+     */
+    public synchronized V put(int key, V value) {
+        Objects.requireNonNull(value, "Value cannot be null.");
+
+        return unwrap(insert(key, value, true));
+    }
+
+    /**
+     * @param key   Key to map
+     * @param value Value to map to key, if key has no value
+     * @return Value already mapped to key, or null if value was mapped
+     */
+    public synchronized V putIfAbsent(int key, V value) {
+        Objects.requireNonNull(value, "Value cannot be null.");
+
+        return unwrap(insert(key, value, false));
+    }
+
+    /**
+     * Map key to a value computed from it, unless already mapped. The lookup of an existing value does not lock.
+     *
+     * @param key             Key to map
+     * @param mappingFunction Computes value for key, must not return null
+     * @return Value mapped to key
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        final V existing = get(key);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        synchronized (this) {
+            final V value = Objects.requireNonNull(mappingFunction.apply(key), "Mapped value cannot be null.");
+            final V previous = unwrap(insert(key, value, false));
+
+            return previous != null ? previous : value;
+        }
+    }
+
+    /**
+     * @param key Key to remove
+     * @return Value that was mapped to key, or null if none
+     */
+    public synchronized V remove(int key) {
+        final Table current = table;
+        final int index = current.indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final Object previous = SLOTS.getAcquire(current.values, index);
+
+        if (previous == TOMBSTONE) {
+            return null;
+        }
+
+        SLOTS.setRelease(current.values, index, TOMBSTONE);
+        size--;
+
+        return unwrap(previous);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Returns previous slot value, or null if key had no slot
+    private Object insert(int key, V value, boolean replace) {
+        final Table current = table;
+        final int index = current.indexOf(key);
+
+        if (index >= 0) {
+            final Object previous = SLOTS.getAcquire(current.values, index);
+
+            if (previous == TOMBSTONE) {
+                SLOTS.setRelease(current.values, index, value);
+                size++;
+                return null;
+            }
+
+            if (replace) {
+                SLOTS.setRelease(current.values, index, value);
+            }
+
+            return previous;
+        }
+
+        if ((used + 1) * 2 > current.capacity()) {
+            rebuild(capacityFor(size + 1));
+        }
+
+        table.claim(key, value);
+        used++;
+        size++;
+
+        return null;
+    }
+
+    // Copies live entries into a new table, dropping tombstones, and publishes it
+    private void rebuild(int capacity) {
+        final Table current = table;
+        final Table rebuilt = new Table(capacity);
+
+        for (int i = 0; i < current.capacity(); i++) {
+            final Object value = SLOTS.getAcquire(current.values, i);
+
+            if (value != null && value != TOMBSTONE) {
+                rebuilt.claim(current.keys[i], value);
+            }
+        }
+
+        used = size;
+        table = rebuilt;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object slotValue) {
+        return slotValue == null || slotValue == TOMBSTONE ? null : (V) slotValue;
+    }
+
+    // Power of two at least twice the entry count, so the table stays at most half full
+    private static int capacityFor(int entries) {
+        final int minimum = Math.max(entries * 2, DEFAULT_CAPACITY);
+
+        return Integer.highestOneBit(minimum - 1) << 1;
+    }
+
+    private static final class Table {
+        private final int[] keys;
+        private final Object[] values;
+        private final int mask;
+
+        private Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return keys.length;
+        }
+
+        // Slot value for key, null if absent
+        private Object find(int key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                final Object value = SLOTS.getAcquire(values, i);
+
+                if (value == null) {
+                    return null;
+                }
+
+                if (keys[i] == key) {
+                    return value;
+                }
+            }
+        }
+
+        // Slot index holding key, -1 if absent
+        private int indexOf(int key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (SLOTS.getAcquire(values, i) == null) {
+                    return -1;
+                }
+
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+        }
+
+        // Key is written before the value is released to readers
+        private void claim(int key, Object value) {
+            int i = hash(key) & mask;
+
+            while (SLOTS.getAcquire(values, i) != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            SLOTS.setRelease(values, i, value);
+        }
+
+        // Spreads sequential ids across the table
+        private static int hash(int key) {
+            final int h = key * 0x9E3779B9;
+
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -46,7 +46,7 @@ public class IbOrderUtil {
             default -> logger.error("Expected MARKET or LIMIT for ExecutionType: {}", order);
         }
 
-        logger.debug("Built Interactive Brokers Order: {}", IbStringUtil.toStringOrder(ibOrder));
+        logger.debug("Built Interactive Brokers Order: {}", IbStringUtil.lazyOrder(ibOrder));
 
         return ibOrder;
     }
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class IbStringUtil {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
@@ -18,6 +19,36 @@ public class IbStringUtil {
     private IbStringUtil() {
     }
 
+    /**
+     * OrderState as a log argument, formatted only if the log level is enabled.
+     *
+     * @param orderState An Interactive Brokers OrderState
+     * @return An Object whose toString is {@link #toStringOrderState(OrderState)}
+     */
+    public static Object lazyOrderState(OrderState orderState) {
+        return new LazyString<>(orderState, IbStringUtil::toStringOrderState);
+    }
+
+    /**
+     * Order as a log argument, formatted only if the log level is enabled.
+     *
+     * @param order An Interactive Brokers Order.
+     * @return An Object whose toString is {@link #toStringOrder(Order)}
+     */
+    public static Object lazyOrder(Order order) {
+        return new LazyString<>(order, IbStringUtil::toStringOrder);
+    }
+
+    /**
+     * Contract as a log argument, formatted only if the log level is enabled.
+     *
+     * @param contract An Interactive Brokers Contract.
+     * @return An Object whose toString is {@link #toStringContract(Contract)}
+     */
+    public static Object lazyContract(Contract contract) {
+        return new LazyString<>(contract, IbStringUtil::toStringContract);
+    }
+
     /**
      * Convert an OrderState into a String.
      *
@@ -572,4 +603,20 @@ public class IbStringUtil {
 
         return stringBuilder.toString();
     }
+
+    // SLF4J calls toString on arguments only when the message is formatted
+    private static final class LazyString<T> {
+        private final T value;
+        private final Function<T, String> formatter;
+
+        private LazyString(T value, Function<T, String> formatter) {
+            this.value = value;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public String toString() {
+            return formatter.apply(value);
+        }
+    }
 }
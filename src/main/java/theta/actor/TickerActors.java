@@ -0,0 +1,187 @@
+package theta.actor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import theta.domain.Ticker;
+import theta.domain.ticker.TickerMap;
+import theta.properties.ActorProperties;
+
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One actor per Ticker, each a mailbox of tasks run one at a time and in the order they were sent, on a pool of worker
+ * threads shared by all Tickers. State of a Ticker that is only touched by its own tasks needs no locking, while
+ * different Tickers are processed in parallel, up to the number of workers.
+ *
+ * <p>A mailbox is only scheduled on a worker while it has tasks, and runs a bounded batch before yielding the worker
+ * so a busy Ticker cannot starve the others. Successive batches of a mailbox may run on different workers, the
+ * scheduled flag orders them. A task that throws is logged and does not stop the tasks after it.
+ */
+@Component
+public class TickerActors {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    // Tasks a mailbox runs before giving up its worker
+    private static final int BATCH_SIZE = 64;
+
+    private final Executor workers;
+    private final boolean ownsWorkers;
+
+    // Mailboxes live as long as the actors, there are only as many as Tickers held
+    private final TickerMap<Mailbox> mailboxes = new TickerMap<>();
+
+    /**
+     * Create actors on their own pool of daemon worker threads.
+     *
+     * @param actorProperties Number of worker threads
+     */
+    @Autowired
+    public TickerActors(ActorProperties actorProperties) {
+        this(newWorkers(actorProperties.getWorkers()), true);
+    }
+
+    /**
+     * Create actors running on the supplied Executor, which is not shut down with the actors.
+     *
+     * @param workers Executor mailboxes are run on
+     */
+    public TickerActors(Executor workers) {
+        this(workers, false);
+    }
+
+    private TickerActors(Executor workers, boolean ownsWorkers) {
+        this.workers = Objects.requireNonNull(workers, "Workers cannot be null.");
+        this.ownsWorkers = ownsWorkers;
+    }
+
+    /**
+     * Actors running each task on the thread that sends it, unless that Ticker is already running a task. Tasks are
+     * still serialized per Ticker, and run deterministically, e.g. for tests and replays.
+     *
+     * @return Actors without worker threads
+     */
+    public static TickerActors direct() {
+        return new TickerActors(Runnable::run);
+    }
+
+    /**
+     * Run task on the actor of Ticker, after all tasks previously sent to it.
+     *
+     * @param ticker Ticker owning the state the task touches
+     * @param task   Task to run
+     */
+    public void execute(Ticker ticker, Runnable task) {
+        Objects.requireNonNull(task, "Task cannot be null.");
+
+        mailboxes.computeIfAbsent(ticker, Mailbox::new).enqueue(task);
+    }
+
+    /**
+     * Compute a value on the actor of Ticker. The task is sent when the Mono is subscribed to.
+     *
+     * @param ticker   Ticker owning the state the task touches
+     * @param supplier Computes value, may return null for an empty Mono
+     * @param <T>      Type of value
+     * @return Mono of value, or of the exception the supplier threw
+     */
+    public <T> Mono<T> submit(Ticker ticker, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "Supplier cannot be null.");
+
+        return Mono.create(sink -> execute(ticker, () -> {
+            final T value;
+            try {
+                value = supplier.get();
+            } catch (RuntimeException exception) {
+                sink.error(exception);
+                return;
+            }
+            sink.success(value);
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownsWorkers) {
+            logger.info("Shutting down Ticker actor workers");
+            ((ExecutorService) workers).shutdown();
+        }
+    }
+
+    private static ExecutorService newWorkers(int workers) {
+        final int workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger workerNumber = new AtomicInteger();
+
+        logger.info("Starting {} Ticker actor workers", workerCount);
+
+        return Executors.newFixedThreadPool(workerCount, runnable -> {
+            final Thread worker = new Thread(runnable, "ticker-actor-" + workerNumber.getAndIncrement());
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    private final class Mailbox implements Runnable {
+        private final Ticker ticker;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // Set while the mailbox is queued on, or running on, a worker
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(Ticker ticker) {
+            this.ticker = ticker;
+        }
+
+        private void enqueue(Runnable task) {
+            tasks.offer(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this);
+                } catch (RejectedExecutionException exception) {
+                    scheduled.set(false);
+                    logger.warn("Ticker actor workers shut down, dropping {} task(s) of {}", tasks.size(), ticker);
+                    tasks.clear();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+
+                try {
+                    task.run();
+                } catch (RuntimeException exception) {
+                    logger.error("Task of {} actor failed", ticker, exception);
+                }
+            }
+
+            scheduled.set(false);
+
+            // Tasks sent after the last poll saw the mailbox as scheduled, so did not schedule it
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package theta.api;
+
+/**
+ * Notified by the Market Session Scheduler as the market closes, and ahead of it opening again.
+ */
+public interface MarketSessionListener {
+    /**
+     * Market has closed until the next warm up. A controlled point to release resources not needed overnight and
+     * compact end of day state.
+     */
+    void onSessionClose();
+
+    /**
+     * Market opens within the warm up time, so resources should be restored and state loaded before the first Tick of
+     * the session.
+     */
+    void onSessionWarmUp();
+}
@@ -1,5 +1,7 @@
 package theta.connection.manager;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -8,16 +10,31 @@ import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 import theta.api.ConnectionHandler;
 import theta.connection.domain.ConnectionAddress;
+import theta.connection.domain.ConnectionState;
 import theta.connection.domain.ConnectionStatus;
 import theta.domain.manager.ManagerState;
 import theta.domain.manager.ManagerStatus;
+import theta.metrics.SharedGauge;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Connects to the Broker.
+ *
+ * <p>Reports "theta.connection.connected" as 1 while connected, and connections after the first as
+ * "theta.connection.reconnects".
+ */
 @Component
 public class DefaultConnectionManager implements ConnectionManager {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final Counter RECONNECTS = Counter.builder("theta.connection.reconnects")
+            .description("Connections to the Broker after the first")
+            .register(Metrics.globalRegistry);
+    private static final SharedGauge<AtomicBoolean> CONNECTED = new SharedGauge<>("theta.connection.connected",
+            "1 while connected to the Broker", isConnected -> isConnected.get() ? 1.0 : 0.0);
+
     private final ConnectionHandler connectionHandler;
     private final ConnectionAddress connectionAddress;
 
@@ -26,17 +43,23 @@ public class DefaultConnectionManager implements ConnectionManager {
 
     private final Composite connectionDisposables = Disposables.composite();
 
+    private final AtomicBoolean hasConnected = new AtomicBoolean(false);
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+
     public DefaultConnectionManager(ConnectionHandler connectionHandler, ConnectionAddress connectionAddress) {
         getManagerStatus().changeState(ManagerState.RUNNING);
         this.connectionHandler = connectionHandler;
         this.connectionAddress = connectionAddress;
+
+        CONNECTED.bind(connected);
     }
 
     @Override
     public Mono<ConnectionStatus> connect() {
         logger.info("Connecting to Broker servers...");
 
-        return connectionHandler.connect(connectionAddress.getHostAddress(), connectionAddress.getPort());
+        return connectionHandler.connect(connectionAddress.getHostAddress(), connectionAddress.getPort())
+                .doOnNext(this::recordConnection);
     }
 
     @Override
@@ -44,9 +67,24 @@ public class DefaultConnectionManager implements ConnectionManager {
         logger.info("Shutting down 'Connection Manager' subsystem");
         getManagerStatus().changeState(ManagerState.STOPPING);
         connectionHandler.disconnect();
+        connected.set(false);
         connectionDisposables.dispose();
     }
 
+    private void recordConnection(ConnectionStatus connectionStatus) {
+        if (connectionStatus.getState() == ConnectionState.CONNECTED) {
+            connected.set(true);
+
+            if (hasConnected.getAndSet(true)) {
+                RECONNECTS.increment();
+            }
+        }
+    }
+
+    public boolean isConnected() {
+        return connected.get();
+    }
+
     public ManagerStatus getManagerStatus() {
         return managerStatus;
     }
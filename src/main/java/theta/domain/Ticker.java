@@ -4,4 +4,12 @@ package theta.domain;
 public interface Ticker extends Comparable<Ticker> {
 
   String getSymbol();
+
+  /**
+   * Dense id assigned when the Ticker is first used, counting up from zero, for keeping per-Ticker state in arrays.
+   * Ids are only stable within a process.
+   *
+   * @return Id of Ticker
+   */
+  int getId();
 }
@@ -0,0 +1,261 @@
+package theta.domain.pricelevel;
+
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Price Levels of a single Ticker, kept in two sorted arrays by direction. FALLS_BELOW levels are crossed when their
+ * price is above the crossing price, RISES_ABOVE levels when their price is below it. So only the nearest boundary of
+ * each array has to be checked to know if anything was crossed, and all crossed levels are a contiguous range.
+ *
+ * <p>Levels are added and removed far less often than Ticks are checked, so writes copy the arrays and publish them
+ * as a new snapshot. Reads are lock-free.
+ */
+public class PriceLevelBook {
+
+    private volatile Side fallsBelow = Side.EMPTY;
+    private volatile Side risesAbove = Side.EMPTY;
+
+    /**
+     * Add Price Level to book. Adding a Price Level already in the book has no effect.
+     *
+     * @param priceLevel Price Level to add
+     * @return Number of Price Levels in book
+     */
+    public synchronized int add(PriceLevel priceLevel) {
+        switch (priceLevel.tradeIf()) {
+            case FALLS_BELOW -> fallsBelow = fallsBelow.with(priceLevel);
+            case RISES_ABOVE -> risesAbove = risesAbove.with(priceLevel);
+        }
+
+        return size();
+    }
+
+    /**
+     * Remove Price Level from book.
+     *
+     * @param priceLevel Price Level to remove
+     * @return True if Price Level was in book
+     */
+    public synchronized boolean remove(PriceLevel priceLevel) {
+        final Side side = getSide(priceLevel.tradeIf());
+        final Side removed = side.without(priceLevel);
+
+        switch (priceLevel.tradeIf()) {
+            case FALLS_BELOW -> fallsBelow = removed;
+            case RISES_ABOVE -> risesAbove = removed;
+        }
+
+        return removed != side;
+    }
+
+    /**
+     * Checks only the nearest FALLS_BELOW and RISES_ABOVE boundaries. A crossing price of NaN never crosses.
+     *
+     * @param fallsBelowPrice Price FALLS_BELOW levels are compared against
+     * @param risesAbovePrice Price RISES_ABOVE levels are compared against
+     * @return True if any Price Level is crossed
+     */
+    public boolean isCrossed(double fallsBelowPrice, double risesAbovePrice) {
+        final Side below = fallsBelow;
+        final Side above = risesAbove;
+
+        return (below.size() > 0 && below.prices[below.size() - 1] > fallsBelowPrice)
+                || (above.size() > 0 && above.prices[0] < risesAbovePrice);
+    }
+
+    /**
+     * All crossed Price Levels, found with one binary search per direction.
+     *
+     * @param fallsBelowPrice Price FALLS_BELOW levels are compared against
+     * @param risesAbovePrice Price RISES_ABOVE levels are compared against
+     * @return Crossed Price Levels, empty if none
+     */
+    public List<PriceLevel> getCrossed(double fallsBelowPrice, double risesAbovePrice) {
+        final Side below = fallsBelow;
+        final Side above = risesAbove;
+
+        final int firstCrossedBelow = Double.isNaN(fallsBelowPrice) ? below.size() : below.firstAbove(fallsBelowPrice);
+        final int lastCrossedAbove = Double.isNaN(risesAbovePrice) ? 0 : above.firstAtOrAbove(risesAbovePrice);
+
+        final int crossedCount = below.size() - firstCrossedBelow + lastCrossedAbove;
+
+        if (crossedCount == 0) {
+            return List.of();
+        }
+
+        final List<PriceLevel> crossed = new ArrayList<>(crossedCount);
+        crossed.addAll(Arrays.asList(below.levels).subList(firstCrossedBelow, below.size()));
+        crossed.addAll(Arrays.asList(above.levels).subList(0, lastCrossedAbove));
+
+        return crossed;
+    }
+
+    /**
+     * Absolute distance from price to the nearest Price Level in either direction, found with one binary search per
+     * direction.
+     *
+     * @param price Price to measure from
+     * @return Distance to nearest Price Level, infinite if book is empty or price is NaN
+     */
+    public double distanceToNearest(double price) {
+        if (Double.isNaN(price)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return Math.min(fallsBelow.distanceToNearest(price), risesAbove.distanceToNearest(price));
+    }
+
+    public int size() {
+        return fallsBelow.size() + risesAbove.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public Set<PriceLevel> toSet() {
+        final Side below = fallsBelow;
+        final Side above = risesAbove;
+
+        final List<PriceLevel> all = new ArrayList<>(below.size() + above.size());
+        all.addAll(Arrays.asList(below.levels));
+        all.addAll(Arrays.asList(above.levels));
+
+        return Set.copyOf(all);
+    }
+
+    private Side getSide(PriceLevelDirection direction) {
+        return switch (direction) {
+            case FALLS_BELOW -> fallsBelow;
+            case RISES_ABOVE -> risesAbove;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "PriceLevelBook{" +
+                "fallsBelow=" + Arrays.toString(fallsBelow.prices) +
+                ", risesAbove=" + Arrays.toString(risesAbove.prices) +
+                '}';
+    }
+
+    // Immutable snapshot of one direction, prices ascending with levels at the same index
+    private static class Side {
+        private static final Side EMPTY = new Side(new double[0], new PriceLevel[0]);
+
+        private final double[] prices;
+        private final PriceLevel[] levels;
+
+        private Side(double[] prices, PriceLevel[] levels) {
+            this.prices = prices;
+            this.levels = levels;
+        }
+
+        private int size() {
+            return prices.length;
+        }
+
+        private Side with(PriceLevel priceLevel) {
+            if (indexOf(priceLevel) >= 0) {
+                return this;
+            }
+
+            final int insertAt = firstAbove(priceLevel.getPrice());
+
+            final double[] newPrices = new double[size() + 1];
+            final PriceLevel[] newLevels = new PriceLevel[size() + 1];
+
+            System.arraycopy(prices, 0, newPrices, 0, insertAt);
+            System.arraycopy(levels, 0, newLevels, 0, insertAt);
+            newPrices[insertAt] = priceLevel.getPrice();
+            newLevels[insertAt] = priceLevel;
+            System.arraycopy(prices, insertAt, newPrices, insertAt + 1, size() - insertAt);
+            System.arraycopy(levels, insertAt, newLevels, insertAt + 1, size() - insertAt);
+
+            return new Side(newPrices, newLevels);
+        }
+
+        private Side without(PriceLevel priceLevel) {
+            final int removeAt = indexOf(priceLevel);
+
+            if (removeAt < 0) {
+                return this;
+            }
+
+            final double[] newPrices = new double[size() - 1];
+            final PriceLevel[] newLevels = new PriceLevel[size() - 1];
+
+            System.arraycopy(prices, 0, newPrices, 0, removeAt);
+            System.arraycopy(levels, 0, newLevels, 0, removeAt);
+            System.arraycopy(prices, removeAt + 1, newPrices, removeAt, size() - removeAt - 1);
+            System.arraycopy(levels, removeAt + 1, newLevels, removeAt, size() - removeAt - 1);
+
+            return new Side(newPrices, newLevels);
+        }
+
+        private int indexOf(PriceLevel priceLevel) {
+            for (int i = firstAtOrAbove(priceLevel.getPrice()); i < size() && prices[i] == priceLevel.getPrice(); i++) {
+                if (levels[i].equals(priceLevel)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        // Nearest price is either the first at or above price, or the one before it
+        private double distanceToNearest(double price) {
+            final int above = firstAtOrAbove(price);
+
+            double distance = Double.POSITIVE_INFINITY;
+            if (above < size()) {
+                distance = prices[above] - price;
+            }
+            if (above > 0) {
+                distance = Math.min(distance, price - prices[above - 1]);
+            }
+
+            return distance;
+        }
+
+        // Index of first price strictly greater than price, or size if none
+        private int firstAbove(double price) {
+            int low = 0;
+            int high = size();
+
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (prices[mid] > price) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+
+        // Index of first price greater than or equal to price, or size if none
+        private int firstAtOrAbove(double price) {
+            int low = 0;
+            int high = size();
+
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (prices[mid] >= price) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -3,21 +3,33 @@ package theta.domain.ticker;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import theta.domain.Ticker;
 
+/**
+ * Tickers are interned, so there is one instance per symbol. Interning also assigns each symbol its dense id.
+ */
 public class DefaultTicker implements Ticker {
 
   private static final ConcurrentMap<String, Ticker> mapOfTickers = new ConcurrentHashMap<>();
 
+  // Only incremented inside computeIfAbsent, which builds each symbol once
+  private static final AtomicInteger nextId = new AtomicInteger();
+
   private final String tickerSymbol;
+  private final int id;
 
   private DefaultTicker(String ticker) {
     tickerSymbol = ticker;
+    id = nextId.getAndIncrement();
   }
 
   public static Ticker from(String ticker) {
 
-    return mapOfTickers.computeIfAbsent(ticker, DefaultTicker::new);
+    // Interned Tickers are read far more often than created, so avoid the lock of computeIfAbsent when present
+    final Ticker interned = mapOfTickers.get(ticker);
+
+    return interned != null ? interned : mapOfTickers.computeIfAbsent(ticker, DefaultTicker::new);
   }
 
   /*
@@ -30,15 +42,21 @@ public class DefaultTicker implements Ticker {
     return tickerSymbol;
   }
 
+  @Override
+  public int getId() {
+    return id;
+  }
+
   @Override
   public String toString() {
     return getSymbol();
   }
 
+  // Equal Tickers are the same interned instance, so share an id
   @Override
   public int hashCode() {
 
-    return Objects.hash(getSymbol());
+    return id;
   }
 
   @Override
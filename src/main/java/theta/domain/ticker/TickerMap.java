@@ -0,0 +1,197 @@
+package theta.domain.ticker;
+
+import theta.domain.Ticker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Per-Ticker state kept in an array indexed by {@link Ticker#getId()}, so looking up the state of a Tick's Ticker is an
+ * array read rather than hashing and comparing its symbol.
+ *
+ * <p>Reads are lock-free, writes are serialized on the map. The array grows to the highest Ticker id stored, which is
+ * at most the number of Tickers interned.
+ *
+ * <p>Null values are not permitted.
+ *
+ * @param <V> Type of value
+ */
+public class TickerMap<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile Table<V> table = new Table<>(INITIAL_CAPACITY);
+    // Guarded by this
+    private int size;
+
+    /**
+     * @param ticker Ticker to look up
+     * @return Value of Ticker, or null if none
+     */
+    public V get(Ticker ticker) {
+        final Table<V> current = table;
+        final int id = ticker.getId();
+
+        return id < current.capacity() ? current.values.get(id) : null;
+    }
+
+    public boolean containsKey(Ticker ticker) {
+        return get(ticker) != null;
+    }
+
+    /**
+     * @param ticker Ticker to map
+     * @param value  Value of Ticker
+     * @return Previous value of Ticker, or null if none
+     */
+    public synchronized V put(Ticker ticker, V value) {
+        Objects.requireNonNull(value, "Value cannot be null.");
+
+        final Table<V> current = ensureCapacity(ticker.getId());
+        current.keys[ticker.getId()] = ticker;
+        final V previous = current.values.getAndSet(ticker.getId(), value);
+
+        if (previous == null) {
+            size++;
+        }
+
+        return previous;
+    }
+
+    /**
+     * Map Ticker to a value computed from it, unless already mapped. The lookup of an existing value does not lock.
+     *
+     * @param ticker          Ticker to map
+     * @param mappingFunction Computes value of Ticker, must not return null
+     * @return Value of Ticker
+     */
+    public V computeIfAbsent(Ticker ticker, Function<? super Ticker, ? extends V> mappingFunction) {
+        final V existing = get(ticker);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        synchronized (this) {
+            final V current = get(ticker);
+
+            if (current != null) {
+                return current;
+            }
+
+            final V value = Objects.requireNonNull(mappingFunction.apply(ticker), "Mapped value cannot be null.");
+            put(ticker, value);
+
+            return value;
+        }
+    }
+
+    /**
+     * @param ticker Ticker to remove
+     * @return Value that Ticker had, or null if none
+     */
+    public synchronized V remove(Ticker ticker) {
+        final Table<V> current = table;
+        final int id = ticker.getId();
+
+        if (id >= current.capacity()) {
+            return null;
+        }
+
+        final V previous = current.values.getAndSet(id, null);
+
+        if (previous != null) {
+            size--;
+        }
+
+        return previous;
+    }
+
+    /**
+     * @return Tickers with a value, in id order, as of the call
+     */
+    public List<Ticker> keys() {
+        final List<Ticker> keys = new ArrayList<>();
+        forEach((ticker, value) -> keys.add(ticker));
+
+        return keys;
+    }
+
+    /**
+     * @return Values, in Ticker id order, as of the call
+     */
+    public List<V> values() {
+        final List<V> values = new ArrayList<>();
+        forEach((ticker, value) -> values.add(value));
+
+        return values;
+    }
+
+    /**
+     * Visit each Ticker and its value, without locking. Values changed during the visit may or may not be seen.
+     *
+     * @param action Action taking a Ticker and its value
+     */
+    public void forEach(BiConsumer<? super Ticker, ? super V> action) {
+        final Table<V> current = table;
+
+        for (int id = 0; id < current.capacity(); id++) {
+            final V value = current.values.get(id);
+
+            if (value != null) {
+                action.accept(current.keys[id], value);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Grows by doubling until id fits, copying entries before publishing the new table
+    private Table<V> ensureCapacity(int id) {
+        final Table<V> current = table;
+
+        if (id < current.capacity()) {
+            return current;
+        }
+
+        int capacity = current.capacity();
+        while (capacity <= id) {
+            capacity <<= 1;
+        }
+
+        final Table<V> grown = new Table<>(capacity);
+        for (int i = 0; i < current.capacity(); i++) {
+            grown.keys[i] = current.keys[i];
+            grown.values.set(i, current.values.get(i));
+        }
+
+        table = grown;
+
+        return grown;
+    }
+
+    // A key is written before its value is set, so readers that see a value also see its key
+    private static final class Table<V> {
+        private final Ticker[] keys;
+        private final AtomicReferenceArray<V> values;
+
+        private Table(int capacity) {
+            keys = new Ticker[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+        }
+
+        private int capacity() {
+            return keys.length;
+        }
+    }
+}
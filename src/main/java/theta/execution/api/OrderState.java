@@ -1,5 +1,25 @@
 package theta.execution.api;
 
 public enum OrderState {
-  PENDING, SUBMITTED, CANCELLED, FILLED
+  PENDING, SUBMITTED, PARTIALLY_FILLED, CANCELLED, FILLED;
+
+  /**
+   * Orders only move forward, from PENDING to SUBMITTED to PARTIALLY_FILLED, and end FILLED or CANCELLED. Repeating a
+   * state is allowed, including the final one, as fills and modifications report it again.
+   *
+   * @param next State order would move to
+   * @return True if order can move from this state to next
+   */
+  public boolean canTransitionTo(OrderState next) {
+    return switch (this) {
+      case PENDING -> true;
+      case SUBMITTED -> next != PENDING;
+      case PARTIALLY_FILLED -> next != PENDING && next != SUBMITTED;
+      case CANCELLED, FILLED -> next == this;
+    };
+  }
+
+  public boolean isModifiable() {
+    return this == SUBMITTED || this == PARTIALLY_FILLED;
+  }
 }
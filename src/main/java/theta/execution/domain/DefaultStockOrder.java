@@ -19,7 +19,8 @@ public class DefaultStockOrder implements ExecutableOrder {
     private final ExecutionAction action;
     private final ExecutionType executionType;
     private Double limitPrice = null;
-    private Integer brokerId = null;
+    // Set once the order is placed, which may be on the thread sending queued messages
+    private volatile Integer brokerId = null;
 
     /**
      * Create Stock Order.
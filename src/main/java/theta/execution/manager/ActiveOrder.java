@@ -0,0 +1,111 @@
+package theta.execution.manager;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import theta.execution.api.ExecutableOrder;
+import theta.execution.api.OrderState;
+import theta.execution.api.OrderStatus;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of a single order, from submission until it is filled or cancelled. Every change is a compare-and-set of an
+ * immutable snapshot, so broker callbacks and tick-driven modifications can't overwrite each other's changes, and only
+ * one of two concurrent modifications of the same snapshot is submitted.
+ */
+class ActiveOrder {
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    // Requests folded into this order complete with it
+    private final Sinks.Empty<Void> completion = Sinks.empty();
+
+    ActiveOrder(ExecutableOrder order) {
+        snapshot = new AtomicReference<>(
+                new Snapshot(Objects.requireNonNull(order, "Order cannot be null."), OrderState.PENDING, Optional.empty(), 0L,
+                        false));
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Apply Order Status received from broker. Statuses arriving after the order moved past their state are ignored.
+     * Only state and status are taken from it, as the order it carries may predate a modification.
+     *
+     * @param orderStatus Order Status received
+     * @return True if applied
+     */
+    boolean update(OrderStatus orderStatus) {
+        while (true) {
+            final Snapshot current = snapshot.get();
+
+            if (!current.state().canTransitionTo(orderStatus.getState())) {
+                return false;
+            }
+
+            final Snapshot next = new Snapshot(current.order(), orderStatus.getState(),
+                    Optional.of(orderStatus), current.version() + 1, current.modificationHeld());
+
+            if (snapshot.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Replace order with its modification, only if nothing changed since expected was read.
+     *
+     * @param expected      Snapshot modification was decided against
+     * @param modifiedOrder Order replacing the active order
+     * @return True if this caller should submit the modification
+     */
+    boolean modify(Snapshot expected, ExecutableOrder modifiedOrder) {
+        return snapshot.compareAndSet(expected,
+                new Snapshot(modifiedOrder, expected.state(), expected.orderStatus(), expected.version() + 1, false));
+    }
+
+    /**
+     * Replace order with its modification without submitting it, as the broker can't modify the order yet. The
+     * modification is held until a later status makes it possible, only if nothing changed since expected was read.
+     *
+     * @param expected      Snapshot modification was decided against
+     * @param modifiedOrder Order replacing the active order
+     * @return True if modification is held
+     */
+    boolean hold(Snapshot expected, ExecutableOrder modifiedOrder) {
+        return snapshot.compareAndSet(expected,
+                new Snapshot(modifiedOrder, expected.state(), expected.orderStatus(), expected.version() + 1, true));
+    }
+
+    Mono<Void> getCompletion() {
+        return completion.asMono();
+    }
+
+    void complete() {
+        completion.tryEmitEmpty();
+    }
+
+    void error(Throwable error) {
+        completion.tryEmitError(error);
+    }
+
+    @Override
+    public String toString() {
+        return "ActiveOrder{" + snapshot.get() + '}';
+    }
+
+    record Snapshot(ExecutableOrder order, OrderState state, Optional<OrderStatus> orderStatus, long version,
+                    boolean modificationHeld) {
+
+        /**
+         * @return Broker ID of the order, or of the order last reported by the broker if not yet set on it
+         */
+        Optional<Integer> brokerId() {
+            return order.getBrokerId().or(() -> orderStatus.flatMap(status -> status.getOrder().getBrokerId()));
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package theta.execution.manager;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
 import reactor.core.Disposable.Composite;
 import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import theta.api.ExecutionHandler;
 import theta.domain.Ticker;
 import theta.domain.manager.ManagerState;
@@ -16,48 +22,127 @@ import theta.execution.api.*;
 import theta.execution.domain.CandidateStockOrder;
 import theta.execution.domain.DefaultStockOrder;
 import theta.execution.factory.ReverseStockOrderFactory;
+import theta.metrics.LatencyRecorder;
+import theta.metrics.LatencyStage;
+import theta.metrics.SharedGauge;
+import theta.properties.ExecutionProperties;
 import theta.util.MarketUtility;
 
 import java.lang.invoke.MethodHandles;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Submits reversing orders to the broker, and modifies them while they are working.
+ *
+ * <p>Reports "theta.orders" tagged by action (submitted, modified, cancelled, filled), the time from submission to
+ * fill as "theta.orders.fill", working orders as "theta.orders.active" and folded amends as "theta.orders.coalesced".
+ */
 @Component
 public class ExecutionManager implements Executor {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final Counter ORDERS_SUBMITTED = orderCounter("submitted");
+    private static final Counter ORDERS_MODIFIED = orderCounter("modified");
+    private static final Counter ORDERS_CANCELLED = orderCounter("cancelled");
+    private static final Counter ORDERS_FILLED = orderCounter("filled");
+    private static final Timer FILL_LATENCY = Timer.builder("theta.orders.fill")
+            .description("Time from submitting an order to it being filled")
+            .publishPercentiles(0.5, 0.99)
+            .register(Metrics.globalRegistry);
+    private static final SharedGauge<ExecutionManager> ORDERS_ACTIVE = new SharedGauge<>("theta.orders.active",
+            "Orders submitted and not yet filled or cancelled", executionManager -> executionManager.activeOrders.size());
+
     private final ExecutionHandler executionHandler;
     private final MarketUtility marketUtility;
+    private final Clock clock;
+    private final OrderCoalescer orderCoalescer;
 
-    private static final ConcurrentMap<UUID, OrderStatus> ACTIVE_ORDER_STATUSES = new ConcurrentHashMap<>();
-    private static final Composite executionManagerDisposables = Disposables.composite();
+    // Registering an order here is what allows submitting it, so an order is submitted once
+    private final ConcurrentMap<UUID, ActiveOrder> activeOrders = new ConcurrentHashMap<>();
+    private final Composite executionManagerDisposables = Disposables.composite();
 
     private final ManagerStatus managerStatus = ManagerStatus.of(MethodHandles.lookup().lookupClass(), ManagerState.SHUTDOWN);
 
     public ExecutionManager(ExecutionHandler executionHandler, MarketUtility marketUtility) {
+        this(executionHandler, marketUtility, Clock.systemUTC());
+    }
+
+    /**
+     * Create Execution Manager, coalescing amends of working orders as configured.
+     *
+     * @param executionHandler    Broker handler orders are executed with
+     * @param marketUtility       Market hours orders are executed during
+     * @param executionProperties Window amends of a working order are coalesced within
+     */
+    @Autowired
+    public ExecutionManager(ExecutionHandler executionHandler, MarketUtility marketUtility,
+                            ExecutionProperties executionProperties) {
+        this(executionHandler, marketUtility, Clock.systemUTC(), executionProperties.getCoalesceWindow(),
+                Schedulers.parallel());
+    }
+
+    /**
+     * Create Execution Manager with a supplied Clock, e.g. the virtual clock of a replay.
+     *
+     * @param executionHandler Broker handler orders are executed with
+     * @param marketUtility    Market hours orders are executed during
+     * @param clock            Clock market hours are checked against
+     */
+    public ExecutionManager(ExecutionHandler executionHandler, MarketUtility marketUtility, Clock clock) {
+        this(executionHandler, marketUtility, clock, Duration.ZERO, Schedulers.parallel());
+    }
+
+    /**
+     * Create Execution Manager with a supplied Clock and coalescing window.
+     *
+     * @param executionHandler Broker handler orders are executed with
+     * @param marketUtility    Market hours orders are executed during
+     * @param clock            Clock market hours are checked against
+     * @param coalesceWindow   Window amends of a working order are coalesced within, zero sends every amend
+     * @param scheduler        Scheduler coalesced amends are sent on
+     */
+    public ExecutionManager(ExecutionHandler executionHandler, MarketUtility marketUtility, Clock clock,
+                            Duration coalesceWindow, Scheduler scheduler) {
         logger.info("Starting Execution Manager");
         this.executionHandler = executionHandler;
         this.marketUtility = marketUtility;
+        this.clock = clock;
+        this.orderCoalescer = new OrderCoalescer(coalesceWindow, scheduler);
+
+        ORDERS_ACTIVE.bind(this);
+    }
+
+    private static Counter orderCounter(String action) {
+        return Counter.builder("theta.orders")
+                .description("Orders by action taken")
+                .tag("action", action)
+                .register(Metrics.globalRegistry);
     }
 
     @Override
     public Mono<Void> reverseTrade(CandidateStockOrder candidateOrder) {
         logger.info("Reversing Trade: {}", candidateOrder.stock());
-        return Mono.just(ReverseStockOrderFactory.reverse(candidateOrder))
+        final ExecutableOrder reverseOrder = ReverseStockOrderFactory.reverse(candidateOrder);
+        LatencyRecorder.record(LatencyStage.REVERSE_ORDER, reverseOrder.getTicker());
+
+        return Mono.just(reverseOrder)
                 .flatMap(this::executeOrder);
     }
 
     // TODO: Should probably try to remove this method; don't think it is necessary, but possibly not quick fix
     @Override
     public void convertToMarketOrderIfExists(Ticker ticker) {
-        ACTIVE_ORDER_STATUSES.values().stream()
-                .filter(orderStatus -> orderStatus.getOrder().getTicker().equals(ticker))
-                .forEach(orderStatus -> {
-                    final ExecutableOrder activeOrder = orderStatus.getOrder();
-
+        activeOrders.values().stream()
+                .map(activeOrder -> activeOrder.getSnapshot().order())
+                .filter(activeOrder -> activeOrder.getTicker().equals(ticker))
+                .forEach(activeOrder -> {
                     if (activeOrder.getExecutionType() != ExecutionType.MARKET) {
                         final ExecutableOrder modifiedMarketOrder = new DefaultStockOrder(
                                 activeOrder.getTicker(),
@@ -81,18 +166,22 @@ public class ExecutionManager implements Executor {
     private Mono<Void> executeOrder(ExecutableOrder order) {
         return Mono.create(emitter -> {
             if (isNowDuringMarketHoursForOrder(order)) {
-                if (!isModifiedOrder(order)) {
-                    // New order if (!isModifiedOrder && !order.getBrokerId().isPresent()) {
+                final ActiveOrder newActiveOrder = new ActiveOrder(order);
+                final ActiveOrder existingActiveOrder = activeOrders.putIfAbsent(order.getId(), newActiveOrder);
+
+                if (existingActiveOrder == null) {
                     logger.info("Executing Order {}", order);
-                    final Disposable disposableExecutionHandler = subscribeExecuteStockOrder(order, emitter);
+                    ORDERS_SUBMITTED.increment();
+                    final Disposable disposableExecutionHandler = subscribeExecuteStockOrder(order, newActiveOrder, emitter);
                     executionManagerDisposables.add(disposableExecutionHandler);
-                } else if (isModifiedOrder(order)) {
-                    // Modify existing order,if correct attributes are set
-                    modifyStockOrder(order);
-                    // TODO: Need to possibly cancel for multiple iterations; possibly convert to Maybe
                 } else {
-                    // Something was wrong with determining if new or modified order or their parameters
-                    logger.error("Existing order. Existing Order Status: {}. Order will not be executed: {}", ACTIVE_ORDER_STATUSES.get(order.getId()), order);
+                    // Modify existing order,if correct attributes are set
+                    orderCoalescer.amend(order, amend -> modifyStockOrder(existingActiveOrder, amend));
+
+                    // Folded into the working order, so done once it is
+                    final Disposable workingOrderDisposable = existingActiveOrder.getCompletion()
+                            .subscribe(null, emitter::error, emitter::success);
+                    emitter.onDispose(workingOrderDisposable);
                 }
             } else {
                 // Market not open
@@ -103,101 +192,102 @@ public class ExecutionManager implements Executor {
         });
     }
 
-    private Disposable subscribeExecuteStockOrder(ExecutableOrder order, MonoSink<Void> emitter) {
+    private Disposable subscribeExecuteStockOrder(ExecutableOrder order, ActiveOrder activeOrder, MonoSink<Void> emitter) {
+        final long submittedNanos = System.nanoTime();
+
         return executionHandler.executeOrder(order).subscribe(
-                this::handleOrderStatus,
-                error -> emitter.error(handleOrderErrors(error, order)), // TODO: Should probably correct cancel request
+                orderStatus -> handleOrderStatus(activeOrder, orderStatus),
+                error -> emitter.error(handleOrderErrors(error, order, activeOrder)), // TODO: Should probably correct cancel request
                 () -> {
                     logger.info("Order successfully filled: {}", order);
+                    orderCoalescer.remove(order.getId());
 
-                    if (ACTIVE_ORDER_STATUSES.remove(order.getId()) != null) {
+                    if (activeOrders.remove(order.getId(), activeOrder)
+                            && activeOrder.getSnapshot().orderStatus().isPresent()) {
                         logger.debug("Order removed from active orders list: {}", order);
+                        ORDERS_FILLED.increment();
+                        FILL_LATENCY.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+                        activeOrder.complete();
                         emitter.success();
                     } else {
-                        logger.warn("Received filled order notification for which there is no Active Order. Active Orders: {}, Order: {}", ACTIVE_ORDER_STATUSES, order);
-                        emitter.error(new IllegalStateException("No active order status for: " + order));
+                        logger.warn("Received filled order notification for which there is no Order Status. Active Order: {}, Order: {}", activeOrder, order);
+                        final IllegalStateException noOrderStatus = new IllegalStateException("No active order status for: " + order);
+                        activeOrder.error(noOrderStatus);
+                        emitter.error(noOrderStatus);
                     }
                 });
     }
 
-    private void handleOrderStatus(OrderStatus orderStatus) {
+    private void handleOrderStatus(ActiveOrder activeOrder, OrderStatus orderStatus) {
         logger.info("Received {}", orderStatus);
-        updateActiveOrderStatus(orderStatus);
+
+        if (!activeOrder.update(orderStatus)) {
+            logger.warn("Ignoring Order Status received after order moved past it. Order Status: {}, Active Order: {}", orderStatus, activeOrder);
+            return;
+        }
+
+        // Modifications made before the broker acknowledged the order are sent once it has
+        final ActiveOrder.Snapshot activeOrderSnapshot = activeOrder.getSnapshot();
+        if (activeOrderSnapshot.modificationHeld() && activeOrderSnapshot.state().isModifiable()) {
+            activeOrderSnapshot.brokerId().ifPresent(brokerId ->
+                    submitModification(activeOrder, activeOrderSnapshot, activeOrderSnapshot.order(), brokerId));
+        }
     }
 
-    private Throwable handleOrderErrors(Throwable error, ExecutableOrder order) {
+    private Throwable handleOrderErrors(Throwable error, ExecutableOrder order, ActiveOrder activeOrder) {
         logger.error("Order Handler encountered an error", error);
         final Disposable disposableCancelOrder = executionHandler.cancelOrder(order).subscribe();
+        ORDERS_CANCELLED.increment();
         executionManagerDisposables.add(disposableCancelOrder);
 
         logger.warn("Removing order from active orders: {}", order);
-        ACTIVE_ORDER_STATUSES.remove(order.getId());
+        orderCoalescer.remove(order.getId());
+        activeOrders.remove(order.getId(), activeOrder);
+        activeOrder.error(error);
 
         return error;
     }
 
-    private void modifyStockOrder(ExecutableOrder order) {
-        final OrderStatus activeOrderStatus = ACTIVE_ORDER_STATUSES.get(order.getId());
+    private void modifyStockOrder(ActiveOrder activeOrder, ExecutableOrder order) {
+        final ActiveOrder.Snapshot activeOrderSnapshot = activeOrder.getSnapshot();
+        final OrderState state = activeOrderSnapshot.state();
+        final Optional<Integer> optionalBrokerId = activeOrderSnapshot.brokerId();
 
-        if (activeOrderStatus != null && activeOrderStatus.getOrder().getBrokerId().isPresent()) {
-            if (activeOrderStatus.getState() == OrderState.SUBMITTED) {
-                if (!order.equals(activeOrderStatus.getOrder())) {
-                    logger.info("Modifying order. Modified Order: {}, with current Order Status: {}", order, activeOrderStatus);
-                    executionHandler.modifyOrder(order);
-                } else {
-                    logger.warn("Modified order same as existing. Modified order: {}, Existing Order Status: {}", order, activeOrderStatus);
-                }
+        if (!state.isModifiable() && state != OrderState.PENDING) {
+            logger.warn("Attempted to modify order that is no longer working. Modified order: {}, Active Order: {}", order, activeOrder);
+        } else if (!isModifiedOrder(activeOrderSnapshot.order(), order)) {
+            logger.warn("Modified order same as existing. Modified order: {}, Active Order: {}", order, activeOrder);
+        } else if (optionalBrokerId.isEmpty() || !state.isModifiable()) {
+            // Placement may still be waiting for pacing, so there is no order at the broker to modify yet
+            if (activeOrder.hold(activeOrderSnapshot, order)) {
+                logger.info("Holding modification until broker acknowledges order. Modified Order: {}, Active Order: {}", order, activeOrder);
             } else {
-                logger.warn("Attempted to modify order that is not SUBMITTED or FILLED. Modified order: {}, existing Order Statue: {}", order, activeOrderStatus);
+                // Changed meanwhile, possibly by a status allowing the modification to be sent now
+                modifyStockOrder(activeOrder, order);
             }
         } else {
-            logger.warn("Attempted to modify order for which an existing order does not exist. Order: {}", order);
+            submitModification(activeOrder, activeOrderSnapshot, order, optionalBrokerId.get());
         }
     }
 
-    private boolean isModifiedOrder(ExecutableOrder order) {
-        boolean isModifiedOrder = false;
-        final OrderStatus activeOrderStatus = ACTIVE_ORDER_STATUSES.get(order.getId());
-
-        // No active order
-        if (activeOrderStatus != null) {
-            final Optional<Integer> optionalBrokerId = activeOrderStatus.getOrder().getBrokerId();
-
-            if (optionalBrokerId.isPresent()) {
-                if (activeOrderStatus.getState() != OrderState.FILLED) {
-                    final ExecutableOrder activeOrder = activeOrderStatus.getOrder();
-                    // Active order with different quantities, will be modified
-                    if (activeOrder.getQuantity() != order.getQuantity()) {
-                        order.setBrokerId(optionalBrokerId.get());
-                        isModifiedOrder = true;
-                    } else if (activeOrder.getLimitPrice().isPresent() && order.getLimitPrice().isPresent()
-                            && activeOrder.getLimitPrice().get().equals(order.getLimitPrice().get())) {
-                        // Active order with different Limit Prices, will be modified
-                        order.setBrokerId(optionalBrokerId.get());
-                        isModifiedOrder = true;
-                    } else if ((activeOrder.getExecutionType() != order.getExecutionType())) {
-                        // Active order with different ExecutionType, will be modified (i.e. LIMIT -> MARKET)
-                        order.setBrokerId(optionalBrokerId.get());
-                        isModifiedOrder = true;
-                    } else {
-                        // Active order and new order are the same
-                        logger.warn("Active Order exists for {}, Active Order Status: {}, New Order Request: {}", order.getTicker(), activeOrderStatus, order);
-                    }
-                } else {
-                    logger.warn("Attempted to modify order that has filled Order Status: {}, Order: {}", activeOrderStatus, order);
-                    isModifiedOrder = true;
-                }
-            } else {
-                logger.warn("Modified order does not have Broker ID: {}, Active Order Status: {}", order, activeOrderStatus);
-                isModifiedOrder = true;
-            }
-        }
+    private void submitModification(ActiveOrder activeOrder, ActiveOrder.Snapshot activeOrderSnapshot,
+                                    ExecutableOrder order, int brokerId) {
+        order.setBrokerId(brokerId);
 
-        return isModifiedOrder;
+        if (activeOrder.modify(activeOrderSnapshot, order)) {
+            logger.info("Modifying order. Modified Order: {}, with previous Order Status: {}", order, activeOrderSnapshot);
+            executionHandler.modifyOrder(order);
+            ORDERS_MODIFIED.increment();
+        } else {
+            logger.warn("Order changed while being modified, so modification was not submitted. Modified order: {}, Active Order: {}", order, activeOrder);
+        }
     }
 
-    private static void updateActiveOrderStatus(OrderStatus orderStatus) {
-        ACTIVE_ORDER_STATUSES.put(orderStatus.getOrder().getId(), orderStatus);
+    private static boolean isModifiedOrder(ExecutableOrder activeOrder, ExecutableOrder order) {
+        // Different quantities, Limit Prices, or ExecutionType (i.e. LIMIT -> MARKET)
+        return activeOrder.getQuantity() != order.getQuantity()
+                || !activeOrder.getLimitPrice().equals(order.getLimitPrice())
+                || activeOrder.getExecutionType() != order.getExecutionType();
     }
 
     @Override
@@ -211,7 +301,7 @@ public class ExecutionManager implements Executor {
     }
 
     private boolean isNowDuringMarketHoursForOrder(ExecutableOrder order) {
-        Instant now = Instant.now();
+        Instant now = Instant.now(clock);
         boolean isDuringMarketHours = marketUtility.isDuringMarketHours(now);
 
         if (!isDuringMarketHours) {
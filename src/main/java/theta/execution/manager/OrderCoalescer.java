@@ -0,0 +1,142 @@
+package theta.execution.manager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import theta.execution.api.ExecutableOrder;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Folds amends of a working order into one per window. The first amend after a quiet window is sent straight away,
+ * later ones replace each other until the window ends, when only the latest is sent.
+ */
+class OrderCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Counter COALESCED = Counter.builder("theta.orders.coalesced")
+            .description("Amends folded into a later amend of the same order")
+            .register(Metrics.globalRegistry);
+
+    private final long windowNanos;
+    private final Scheduler scheduler;
+
+    // Working orders by order Id, which is the Id of the reversed Stock
+    private final ConcurrentMap<UUID, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    OrderCoalescer(Duration window, Scheduler scheduler) {
+        this.windowNanos = Objects.requireNonNull(window, "Window cannot be null.").toNanos();
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null.");
+    }
+
+    /**
+     * Send amend now, or hold it until the window of its order ends.
+     *
+     * @param order     Amended order
+     * @param sendAmend Sends amend to broker
+     */
+    void amend(ExecutableOrder order, Consumer<ExecutableOrder> sendAmend) {
+        if (windowNanos <= 0) {
+            sendAmend.accept(order);
+            return;
+        }
+
+        final Window window = windows.computeIfAbsent(order.getId(), id -> new Window());
+        final long now = scheduler.now(TimeUnit.NANOSECONDS);
+        final long delay;
+
+        synchronized (window) {
+            if (window.pendingAmend != null) {
+                logger.debug("Coalesced amend {} into pending amend {}", order, window.pendingAmend);
+                window.pendingAmend = order;
+                coalescedCount.increment();
+                COALESCED.increment();
+                return;
+            }
+
+            if (!window.isOpen(now)) {
+                window.lastSentNanos = now;
+                window.hasSent = true;
+                delay = 0L;
+            } else {
+                window.pendingAmend = order;
+                delay = window.lastSentNanos + windowNanos - now;
+            }
+        }
+
+        if (delay == 0L) {
+            sendAmend.accept(order);
+        } else {
+            final Disposable flush = scheduler.schedule(() -> flush(window, sendAmend), delay, TimeUnit.NANOSECONDS);
+
+            synchronized (window) {
+                window.scheduledFlush = flush;
+            }
+        }
+    }
+
+    /**
+     * Drop window of an order that is no longer working, including any amend not yet sent.
+     *
+     * @param orderId Id of order
+     */
+    void remove(UUID orderId) {
+        final Window window = windows.remove(orderId);
+
+        if (window != null) {
+            synchronized (window) {
+                if (window.pendingAmend != null) {
+                    logger.info("Dropping amend of order no longer working: {}", window.pendingAmend);
+                    window.pendingAmend = null;
+                }
+                if (window.scheduledFlush != null) {
+                    window.scheduledFlush.dispose();
+                }
+            }
+        }
+    }
+
+    long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private void flush(Window window, Consumer<ExecutableOrder> sendAmend) {
+        final ExecutableOrder amend;
+
+        synchronized (window) {
+            amend = window.pendingAmend;
+            window.pendingAmend = null;
+            window.scheduledFlush = null;
+            window.lastSentNanos = scheduler.now(TimeUnit.NANOSECONDS);
+        }
+
+        if (amend != null) {
+            sendAmend.accept(amend);
+        }
+    }
+
+    // Guarded by its own monitor, so only amends of the same order contend
+    private class Window {
+        private boolean hasSent = false;
+        private long lastSentNanos;
+        private ExecutableOrder pendingAmend;
+        private Disposable scheduledFlush;
+
+        private boolean isOpen(long now) {
+            return hasSent && now - lastSentNanos < windowNanos;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package theta.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Tick to order latency by stage, at /actuator/latency.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    @ReadOperation
+    public Map<LatencyStage, Map<String, Number>> latency() {
+        return LatencyRecorder.getSummary();
+    }
+}
@@ -0,0 +1,111 @@
+package theta.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import theta.domain.Ticker;
+import theta.domain.ticker.TickerMap;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records latency of each {@link LatencyStage} as a Micrometer Timer "theta.latency", tagged by stage, with
+ * client-side p50, p99 and p99.9. Stages after the callback are timed from when the latest price of their Ticker was
+ * received, which is the price that triggered them.
+ */
+public final class LatencyRecorder {
+
+    private static final String TIMER_NAME = "theta.latency";
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private static final Map<LatencyStage, Timer> TIMERS = new EnumMap<>(LatencyStage.class);
+    private static final TickerMap<AtomicLong> RECEIVED_NANOS_BY_TICKER = new TickerMap<>();
+
+    static {
+        for (LatencyStage stage : LatencyStage.values()) {
+            TIMERS.put(stage, Timer.builder(TIMER_NAME)
+                    .description("Latency of Tick to order stages")
+                    .tag("stage", stage.name())
+                    .publishPercentiles(PERCENTILES)
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    private LatencyRecorder() {
+    }
+
+    /**
+     * Mark that a price was received for Ticker.
+     *
+     * @param ticker        Ticker price was received for
+     * @param receivedNanos {@link System#nanoTime()} when received
+     */
+    public static void markReceived(Ticker ticker, long receivedNanos) {
+        AtomicLong tickerReceivedNanos = RECEIVED_NANOS_BY_TICKER.get(ticker);
+
+        if (tickerReceivedNanos == null) {
+            tickerReceivedNanos = RECEIVED_NANOS_BY_TICKER.computeIfAbsent(ticker, key -> new AtomicLong());
+        }
+
+        tickerReceivedNanos.set(receivedNanos);
+    }
+
+    /**
+     * Record stage as the time since the latest price of Ticker was received. Nothing is recorded if no price was.
+     *
+     * @param stage  Stage that completed
+     * @param ticker Ticker of stage
+     */
+    public static void record(LatencyStage stage, Ticker ticker) {
+        final AtomicLong tickerReceivedNanos = RECEIVED_NANOS_BY_TICKER.get(ticker);
+
+        if (tickerReceivedNanos != null) {
+            recordSince(stage, tickerReceivedNanos.get());
+        }
+    }
+
+    /**
+     * Record stage as the time since startNanos.
+     *
+     * @param stage      Stage that completed
+     * @param startNanos {@link System#nanoTime()} when stage started
+     */
+    public static void recordSince(LatencyStage stage, long startNanos) {
+        TIMERS.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count, percentiles and max of every stage, in milliseconds.
+     *
+     * @return Summary by stage, in pipeline order
+     */
+    public static Map<LatencyStage, Map<String, Number>> getSummary() {
+        final Map<LatencyStage, Map<String, Number>> summary = new EnumMap<>(LatencyStage.class);
+
+        for (Map.Entry<LatencyStage, Timer> stageTimer : TIMERS.entrySet()) {
+            final HistogramSnapshot snapshot = stageTimer.getValue().takeSnapshot();
+            final Map<String, Number> stageSummary = new LinkedHashMap<>();
+
+            stageSummary.put("count", snapshot.count());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                stageSummary.put(toLabel(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            stageSummary.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+
+            summary.put(stageTimer.getKey(), stageSummary);
+        }
+
+        return summary;
+    }
+
+    // 0.999 -> "p99.9"
+    private static String toLabel(double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,14 @@
+package theta.metrics;
+
+/**
+ * Stages of the path from a Tick arriving from the broker to the reversing order being submitted.
+ */
+public enum LatencyStage {
+    // Handling of the broker price callback itself
+    CALLBACK,
+    // Remaining stages are measured from when the latest price of the Ticker was received
+    BUILD_TICK,
+    PROCESS_TICK,
+    REVERSE_ORDER,
+    BROKER_SUBMIT
+}
@@ -0,0 +1,74 @@
+package theta.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer Gauge reporting the sum of a value over every instance bound to it. Micrometer only keeps the first Gauge
+ * registered with a name and tags, so a Gauge per instance would leave later instances unreported, and read NaN once
+ * the first has been collected. A Shared Gauge is held in a static field and registered once per set of tags, on first
+ * use.
+ *
+ * <p>Instances are held weakly, so they drop out of the sum once collected. Equal instances are only counted once, so
+ * bind instances without value equality, like the component owning a collection rather than the collection.
+ *
+ * @param <T> Type of instances measured
+ */
+public class SharedGauge<T> {
+
+    private final String name;
+    private final String description;
+    private final ToDoubleFunction<T> value;
+    private final ConcurrentMap<Tags, Set<T>> instancesByTags = new ConcurrentHashMap<>();
+
+    public SharedGauge(String name, String description, ToDoubleFunction<T> value) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null.");
+        this.description = Objects.requireNonNull(description, "Description cannot be null.");
+        this.value = Objects.requireNonNull(value, "Value cannot be null.");
+    }
+
+    /**
+     * Add instance to the sum reported with tags.
+     *
+     * @param instance Instance measured
+     * @param tags     Tag keys and values, in pairs
+     */
+    public void bind(T instance, String... tags) {
+        Objects.requireNonNull(instance, "Instance cannot be null.");
+
+        instancesByTags.computeIfAbsent(Tags.of(tags), this::register).add(instance);
+    }
+
+    private Set<T> register(Tags tags) {
+        final Set<T> instances = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+        Gauge.builder(name, instances, this::sum)
+                .description(description)
+                .tags(tags)
+                .strongReference(true)
+                .register(Metrics.globalRegistry);
+
+        return instances;
+    }
+
+    private double sum(Set<T> instances) {
+        double total = 0.0;
+
+        synchronized (instances) {
+            for (final T instance : instances) {
+                total += value.applyAsDouble(instance);
+            }
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,37 @@
+package theta.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import theta.domain.Ticker;
+import theta.domain.ticker.TickerMap;
+
+import java.util.Objects;
+
+/**
+ * Micrometer Counter tagged by Ticker. Counters are registered on first use of a Ticker and cached, so counting a Tick
+ * is an array read rather than a registry lookup with its tag allocations.
+ */
+public class TickerCounter {
+
+    private final String name;
+    private final String description;
+    private final TickerMap<Counter> counters = new TickerMap<>();
+
+    public TickerCounter(String name, String description) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null.");
+        this.description = Objects.requireNonNull(description, "Description cannot be null.");
+    }
+
+    public void increment(Ticker ticker) {
+        Counter counter = counters.get(ticker);
+
+        if (counter == null) {
+            counter = counters.computeIfAbsent(ticker, key -> Counter.builder(name)
+                    .description(description)
+                    .tag("ticker", key.getSymbol())
+                    .register(Metrics.globalRegistry));
+        }
+
+        counter.increment();
+    }
+}
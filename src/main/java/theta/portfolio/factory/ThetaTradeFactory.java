@@ -2,16 +2,18 @@ package theta.portfolio.factory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import theta.domain.Security;
+import theta.domain.Ticker;
 import theta.domain.composed.ShortStraddle;
 import theta.domain.composed.Theta;
 import theta.domain.option.Option;
 import theta.domain.stock.Stock;
+import theta.domain.util.SecurityUtil;
 import theta.domain.util.StockUtil;
 
 import java.lang.invoke.MethodHandles;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class ThetaTradeFactory {
@@ -24,7 +26,8 @@ public class ThetaTradeFactory {
 
     /**
      * Helper static method to create all possible ThetaTrades from passed in Lists of Stocks, Calls,
-     * Puts.
+     * Puts. Options are split across contracts as needed to pair calls and puts, and Stock is split across
+     * straddles in lots of 100 shares per contract, so as many contracts as possible are covered.
      *
      * @param stockList List of Stocks for specific ticker.
      * @param callList  List of Calls for specific ticker.
@@ -41,55 +44,95 @@ public class ThetaTradeFactory {
 
         final List<ShortStraddle> shortStraddles = ThetaTradeFactory.buildStraddles(callList, putList);
 
+        // Stocks are drawn down in order as they cover straddles of their Ticker
+        final Map<Ticker, Deque<Lot<Stock>>> stocksByTicker = stockList.stream()
+                .collect(Collectors.groupingBy(Stock::getTicker,
+                        Collectors.mapping(Lot::new, Collectors.toCollection(ArrayDeque::new))));
+
         // For each straddle attempt to add stock portion
         for (final ShortStraddle straddle : shortStraddles) {
 
-            final Optional<Stock> coverableStock =
-                    ThetaTradeFactory.getCoverableStock(stockList, straddle);
-
-            // If a stock can cover the straddle
-            if (coverableStock.isPresent()) {
-                final Stock stock = coverableStock.get();
-
-                // If stock quantity is greater than number of option contracts adjust, otherwise return
-                // full stock quantity
-                final Optional<Stock> adjustedStock =
-                        StockUtil.adjustStockQuantity(stock, Math.abs(straddle.getQuantity()) * 100);
+            final Deque<Lot<Stock>> coverableStocks =
+                    stocksByTicker.getOrDefault(straddle.getTicker(), new ArrayDeque<>());
+
+            long uncoveredContracts = straddle.getQuantity();
+
+            while (uncoveredContracts > 0 && !coverableStocks.isEmpty()) {
+                final Lot<Stock> stockLot = coverableStocks.peek();
+                final long contracts = Math.min(uncoveredContracts, stockLot.remaining / 100);
+
+                if (contracts > 0) {
+                    // If stock quantity is greater than number of option contracts adjust, otherwise return
+                    // full stock quantity
+                    final Optional<Stock> adjustedStock =
+                            StockUtil.adjustStockQuantity(stockLot.security, contracts * 100);
+
+                    // Build theta
+                    if (adjustedStock.isPresent()) {
+                        thetas.add(Theta.of(adjustedStock.get(), straddleOf(straddle, contracts)));
+                        stockLot.remaining -= contracts * 100;
+                        uncoveredContracts -= contracts;
+                    } else {
+                        logger.warn("Not Adjusted Stock available for {} {}", stockLot.security, straddle);
+                        stockLot.remaining = 0;
+                    }
+                }
 
-                // Build theta
-                if (adjustedStock.isPresent()) {
-                    thetas.add(Theta.of(adjustedStock.get(), straddle));
-                } else {
-                    logger.warn("Not Adjusted Stock available for {} {}", stock, straddle);
+                // Less than 100 shares left can't cover another contract
+                if (stockLot.remaining < 100) {
+                    coverableStocks.poll();
                 }
-            } else {
-                logger.warn("No coverable stock could be identified for Straddle: {}, from Stocks: {}",
-                        straddle, stockList);
+            }
+
+            if (uncoveredContracts > 0) {
+                logger.warn("No coverable stock could be identified for {} contract(s) of Straddle: {}, from Stocks: {}",
+                        uncoveredContracts, straddle, stockList);
             }
         }
 
         return thetas;
     }
 
+    // Puts are bucketed by expiration and strike, so each call finds its puts without scanning all of them
     private static List<ShortStraddle> buildStraddles(List<Option> calls, List<Option> puts) {
 
         logger.debug("Building straddles from Calls: {}, Puts: {}", calls, puts);
 
+        final Map<StraddleKey, Deque<Lot<Option>>> putsByKey = new HashMap<>();
+
+        for (final Option put : puts) {
+            if (put.getQuantity() < 0) {
+                putsByKey.computeIfAbsent(StraddleKey.of(put), key -> new ArrayDeque<>()).add(new Lot<>(put));
+            } else {
+                logger.warn("Put is not short, so can't be part of a Short Straddle: {}", put);
+            }
+        }
+
         final List<ShortStraddle> straddleList = new ArrayList<>();
 
         for (final Option call : calls) {
-            final List<Option> straddlablePuts =
-                    puts.stream().filter(put -> put.getExpiration().equals(call.getExpiration()))
-                            .filter(put -> Double.compare(put.getStrikePrice(), call.getStrikePrice()) == 0)
-                            .collect(Collectors.toList());
-
-            if (straddlablePuts.size() > 1) {
-                logger.warn("Multiple puts match single call - Call: {}, Puts: {}", call, straddlablePuts);
+            if (call.getQuantity() >= 0) {
+                logger.warn("Call is not short, so can't be part of a Short Straddle: {}", call);
+                continue;
             }
 
-            final Optional<Option> put = straddlablePuts.stream().findFirst();
+            final Deque<Lot<Option>> straddlablePuts = putsByKey.getOrDefault(StraddleKey.of(call), new ArrayDeque<>());
+
+            long unmatchedContracts = Math.abs(call.getQuantity());
+
+            while (unmatchedContracts > 0 && !straddlablePuts.isEmpty()) {
+                final Lot<Option> putLot = straddlablePuts.peek();
+                final long contracts = Math.min(unmatchedContracts, putLot.remaining);
+
+                straddleList.add(ShortStraddle.of(optionOf(call, contracts), optionOf(putLot.security, contracts)));
 
-            put.ifPresent(option -> straddleList.add(ShortStraddle.of(call, option)));
+                unmatchedContracts -= contracts;
+                putLot.remaining -= contracts;
+
+                if (putLot.remaining == 0) {
+                    straddlablePuts.poll();
+                }
+            }
         }
 
         if (straddleList.isEmpty()) {
@@ -99,9 +142,38 @@ public class ThetaTradeFactory {
         return straddleList;
     }
 
-    private static Optional<Stock> getCoverableStock(List<Stock> stockList, ShortStraddle straddle) {
-        return stockList.stream().filter(stock -> stock.getTicker().equals(straddle.getTicker()))
-                .filter(stock -> Math.abs(stock.getQuantity()) >= Math.abs(straddle.getQuantity() * 100))
-                .findFirst();
+    private static ShortStraddle straddleOf(ShortStraddle straddle, long contracts) {
+        if (contracts == straddle.getQuantity()) {
+            return straddle;
+        }
+
+        return ShortStraddle.of(optionOf(straddle.getCall(), contracts), optionOf(straddle.getPut(), contracts));
+    }
+
+    private static Option optionOf(Option option, long contracts) {
+        if (contracts == Math.abs(option.getQuantity())) {
+            return option;
+        }
+
+        return SecurityUtil.getSecurityWithQuantity(option, contracts).map(Option.class::cast)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Can't split " + contracts + " contract(s) from " + option));
+    }
+
+    private record StraddleKey(LocalDate expiration, double strikePrice) {
+        private static StraddleKey of(Option option) {
+            return new StraddleKey(option.getExpiration(), option.getStrikePrice());
+        }
+    }
+
+    // Unmatched quantity of a Security, always positive
+    private static class Lot<T extends Security> {
+        private final T security;
+        private long remaining;
+
+        private Lot(T security) {
+            this.security = security;
+            this.remaining = Math.abs(security.getQuantity());
+        }
     }
 }
@@ -1,12 +1,17 @@
 package theta.portfolio.manager;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
 import reactor.core.Disposable.Composite;
 import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import theta.actor.TickerActors;
 import theta.api.PositionHandler;
 import theta.domain.PriceLevel;
 import theta.domain.Security;
@@ -18,8 +23,11 @@ import theta.domain.manager.ManagerStatus;
 import theta.domain.option.Option;
 import theta.domain.pricelevel.DefaultPriceLevel;
 import theta.domain.stock.Stock;
+import theta.domain.ticker.TickerMap;
 import theta.domain.util.SecurityUtil;
+import theta.metrics.SharedGauge;
 import theta.portfolio.factory.ThetaTradeFactory;
+import theta.properties.PortfolioProperties;
 import theta.tick.api.TickMonitor;
 
 import java.lang.invoke.MethodHandles;
@@ -27,12 +35,31 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Builds Thetas from the positions of the brokerage, and monitors their Price Levels.
+ *
+ * <p>Positions are reconciled on the actor of their Ticker. A Theta and its Securities share a Ticker, so the entries
+ * of one Ticker in the maps below are only changed by one thread at a time, while Tickers are reconciled in parallel.
+ *
+ * <p>Reports positions received as "theta.portfolio.positions", and held Securities and Thetas as
+ * "theta.portfolio.securities" and "theta.portfolio.thetas".
+ */
 @Component
 public class DefaultPortfolioManager implements PortfolioManger {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final Counter POSITIONS_RECEIVED = Counter.builder("theta.portfolio.positions")
+            .description("Positions received from the brokerage")
+            .register(Metrics.globalRegistry);
+    private static final SharedGauge<DefaultPortfolioManager> SECURITIES = new SharedGauge<>("theta.portfolio.securities",
+            "Securities held", portfolioManager -> portfolioManager.securityIdMap.size());
+    private static final SharedGauge<DefaultPortfolioManager> THETAS = new SharedGauge<>("theta.portfolio.thetas",
+            "Thetas built from Securities held", portfolioManager -> portfolioManager.thetaIdMap.size());
+
     private final PositionHandler positionHandler;
     private final TickMonitor tickMonitor;
+    private final boolean batchReconciliation;
+    private final TickerActors tickerActors;
 
     // Currently active theta trades
     private final Map<UUID, Theta> thetaIdMap = new ConcurrentHashMap<>();
@@ -40,6 +67,10 @@ public class DefaultPortfolioManager implements PortfolioManger {
     private final Map<UUID, Set<UUID>> securityThetaLink = new ConcurrentHashMap<>();
     // Internal Id to Security map
     private final Map<UUID, Security> securityIdMap = new ConcurrentHashMap<>();
+    // Securities of securityIdMap by Ticker and Security Type, so a position change only reads its own Ticker
+    private final TickerMap<Map<SecurityType, Map<UUID, Security>>> tickerSecurityIndex = new TickerMap<>();
+    // Security Id to quantity allocated across theta trades of thetaIdMap
+    private final Map<UUID, Long> allocatedQuantityIndex = new ConcurrentHashMap<>();
 
     private final ManagerStatus managerStatus =
             ManagerStatus.of(MethodHandles.lookup().lookupClass(), ManagerState.SHUTDOWN);
@@ -53,9 +84,40 @@ public class DefaultPortfolioManager implements PortfolioManger {
      * @param tickMonitor     Monitor to determine if action should be taken for tick.
      */
     public DefaultPortfolioManager(PositionHandler positionHandler, TickMonitor tickMonitor) {
+        this(positionHandler, tickMonitor, new PortfolioProperties(false), TickerActors.direct());
+    }
+
+    /**
+     * Create Portfolio Manager, reconciling positions on the thread they arrive on.
+     *
+     * @param positionHandler     Handler to maintain additions/subtractions to positions.
+     * @param tickMonitor         Monitor to determine if action should be taken for tick.
+     * @param portfolioProperties Whether to wait for all positions before reconciling them.
+     */
+    public DefaultPortfolioManager(PositionHandler positionHandler, TickMonitor tickMonitor,
+                                   PortfolioProperties portfolioProperties) {
+        this(positionHandler, tickMonitor, portfolioProperties, TickerActors.direct());
+    }
+
+    /**
+     * Create Portfolio Manager, reconciling positions as they arrive or in a single batch.
+     *
+     * @param positionHandler     Handler to maintain additions/subtractions to positions.
+     * @param tickMonitor         Monitor to determine if action should be taken for tick.
+     * @param portfolioProperties Whether to wait for all positions before reconciling them.
+     * @param tickerActors        Actors positions of each Ticker are reconciled on.
+     */
+    @Autowired
+    public DefaultPortfolioManager(PositionHandler positionHandler, TickMonitor tickMonitor,
+                                   PortfolioProperties portfolioProperties, TickerActors tickerActors) {
         managerStatus.changeState(ManagerState.STARTING);
         this.positionHandler = positionHandler;
         this.tickMonitor = tickMonitor;
+        this.batchReconciliation = portfolioProperties.isBatchReconciliation();
+        this.tickerActors = Objects.requireNonNull(tickerActors, "Ticker Actors cannot be null.");
+
+        SECURITIES.bind(this);
+        THETAS.bind(this);
     }
 
     @Override
@@ -79,9 +141,17 @@ public class DefaultPortfolioManager implements PortfolioManger {
     public Mono<Void> startPositionProcessing() {
         logger.debug("Starting Position Processing");
 
+        final Flux<Security> positions = positionHandler.requestPositionsFromBrokerage();
+
+        // Positions complete at positionEnd, so a batch is the full portfolio. Positions are sent to their actor in
+        // the order received, so positions of a Ticker are reconciled in order.
+        final Flux<?> processedPositions = batchReconciliation
+                ? positions.collectList().flatMap(this::processSecurities).flux()
+                : positions.flatMap(security ->
+                        tickerActors.submit(security.getTicker(), () -> processSecurity(security)));
+
         return Mono.create(emitter -> {
-            final Disposable positionLoggerDisposable = positionHandler.requestPositionsFromBrokerage()
-                    .map(this::processSecurity).doOnSubscribe(
+            final Disposable positionLoggerDisposable = processedPositions.doOnSubscribe(
                             subscription -> managerStatus.changeState(ManagerState.RUNNING))
                     .subscribe(
                             security -> PositionLogger.logPositions(thetaIdMap, securityThetaLink, securityIdMap),
@@ -99,20 +169,57 @@ public class DefaultPortfolioManager implements PortfolioManger {
 
     private Security processSecurity(Security security) {
         logger.info("Processing Position: {}", security);
+        POSITIONS_RECEIVED.increment();
 
         removePositionIfExists(security);
 
         if (security.getQuantity() != 0) {
-            securityIdMap.put(security.getId(), security);
+            putSecurity(security);
             processPosition(security.getTicker());
         } else {
-            securityIdMap.remove(security.getId());
+            removeSecurity(security);
             logger.info("Security not processed due to 0 quantity: {}", security);
         }
 
         return security;
     }
 
+    // Reconciles all Securities at once, each Ticker on its own actor
+    private Mono<List<Security>> processSecurities(List<Security> securities) {
+        logger.info("Processing {} Positions", securities.size());
+        POSITIONS_RECEIVED.increment(securities.size());
+
+        final Map<Ticker, List<Security>> securitiesByTicker = securities.stream()
+                .collect(Collectors.groupingBy(Security::getTicker, LinkedHashMap::new, Collectors.toList()));
+
+        return Flux.fromIterable(securitiesByTicker.entrySet())
+                .flatMap(tickerSecurities -> tickerActors.submit(tickerSecurities.getKey(),
+                        () -> processTickerSecurities(tickerSecurities.getKey(), tickerSecurities.getValue())))
+                .then(Mono.just(securities));
+    }
+
+    private Ticker processTickerSecurities(Ticker ticker, List<Security> securities) {
+        boolean hasQuantity = false;
+
+        for (final Security security : securities) {
+            removePositionIfExists(security);
+
+            if (security.getQuantity() != 0) {
+                putSecurity(security);
+                hasQuantity = true;
+            } else {
+                removeSecurity(security);
+                logger.info("Security not processed due to 0 quantity: {}", security);
+            }
+        }
+
+        if (hasQuantity) {
+            processPosition(ticker);
+        }
+
+        return ticker;
+    }
+
     // Removes positions if security is contained within it
     private List<PriceLevel> removePositionIfExists(Security security) {
         final List<PriceLevel> removedPriceLevels = new ArrayList<>();
@@ -122,6 +229,7 @@ public class DefaultPortfolioManager implements PortfolioManger {
 
         for (final UUID thetaId : thetaIds) {
             final Optional<Theta> optionalTheta = Optional.ofNullable(thetaIdMap.remove(thetaId));
+            optionalTheta.ifPresent(theta -> allocate(theta, -1L));
 
             optionalTheta.map(DefaultPriceLevel::of).ifPresent(priceLevel -> {
 
@@ -142,6 +250,11 @@ public class DefaultPortfolioManager implements PortfolioManger {
     }
 
     private void processPosition(Ticker ticker) {
+        buildThetas(ticker).stream().map(this::updateSecurityMaps).distinct().forEach(tickMonitor::addMonitor);
+    }
+
+    // Only reads the indexes of Ticker
+    private List<Theta> buildThetas(Ticker ticker) {
         // Calculate unallocated call, put, stock
         final List<Stock> unallocatedStocks = getUnallocatedSecuritiesOf(ticker, SecurityType.STOCK)
                 .stream().map(stock -> (Stock) stock).collect(Collectors.toList());
@@ -151,29 +264,23 @@ public class DefaultPortfolioManager implements PortfolioManger {
                 .stream().map(put -> (Option) put).collect(Collectors.toList());
 
         if (!unallocatedStocks.isEmpty() && !unallocatedCalls.isEmpty() && !unallocatedPuts.isEmpty()) {
-            ThetaTradeFactory.processThetaTrade(unallocatedStocks, unallocatedCalls, unallocatedPuts)
-                    .stream().map(this::updateSecurityMaps).distinct()
-                    .forEach(tickMonitor::addMonitor);
+            return ThetaTradeFactory.processThetaTrade(unallocatedStocks, unallocatedCalls, unallocatedPuts);
         }
+
+        return List.of();
     }
 
     private List<Security> getUnallocatedSecuritiesOf(Ticker ticker, SecurityType securityType) {
         final List<Security> unallocatedSecurities = new ArrayList<>();
 
-        final Set<Security> allIdsOfTickerAndSecurityType = securityIdMap.values().stream()
-                .filter(otherSecurity -> otherSecurity.getTicker().equals(ticker))
-                .filter(otherSecurity -> otherSecurity.getSecurityType().equals(securityType))
-                .filter(otherSecurity -> otherSecurity.getQuantity() != 0).collect(Collectors.toSet());
-
-        final Map<UUID, Long> allocatedCountMap = thetaIdMap.values().stream()
-                .filter(theta -> theta.getTicker().equals(ticker))
-                .map(theta -> theta.getSecurityOfType(securityType)).collect(
-                        Collectors.groupingBy(Security::getId, Collectors.summingLong(Security::getQuantity)));
+        final Collection<Security> allIdsOfTickerAndSecurityType =
+                Optional.ofNullable(tickerSecurityIndex.get(ticker)).orElse(Map.of())
+                        .getOrDefault(securityType, Map.of()).values();
 
         for (final Security security : allIdsOfTickerAndSecurityType) {
 
             final long unallocatedQuantity =
-                    Math.abs(security.getQuantity() - allocatedCountMap.getOrDefault(security.getId(), 0L));
+                    Math.abs(security.getQuantity() - allocatedQuantityIndex.getOrDefault(security.getId(), 0L));
             logger.debug("Calculated {} unallocated securities for {}", unallocatedQuantity, security);
 
             final Optional<Security> securityWithAdjustedQuantity =
@@ -185,20 +292,51 @@ public class DefaultPortfolioManager implements PortfolioManger {
         return unallocatedSecurities;
     }
 
-    private Theta updateSecurityMaps(Theta theta) {
-        thetaIdMap.put(theta.getId(), theta);
+    private void putSecurity(Security security) {
+        securityIdMap.put(security.getId(), security);
+
+        tickerSecurityIndex.computeIfAbsent(security.getTicker(), ticker -> new ConcurrentHashMap<>())
+                .computeIfAbsent(security.getSecurityType(), securityType -> new ConcurrentHashMap<>())
+                .put(security.getId(), security);
+    }
+
+    private void removeSecurity(Security security) {
+        securityIdMap.remove(security.getId());
 
-        final Set<UUID> stockThetaIds = securityThetaLink.getOrDefault(theta.getStock().getId(), new HashSet<>());
-        stockThetaIds.add(theta.getId());
-        securityThetaLink.put(theta.getStock().getId(), stockThetaIds);
+        // Only changed on the actor of Ticker, so emptied indexes are not concurrently added to
+        final Map<SecurityType, Map<UUID, Security>> securitiesByType = tickerSecurityIndex.get(security.getTicker());
 
-        final Set<UUID> callThetaIds = securityThetaLink.getOrDefault(theta.getCall().getId(), new HashSet<>());
-        callThetaIds.add(theta.getId());
-        securityThetaLink.put(theta.getCall().getId(), callThetaIds);
+        if (securitiesByType != null) {
+            securitiesByType.computeIfPresent(security.getSecurityType(), (securityType, securities) -> {
+                securities.remove(security.getId());
+                return securities.isEmpty() ? null : securities;
+            });
 
-        final Set<UUID> putThetaIds = securityThetaLink.getOrDefault(theta.getPut().getId(), new HashSet<>());
-        putThetaIds.add(theta.getId());
-        securityThetaLink.put(theta.getPut().getId(), putThetaIds);
+            if (securitiesByType.isEmpty()) {
+                tickerSecurityIndex.remove(security.getTicker());
+            }
+        }
+    }
+
+    // Adds, or with a sign of -1 removes, the quantities of a theta trade from the allocated index
+    private void allocate(Theta theta, long sign) {
+        for (final Security security : List.of(theta.getStock(), theta.getCall(), theta.getPut())) {
+            allocatedQuantityIndex.compute(security.getId(), (id, allocated) -> {
+                final long updated = Optional.ofNullable(allocated).orElse(0L) + sign * security.getQuantity();
+                return updated == 0L ? null : updated;
+            });
+        }
+    }
+
+    private Theta updateSecurityMaps(Theta theta) {
+        if (thetaIdMap.put(theta.getId(), theta) == null) {
+            allocate(theta, 1L);
+        }
+
+        // Sets are concurrent as positions are logged from other threads
+        for (final Security security : List.of(theta.getStock(), theta.getCall(), theta.getPut())) {
+            securityThetaLink.computeIfAbsent(security.getId(), id -> ConcurrentHashMap.newKeySet()).add(theta.getId());
+        }
 
         return theta;
     }
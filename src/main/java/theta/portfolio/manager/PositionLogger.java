@@ -112,6 +112,10 @@ public class PositionLogger {
     }
 
     private static void logAllSecurities(Collection<Security> allSecurities) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+
         for (final Security security : allSecurities.stream()
                 .sorted(
                         byTicker.thenComparing(byStockIsGreaterThanOptions).thenComparing(byOptionExpiration)
@@ -0,0 +1,20 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.actors")
+public class ActorProperties {
+    // Worker threads shared by all Ticker actors, zero uses one per available processor
+    private final int workers;
+
+    public ActorProperties(@DefaultValue("0") int workers) {
+        this.workers = workers;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+}
@@ -0,0 +1,22 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.execution")
+public class ExecutionProperties {
+    // Amends of a working order within this window are folded into one, zero sends every amend
+    private final Duration coalesceWindow;
+
+    public ExecutionProperties(@DefaultValue("0ms") Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+}
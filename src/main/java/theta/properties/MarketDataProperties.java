@@ -0,0 +1,39 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.market-data")
+public class MarketDataProperties {
+    // Simultaneous streaming lines of the IB account, 100 unless extra quote booster packs are bought
+    private final int maxLines;
+
+    // How often lines are reassigned, and the shortest time between snapshots of a Ticker without a line
+    private final Duration minPollInterval;
+
+    // Longest time between snapshots, Tickers that can wait this long are polled even when lines are free
+    private final Duration maxPollInterval;
+
+    public MarketDataProperties(@DefaultValue("100") int maxLines, @DefaultValue("10s") Duration minPollInterval,
+                                @DefaultValue("5m") Duration maxPollInterval) {
+        this.maxLines = maxLines;
+        this.minPollInterval = minPollInterval;
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    public Duration getMinPollInterval() {
+        return minPollInterval;
+    }
+
+    public Duration getMaxPollInterval() {
+        return maxPollInterval;
+    }
+}
@@ -0,0 +1,27 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.pacing")
+public class PacingProperties {
+    // IB allows about 50 messages per second, so burst plus rate stay below it over any second
+    private final double messagesPerSecond;
+
+    private final int burst;
+
+    public PacingProperties(@DefaultValue("45") double messagesPerSecond, @DefaultValue("5") int burst) {
+        this.messagesPerSecond = messagesPerSecond;
+        this.burst = burst;
+    }
+
+    public double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
@@ -0,0 +1,20 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.portfolio")
+public class PortfolioProperties {
+    // Wait for all positions from the brokerage before building Thetas, instead of rebuilding on every position
+    private final boolean batchReconciliation;
+
+    public PortfolioProperties(@DefaultValue("false") boolean batchReconciliation) {
+        this.batchReconciliation = batchReconciliation;
+    }
+
+    public boolean isBatchReconciliation() {
+        return batchReconciliation;
+    }
+}
@@ -0,0 +1,30 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.session")
+public class SessionProperties {
+    // Suspend market data outside market sessions, otherwise it streams around the clock
+    private final boolean enabled;
+
+    // How long before the open market data is requested again, long enough for every line to clear pacing
+    private final Duration warmUp;
+
+    public SessionProperties(@DefaultValue("true") boolean enabled, @DefaultValue("5m") Duration warmUp) {
+        this.enabled = enabled;
+        this.warmUp = warmUp;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getWarmUp() {
+        return warmUp;
+    }
+}
@@ -0,0 +1,85 @@
+package theta.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import theta.tick.buffer.TickBufferType;
+import theta.tick.buffer.WaitStrategy;
+
+@ConstructorBinding
+@ConfigurationProperties("theta.tick")
+public class TickProperties {
+    // Reuse a single mutable Tick per Ticker, only allocating once a Price Level is crossed
+    private final boolean flyweight;
+
+    private final Buffer buffer;
+
+    private final Journal journal;
+
+    public TickProperties(@DefaultValue("false") boolean flyweight, @DefaultValue Buffer buffer,
+                          @DefaultValue Journal journal) {
+        this.flyweight = flyweight;
+        this.buffer = buffer;
+        this.journal = journal;
+    }
+
+    public boolean isFlyweight() {
+        return flyweight;
+    }
+
+    public Buffer getBuffer() {
+        return buffer;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public static class Buffer {
+        private final TickBufferType type;
+
+        // Must be a power of two for RING, unused by CONFLATING which holds at most one Tick per Ticker. RING buffers
+        // Ticks published before the first subscriber up to this size, and drops the rest, as SINK does past its queue
+        private final int size;
+
+        private final WaitStrategy waitStrategy;
+
+        public Buffer(@DefaultValue("SINK") TickBufferType type, @DefaultValue("4096") int size,
+                      @DefaultValue("PARK") WaitStrategy waitStrategy) {
+            this.type = type;
+            this.size = size;
+            this.waitStrategy = waitStrategy;
+        }
+
+        public TickBufferType getType() {
+            return type;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+    }
+
+    public static class Journal {
+        private final boolean enabled;
+
+        private final String directory;
+
+        public Journal(@DefaultValue("false") boolean enabled, @DefaultValue("journal") String directory) {
+            this.enabled = enabled;
+            this.directory = directory;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package theta.replay;
+
+import reactor.core.publisher.Flux;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Reads recorded Ticks from a text file, one per line, in the order they were received:
+ *
+ * <pre>
+ * # timestamp,ticker,type,last,bid,ask
+ * 2020-10-30T13:30:00.125Z,ABC,BID,-1.0,49.98,50.02
+ * </pre>
+ *
+ * <p>Blank lines and lines starting with '#' are skipped.
+ */
+public class CsvTickReader {
+
+    private static final String COMMENT = "#";
+    private static final int FIELD_COUNT = 6;
+
+    private CsvTickReader() {
+    }
+
+    /**
+     * Lazily read Ticks of file. Each subscription reads the file again.
+     *
+     * @param tickFile File of recorded Ticks
+     * @return Recorded Ticks
+     */
+    public static Flux<Tick> read(Path tickFile) {
+        return Flux.using(() -> Files.lines(tickFile), Flux::fromStream, Stream::close)
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT))
+                .map(CsvTickReader::parseTick);
+    }
+
+    static Tick parseTick(String line) {
+        final String[] fields = line.split(",");
+
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields in recorded Tick: " + line);
+        }
+
+        return new DefaultTick(
+                DefaultTicker.from(fields[1].strip()),
+                TickType.valueOf(fields[2].strip()),
+                Double.parseDouble(fields[3]),
+                Double.parseDouble(fields[4]),
+                Double.parseDouble(fields[5]),
+                Instant.parse(fields[0].strip()));
+    }
+}
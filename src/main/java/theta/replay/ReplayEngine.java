@@ -0,0 +1,78 @@
+package theta.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import theta.domain.composed.Theta;
+import theta.execution.api.OrderStatus;
+import theta.execution.manager.ExecutionManager;
+import theta.tick.api.Tick;
+import theta.tick.api.TickProcessor;
+import theta.tick.manager.TickManager;
+import theta.util.MarketUtility;
+import theta.util.NewYorkMarketUtility;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Runs recorded Ticks through the real Tick Manager and Execution Manager, without a broker. Time is taken from the
+ * Ticks, so a full trading day of many Tickers replays in however long the processing takes.
+ *
+ * <pre>
+ * new ReplayEngine(CsvTickReader.read(tickFile), BidAskSpreadTickProcessor::new, ReplayTickSubscriber.AS_FAST_AS_POSSIBLE)
+ *         .run(thetas);
+ * </pre>
+ */
+public class ReplayEngine {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Flux<Tick> recordedTicks;
+    private final Supplier<TickProcessor> tickProcessorSupplier;
+    private final double speed;
+    private final MarketUtility marketUtility = new NewYorkMarketUtility();
+
+    /**
+     * Create engine for recorded Ticks.
+     *
+     * @param recordedTicks         Ticks in the order they were recorded, re-read for each run
+     * @param tickProcessorSupplier New Tick Processor for each run, as processors may keep state
+     * @param speed                 Multiple of recorded speed, or {@link ReplayTickSubscriber#AS_FAST_AS_POSSIBLE}
+     */
+    public ReplayEngine(Flux<Tick> recordedTicks, Supplier<TickProcessor> tickProcessorSupplier, double speed) {
+        this.recordedTicks = Objects.requireNonNull(recordedTicks, "Recorded Ticks cannot be null.");
+        this.tickProcessorSupplier = Objects.requireNonNull(tickProcessorSupplier, "Tick Processor Supplier cannot be null.");
+        this.speed = speed;
+    }
+
+    /**
+     * Replay all recorded Ticks against positions, blocking until done.
+     *
+     * @param thetas Positions to monitor
+     * @return Fills of reversing orders, in order
+     */
+    public List<OrderStatus> run(Collection<Theta> thetas) {
+        final VirtualClock clock = new VirtualClock(Instant.EPOCH);
+        final ReplayTickSubscriber tickSubscriber = new ReplayTickSubscriber(recordedTicks, clock, speed);
+        final SimulatedExecutionHandler executionHandler = new SimulatedExecutionHandler(tickSubscriber::getLatestTick);
+
+        final ExecutionManager executionManager = new ExecutionManager(executionHandler, marketUtility, clock);
+        final TickManager tickManager = new TickManager(tickSubscriber, tickProcessorSupplier.get(), executionManager,
+                marketUtility, clock);
+
+        logger.info("Replaying Ticks for {} Thetas", thetas.size());
+        thetas.forEach(tickManager::addMonitor);
+
+        tickManager.startTickProcessing().block();
+        tickManager.shutdown();
+
+        final List<OrderStatus> fills = executionHandler.getFills();
+        logger.info("Replay complete at {} with {} fills", clock.instant(), fills.size());
+
+        return fills;
+    }
+}
@@ -0,0 +1,166 @@
+package theta.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import theta.api.TickSubscriber;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.PriceLevelBook;
+import theta.tick.api.Tick;
+import theta.tick.api.TickProcessor;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tick Subscriber emitting recorded Ticks instead of live broker Ticks. Each Tick moves the Virtual Clock to its
+ * timestamp and, like the broker Tick Handlers, only Ticks crossing a monitored Price Level are emitted.
+ *
+ * <p>Ticks are replayed as fast as possible, or paced at a multiple of the recorded speed.
+ */
+public class ReplayTickSubscriber implements TickSubscriber {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    public static final double AS_FAST_AS_POSSIBLE = 0.0;
+
+    private final Flux<Tick> recordedTicks;
+    private final VirtualClock clock;
+    private final double speed;
+
+    private final ConcurrentMap<Ticker, ReplayedTicker> replayedTickers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Ticker, Tick> latestTicks = new ConcurrentHashMap<>();
+
+    /**
+     * Create subscriber replaying recorded Ticks.
+     *
+     * @param recordedTicks Ticks in the order they were recorded
+     * @param clock         Clock moved to the time of each Tick
+     * @param speed         Multiple of recorded speed, or {@link #AS_FAST_AS_POSSIBLE}
+     */
+    public ReplayTickSubscriber(Flux<Tick> recordedTicks, VirtualClock clock, double speed) {
+        this.recordedTicks = Objects.requireNonNull(recordedTicks, "Recorded Ticks cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Virtual Clock cannot be null.");
+
+        if (speed < 0.0) {
+            throw new IllegalArgumentException("Replay speed cannot be negative: " + speed);
+        }
+        this.speed = speed;
+    }
+
+    @Override
+    public Flux<Tick> getTicksAcrossStrikePrices() {
+        if (speed == AS_FAST_AS_POSSIBLE) {
+            return recordedTicks
+                    .doOnNext(this::replay)
+                    .filter(this::isCrossed);
+        }
+
+        // Pacing blocks, so keep it off the subscribing thread
+        return Flux.defer(() -> {
+            final Pacer pacer = new Pacer();
+
+            return recordedTicks
+                    .doOnNext(pacer::waitFor)
+                    .doOnNext(this::replay)
+                    .filter(this::isCrossed);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void addPriceLevelMonitor(PriceLevel priceLevel, TickProcessor tickProcessor) {
+        replayedTickers.computeIfAbsent(priceLevel.getTicker(), ticker -> new ReplayedTicker(tickProcessor))
+                .priceLevels.add(priceLevel);
+    }
+
+    @Override
+    public int removePriceLevelMonitor(PriceLevel priceLevel) {
+        final ReplayedTicker replayedTicker = replayedTickers.get(priceLevel.getTicker());
+
+        if (replayedTicker == null) {
+            logger.warn("Cannot remove Price Level. Ticker is not monitored: {}", priceLevel);
+            return 0;
+        }
+
+        replayedTicker.priceLevels.remove(priceLevel);
+
+        return replayedTicker.priceLevels.size();
+    }
+
+    @Override
+    public void unsubscribeAll() {
+        replayedTickers.clear();
+    }
+
+    /**
+     * Latest recorded Tick of Ticker, whether or not it crossed a Price Level.
+     *
+     * @param ticker Ticker of Tick
+     * @return Latest Tick, empty if none replayed yet
+     */
+    public Optional<Tick> getLatestTick(Ticker ticker) {
+        return Optional.ofNullable(latestTicks.get(ticker));
+    }
+
+    private void replay(Tick tick) {
+        clock.advanceTo(tick.getTimestamp());
+        latestTicks.put(tick.getTicker(), tick);
+    }
+
+    private boolean isCrossed(Tick tick) {
+        final ReplayedTicker replayedTicker = replayedTickers.get(tick.getTicker());
+
+        return replayedTicker != null
+                && replayedTicker.tickProcessor.isApplicable(tick.getTickType())
+                && replayedTicker.priceLevels.isCrossed(
+                replayedTicker.tickProcessor.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW),
+                replayedTicker.tickProcessor.getCrossingPrice(tick, PriceLevelDirection.RISES_ABOVE));
+    }
+
+    private static class ReplayedTicker {
+        private final TickProcessor tickProcessor;
+        private final PriceLevelBook priceLevels = new PriceLevelBook();
+
+        private ReplayedTicker(TickProcessor tickProcessor) {
+            this.tickProcessor = tickProcessor;
+        }
+    }
+
+    // Holds each Tick back until as much wall time has passed as recorded time, divided by speed
+    private class Pacer {
+        private Instant firstTickTime = null;
+        private long startNanos = 0L;
+
+        private void waitFor(Tick tick) {
+            if (firstTickTime == null) {
+                firstTickTime = tick.getTimestamp();
+                startNanos = System.nanoTime();
+                return;
+            }
+
+            final long recordedNanos = Duration.between(firstTickTime, tick.getTimestamp()).toNanos();
+            final long dueNanos = startNanos + (long) (recordedNanos / speed);
+
+            for (long remaining = dueNanos - System.nanoTime(); remaining > 0; remaining = dueNanos - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayTickSubscriber{" +
+                "clock=" + clock +
+                ", speed=" + speed +
+                ", replayedTickers=" + replayedTickers.keySet() +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package theta.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import theta.api.ExecutionHandler;
+import theta.domain.Ticker;
+import theta.execution.api.ExecutableOrder;
+import theta.execution.api.ExecutionAction;
+import theta.execution.api.OrderState;
+import theta.execution.api.OrderStatus;
+import theta.execution.domain.DefaultOrderStatus;
+import theta.tick.api.Tick;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Execution Handler that fills every order immediately and completely at the current quote: buys at the ask, sells at
+ * the bid, falling back to the last price when that side is missing. No commission is charged.
+ */
+public class SimulatedExecutionHandler implements ExecutionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Function<Ticker, Optional<Tick>> quotes;
+
+    private final AtomicInteger nextBrokerId = new AtomicInteger(1);
+    private final List<OrderStatus> fills = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create handler filling at quotes.
+     *
+     * @param quotes Current quote of a Ticker
+     */
+    public SimulatedExecutionHandler(Function<Ticker, Optional<Tick>> quotes) {
+        this.quotes = Objects.requireNonNull(quotes, "Quotes cannot be null.");
+    }
+
+    @Override
+    public Flux<OrderStatus> executeOrder(ExecutableOrder order) {
+        final Optional<Tick> quote = quotes.apply(order.getTicker());
+
+        if (quote.isEmpty()) {
+            return Flux.error(new IllegalStateException("No quote to fill order: " + order));
+        }
+
+        order.setBrokerId(nextBrokerId.getAndIncrement());
+
+        final OrderStatus fill = new DefaultOrderStatus(order, OrderState.FILLED, 0.0, order.getQuantity(), 0L,
+                fillPrice(order.getExecutionAction(), quote.get()));
+        fills.add(fill);
+
+        logger.info("Simulated fill: {}", fill);
+
+        return Flux.just(fill);
+    }
+
+    @Override
+    public boolean modifyOrder(ExecutableOrder order) {
+        logger.info("Orders are filled immediately, nothing to modify: {}", order);
+        return false;
+    }
+
+    @Override
+    public Flux<OrderStatus> cancelOrder(ExecutableOrder order) {
+        return Flux.empty();
+    }
+
+    /**
+     * Every fill so far, in order.
+     *
+     * @return Fills
+     */
+    public List<OrderStatus> getFills() {
+        return List.copyOf(fills);
+    }
+
+    private static double fillPrice(ExecutionAction action, Tick quote) {
+        final double quotePrice = switch (action) {
+            case BUY -> quote.getAskPrice();
+            case SELL -> quote.getBidPrice();
+        };
+
+        return quotePrice > 0 ? quotePrice : quote.getLastPrice();
+    }
+}
@@ -0,0 +1,60 @@
+package theta.replay;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Clock that only moves when told to, so replayed Ticks define what "now" is. Never moves backwards.
+ */
+public class VirtualClock extends Clock {
+
+    private final AtomicReference<Instant> now;
+    private final ZoneId zone;
+
+    public VirtualClock(Instant start) {
+        this(new AtomicReference<>(Objects.requireNonNull(start, "Start cannot be null.")), ZoneOffset.UTC);
+    }
+
+    private VirtualClock(AtomicReference<Instant> now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone;
+    }
+
+    /**
+     * Move clock forward to time. Times before the current time are ignored.
+     *
+     * @param time Time to move to
+     * @return Current time after moving
+     */
+    public Instant advanceTo(Instant time) {
+        return now.accumulateAndGet(time, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Shares the current time with this clock
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(now, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return now.get();
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualClock{" +
+                "now=" + now.get() +
+                ", zone=" + zone +
+                '}';
+    }
+}
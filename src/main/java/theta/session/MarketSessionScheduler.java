@@ -0,0 +1,148 @@
+package theta.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import theta.api.MarketSessionListener;
+import theta.properties.SessionProperties;
+import theta.util.MarketSessionCalendar;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells Market Session Listeners when the market closes, and when it is about to open again, following the sessions of
+ * a Market Session Calendar. Listeners are told of the close once the session has closed, and of the warm up the warm
+ * up time before the next session opens.
+ *
+ * <p>Started outside a session and its warm up, listeners are told of a close straight away. Past the last session of
+ * the calendar, listeners are left as they are.
+ */
+@Component
+public class MarketSessionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final List<MarketSessionListener> listeners;
+    private final MarketSessionCalendar calendar;
+    private final Duration warmUp;
+    private final Scheduler scheduler;
+    private final boolean enabled;
+
+    // Guarded by this
+    private Disposable nextTransition;
+
+    @Autowired
+    public MarketSessionScheduler(List<MarketSessionListener> listeners, SessionProperties sessionProperties) {
+        this(listeners, MarketSessionCalendar.newYork(), sessionProperties.getWarmUp(), Schedulers.parallel(),
+                sessionProperties.isEnabled());
+    }
+
+    /**
+     * Create Market Session Scheduler timing transitions on a supplied Scheduler.
+     *
+     * @param listeners Listeners told of transitions
+     * @param calendar  Calendar of sessions
+     * @param warmUp    Time before the open listeners are told of the warm up
+     * @param scheduler Scheduler transitions are timed and run on
+     * @param enabled   Whether transitions are scheduled at all
+     */
+    public MarketSessionScheduler(List<MarketSessionListener> listeners, MarketSessionCalendar calendar,
+                                  Duration warmUp, Scheduler scheduler, boolean enabled) {
+        this.listeners = List.copyOf(Objects.requireNonNull(listeners, "Listeners cannot be null."));
+        this.calendar = Objects.requireNonNull(calendar, "Market Session Calendar cannot be null.");
+        this.warmUp = Objects.requireNonNull(warmUp, "Warm Up cannot be null.");
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null.");
+        this.enabled = enabled;
+
+        if (warmUp.isNegative()) {
+            throw new IllegalArgumentException("Warm Up cannot be negative: " + warmUp);
+        }
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled) {
+            logger.info("Market Session Scheduler disabled, market data is kept around the clock");
+            return;
+        }
+
+        final Instant now = now();
+        final boolean inSessionOrWarmUp = calendar.isDuringSession(now)
+                || calendar.getNextOpen(now).map(open -> !now.isBefore(open.minus(warmUp))).orElse(false);
+
+        if (inSessionOrWarmUp) {
+            scheduleClose(now);
+        } else {
+            close();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (nextTransition != null) {
+            nextTransition.dispose();
+            nextTransition = null;
+        }
+    }
+
+    private synchronized void close() {
+        logger.info("Market session closed, notifying {} listener(s)", listeners.size());
+
+        for (final MarketSessionListener listener : listeners) {
+            try {
+                listener.onSessionClose();
+            } catch (RuntimeException exception) {
+                logger.error("Market Session Listener: {} failed on close", listener, exception);
+            }
+        }
+
+        final Instant now = now();
+        final Optional<Instant> nextOpen = calendar.getNextOpen(now);
+
+        nextOpen.ifPresentOrElse(
+                open -> schedule(this::warmUp, open.minus(warmUp), now),
+                () -> logger.warn("No market session after: {} in calendar, market data stays suspended", now));
+    }
+
+    private synchronized void warmUp() {
+        logger.info("Market session opens in {}, notifying {} listener(s)", warmUp, listeners.size());
+
+        for (final MarketSessionListener listener : listeners) {
+            try {
+                listener.onSessionWarmUp();
+            } catch (RuntimeException exception) {
+                logger.error("Market Session Listener: {} failed on warm up", listener, exception);
+            }
+        }
+
+        scheduleClose(now());
+    }
+
+    private void scheduleClose(Instant now) {
+        calendar.getNextClose(now).ifPresentOrElse(
+                close -> schedule(this::close, close, now),
+                () -> logger.warn("No market session after: {} in calendar, market data is kept", now));
+    }
+
+    private void schedule(Runnable transition, Instant at, Instant now) {
+        final long delayMillis = Math.max(0L, Duration.between(now, at).toMillis());
+
+        logger.info("Next market session transition at: {}", at);
+        nextTransition = scheduler.schedule(transition, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Instant now() {
+        return Instant.ofEpochMilli(scheduler.now(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,31 @@
+package theta.tick.api;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Hand-off of Ticks from the thread receiving them from the broker to the Tick consumers.
+ */
+public interface TickBuffer {
+    void publish(Tick tick);
+
+    void error(Throwable exception);
+
+    /**
+     * Upstream has completed. Ticks already published are still delivered before completing.
+     */
+    void complete();
+
+    /**
+     * No more Ticks will be published, release any resources held.
+     */
+    void close();
+
+    Flux<Tick> getTicks();
+
+    /**
+     * Ticks published and not yet delivered, growing when consumers fall behind.
+     *
+     * @return Number of Ticks waiting
+     */
+    int getDepth();
+}
@@ -0,0 +1,23 @@
+package theta.tick.api;
+
+import theta.domain.Ticker;
+import theta.tick.domain.TickType;
+
+/**
+ * Record of every price and size received, for post-trade analysis and replay.
+ */
+public interface TickJournal extends AutoCloseable {
+    /**
+     * Append price or size received. Must not block the caller for long, as it is called on the broker callback thread.
+     *
+     * @param ticker     Ticker received for
+     * @param tickType   Side received for
+     * @param price      Price, or NaN for a size
+     * @param size       Size, or 0 for a price
+     * @param epochNanos Time received, as nanoseconds since epoch
+     */
+    void append(Ticker ticker, TickType tickType, double price, long size, long epochNanos);
+
+    @Override
+    void close();
+}
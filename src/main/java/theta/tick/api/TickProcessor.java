@@ -1,6 +1,7 @@
 package theta.tick.api;
 
 import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
 import theta.domain.stock.Stock;
 import theta.execution.domain.CandidateStockOrder;
 import theta.tick.domain.TickType;
@@ -10,5 +11,15 @@ public interface TickProcessor {
 
     boolean processTick(Tick tick, PriceLevel priceLevel);
 
+    /**
+     * Price of Tick that Price Levels of direction are compared against. A FALLS_BELOW level is crossed if its price is
+     * above this, a RISES_ABOVE level if its price is below it.
+     *
+     * @param tick      Tick to evaluate
+     * @param direction Direction of Price Levels to compare against
+     * @return Crossing price, or NaN if Tick cannot cross any Price Level
+     */
+    double getCrossingPrice(Tick tick, PriceLevelDirection direction);
+
     CandidateStockOrder getCandidateStockOrder(Stock stock);
 }
@@ -0,0 +1,158 @@
+package theta.tick.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import theta.domain.Ticker;
+import theta.tick.api.Tick;
+import theta.tick.api.TickBuffer;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps only the latest Tick per Ticker until the consumer thread takes it. If the consumer falls behind, newer Ticks
+ * replace older ones of the same Ticker instead of queueing behind them, so memory is bounded by the number of Tickers
+ * and decisions are always made on the latest quote. Tickers are delivered in the order they first became pending.
+ */
+public class ConflatingTickBuffer implements TickBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final WaitStrategy waitStrategy;
+
+    // A Ticker is in the ready queue exactly while it has a pending Tick
+    private final ConcurrentMap<Ticker, Tick> latestTicks = new ConcurrentHashMap<>();
+    private final Queue<Ticker> readyTickers = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder conflatedCount = new LongAdder();
+    private final LongAdder deliveredCount = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile Throwable terminalError = null;
+
+    // Only emitted to from consumer thread
+    private final Sinks.Many<Tick> tickSink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Create conflating buffer and start its consumer thread.
+     *
+     * @param waitStrategy How consumer waits for Ticks
+     */
+    public ConflatingTickBuffer(WaitStrategy waitStrategy) {
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "Wait Strategy cannot be null.");
+
+        final Thread consumerThread = new Thread(this::consume, "tick-conflating-consumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+
+        logger.info("Started Conflating Tick Buffer with Wait Strategy: {}", waitStrategy);
+    }
+
+    @Override
+    public void publish(Tick tick) {
+        if (latestTicks.put(tick.getTicker(), tick) == null) {
+            readyTickers.offer(tick.getTicker());
+        } else {
+            conflatedCount.increment();
+        }
+    }
+
+    @Override
+    public void error(Throwable exception) {
+        terminalError = exception;
+        running = false;
+    }
+
+    @Override
+    public void complete() {
+        running = false;
+    }
+
+    @Override
+    public void close() {
+        complete();
+        logger.info("Closing Conflating Tick Buffer. Delivered: {}, Conflated: {}", getDeliveredCount(), getConflatedCount());
+    }
+
+    @Override
+    public Flux<Tick> getTicks() {
+        return tickSink.asFlux();
+    }
+
+    // At most one Tick per Ticker is ever waiting
+    @Override
+    public int getDepth() {
+        return latestTicks.size();
+    }
+
+    /**
+     * Ticks replaced by a newer Tick of the same Ticker before being delivered.
+     *
+     * @return Count of conflated Ticks
+     */
+    public long getConflatedCount() {
+        return conflatedCount.sum();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    private void consume() {
+        while (true) {
+            final Ticker ticker = readyTickers.poll();
+
+            if (ticker != null) {
+                // Taking the Tick after polling lets any Tick published in between replace it
+                final Tick tick = latestTicks.remove(ticker);
+                deliveredCount.increment();
+                emit(tick);
+            } else if (!running) {
+                if (readyTickers.isEmpty()) {
+                    break;
+                }
+            } else {
+                waitStrategy.idle();
+            }
+        }
+
+        final Throwable exception = terminalError;
+
+        if (exception != null) {
+            tickSink.tryEmitError(exception);
+        } else {
+            tickSink.tryEmitComplete();
+        }
+
+        logger.info("Conflating Tick Buffer consumer stopped");
+    }
+
+    private void emit(Tick tick) {
+        try {
+            final Sinks.EmitResult emitResult = tickSink.tryEmitNext(tick);
+
+            if (emitResult.isFailure() && emitResult != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                logger.warn("Failed to emit Tick: {}, Result: {}", tick, emitResult);
+            }
+        } catch (RuntimeException exception) {
+            logger.error("Error delivering Tick: {}", tick, exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConflatingTickBuffer{" +
+                "waitStrategy=" + waitStrategy +
+                ", pendingTickers=" + latestTicks.size() +
+                ", conflatedCount=" + conflatedCount +
+                ", deliveredCount=" + deliveredCount +
+                ", running=" + running +
+                '}';
+    }
+}
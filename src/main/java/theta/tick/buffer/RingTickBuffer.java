@@ -0,0 +1,202 @@
+package theta.tick.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import theta.tick.api.Tick;
+import theta.tick.api.TickBuffer;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-allocated, power-of-two ring of Ticks between a single publishing thread (the broker callback thread) and a
+ * dedicated consumer thread. The publisher only stores the Tick and advances its sequence; the consumer drains every
+ * published Tick in one batch before advancing its own. Neither side locks, and each waits on the other using the
+ * configured Wait Strategy, the publisher only when the ring is full.
+ *
+ * <p>Like {@link SinkTickBuffer}, Ticks published before the first subscriber are buffered and delivered to it once it
+ * subscribes, up to the capacity of the ring. Until then the publisher drops Ticks that do not fit rather than waiting,
+ * as nothing would free the ring. Once subscribed, Ticks published while there is no subscriber are dropped.
+ *
+ * <p>Ticks published after the buffer is completed or errored are dropped and counted, with a single warning.
+ *
+ * <p>{@link #publish(Tick)} must only be called from one thread at a time.
+ */
+public class RingTickBuffer implements TickBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Tick[] entries;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    // Last sequence made visible to the consumer, and last sequence the consumer has finished with
+    private final AtomicLong publishedSequence = new AtomicLong(-1L);
+    private final AtomicLong consumedSequence = new AtomicLong(-1L);
+    private final AtomicLong droppedAfterStop = new AtomicLong();
+
+    // Only accessed by publishing thread
+    private long nextSequence = 0L;
+    private long cachedConsumedSequence = -1L;
+
+    private volatile boolean running = true;
+    // Set by the consumer once a subscriber has attached, until then the consumer leaves Ticks in the ring
+    private volatile boolean subscribed = false;
+    private volatile Throwable terminalError = null;
+
+    // Only emitted to from consumer thread
+    private final Sinks.Many<Tick> tickSink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Create ring buffer and start its consumer thread.
+     *
+     * @param capacity     Number of Ticks the ring can hold, must be a power of two
+     * @param waitStrategy How publisher and consumer wait for each other
+     */
+    public RingTickBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring Tick Buffer capacity must be a power of two: " + capacity);
+        }
+
+        this.entries = new Tick[capacity];
+        this.mask = capacity - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "Wait Strategy cannot be null.");
+
+        final Thread consumerThread = new Thread(this::consume, "tick-ring-consumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+
+        logger.info("Started Ring Tick Buffer with capacity: {}, Wait Strategy: {}", capacity, waitStrategy);
+    }
+
+    @Override
+    public void publish(Tick tick) {
+        if (!running) {
+            dropAfterStop();
+            return;
+        }
+
+        final long sequence = nextSequence;
+        final long wrapPoint = sequence - entries.length;
+
+        // Wait for consumer to free the slot, only re-reading its sequence when the cached one is stale
+        while (wrapPoint > cachedConsumedSequence) {
+            if (!running) {
+                dropAfterStop();
+                return;
+            }
+            // The consumer may not have seen a subscriber that has just attached, and will drain the ring for it
+            if (!subscribed && tickSink.currentSubscriberCount() == 0) {
+                logger.debug("Ring Tick Buffer full before first subscriber, dropping Tick: {}", tick);
+                return;
+            }
+            waitStrategy.idle();
+            cachedConsumedSequence = consumedSequence.get();
+        }
+
+        entries[(int) sequence & mask] = tick;
+        publishedSequence.lazySet(sequence);
+        nextSequence = sequence + 1;
+    }
+
+    private void dropAfterStop() {
+        if (droppedAfterStop.getAndIncrement() == 0L) {
+            logger.warn("Ring Tick Buffer stopped, dropping Ticks published to it");
+        }
+    }
+
+    @Override
+    public void error(Throwable exception) {
+        terminalError = exception;
+        running = false;
+    }
+
+    @Override
+    public void complete() {
+        running = false;
+    }
+
+    @Override
+    public void close() {
+        complete();
+    }
+
+    @Override
+    public Flux<Tick> getTicks() {
+        return tickSink.asFlux();
+    }
+
+    // Consumed sequence is only published after each batch, so Ticks being delivered still count
+    @Override
+    public int getDepth() {
+        return (int) (publishedSequence.get() - consumedSequence.get());
+    }
+
+    private void consume() {
+        long nextToConsume = 0L;
+
+        while (running && tickSink.currentSubscriberCount() == 0) {
+            waitStrategy.idle();
+        }
+        subscribed = true;
+
+        while (true) {
+            final long available = publishedSequence.get();
+
+            if (available >= nextToConsume) {
+                for (long sequence = nextToConsume; sequence <= available; sequence++) {
+                    final int index = (int) sequence & mask;
+                    final Tick tick = entries[index];
+                    entries[index] = null;
+                    emit(tick);
+                }
+
+                consumedSequence.lazySet(available);
+                nextToConsume = available + 1;
+            } else if (!running) {
+                // Anything published before stopping has been seen by the read above
+                if (publishedSequence.get() < nextToConsume) {
+                    break;
+                }
+            } else {
+                waitStrategy.idle();
+            }
+        }
+
+        final Throwable exception = terminalError;
+
+        if (exception != null) {
+            tickSink.tryEmitError(exception);
+        } else {
+            tickSink.tryEmitComplete();
+        }
+
+        logger.info("Ring Tick Buffer consumer stopped");
+    }
+
+    private void emit(Tick tick) {
+        try {
+            final Sinks.EmitResult emitResult = tickSink.tryEmitNext(tick);
+
+            if (emitResult.isFailure() && emitResult != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                logger.warn("Failed to emit Tick: {}, Result: {}", tick, emitResult);
+            }
+        } catch (RuntimeException exception) {
+            logger.error("Error delivering Tick: {}", tick, exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingTickBuffer{" +
+                "capacity=" + entries.length +
+                ", waitStrategy=" + waitStrategy +
+                ", publishedSequence=" + publishedSequence.get() +
+                ", consumedSequence=" + consumedSequence.get() +
+                ", running=" + running +
+                ", droppedAfterStop=" + droppedAfterStop.get() +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package theta.tick.buffer;
+
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import theta.tick.api.Tick;
+import theta.tick.api.TickBuffer;
+
+/**
+ * Ticks delivered through a multicast Sink on the publishing thread.
+ */
+public class SinkTickBuffer implements TickBuffer {
+
+    private final Sinks.Many<Tick> tickSink = Sinks.many().multicast().onBackpressureBuffer();
+
+    @Override
+    public void publish(Tick tick) {
+        tickSink.tryEmitNext(tick);
+    }
+
+    @Override
+    public void error(Throwable exception) {
+        tickSink.tryEmitError(exception);
+    }
+
+    @Override
+    public void complete() {
+        tickSink.tryEmitComplete();
+    }
+
+    @Override
+    public void close() {
+        if (!tickSink.isScanAvailable()) {
+            tickSink.tryEmitComplete().orThrow();
+        }
+    }
+
+    @Override
+    public Flux<Tick> getTicks() {
+        return tickSink.asFlux();
+    }
+
+    @Override
+    public int getDepth() {
+        return tickSink.scanOrDefault(Scannable.Attr.BUFFERED, 0);
+    }
+}
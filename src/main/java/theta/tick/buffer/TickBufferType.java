@@ -0,0 +1,5 @@
+package theta.tick.buffer;
+
+public enum TickBufferType {
+    SINK, RING, CONFLATING
+}
@@ -0,0 +1,21 @@
+package theta.tick.buffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for the other side of a Tick Buffer. Busy spinning has the lowest latency but burns a core,
+ * parking is the cheapest on CPU but adds wake-up latency.
+ */
+public enum WaitStrategy {
+    BUSY_SPIN, YIELD, PARK;
+
+    private static final long PARK_NANOS = 50_000L;
+
+    public void idle() {
+        switch (this) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> Thread.yield();
+            case PARK -> LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
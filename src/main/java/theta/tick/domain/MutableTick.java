@@ -0,0 +1,101 @@
+package theta.tick.domain;
+
+import theta.domain.Ticker;
+import theta.tick.api.Tick;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Reusable Tick for a single Ticker, overwritten in place as prices arrive. Lets Tick Processors evaluate primitives
+ * without allocating a Tick per price update. Not thread-safe, it is owned by the thread delivering prices, and must
+ * be copied with {@link #toDefaultTick()} before it is handed to anything that keeps it.
+ */
+public class MutableTick implements Tick {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Ticker ticker;
+    private TickType type = TickType.LAST;
+    private double lastPrice = -1.0;
+    private double bidPrice = -1.0;
+    private double askPrice = -1.0;
+    private long epochNanos = 0L;
+
+    public MutableTick(Ticker ticker) {
+        this.ticker = Objects.requireNonNull(ticker, "Ticker cannot be null.");
+    }
+
+    /**
+     * Overwrite price of a single Tick Type, and make it the current Tick Type.
+     *
+     * @param type       Tick Type of price
+     * @param price      Price received
+     * @param epochNanos Time of price, as nanoseconds since epoch
+     */
+    public void update(TickType type, double price, long epochNanos) {
+        switch (type) {
+            case LAST -> lastPrice = price;
+            case BID -> bidPrice = price;
+            case ASK -> askPrice = price;
+        }
+
+        this.type = type;
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * Immutable copy of current state.
+     *
+     * @return Tick that can safely outlive this update
+     */
+    public DefaultTick toDefaultTick() {
+        return new DefaultTick(ticker, type, lastPrice, bidPrice, askPrice, getTimestamp());
+    }
+
+    @Override
+    public double getLastPrice() {
+        return lastPrice;
+    }
+
+    @Override
+    public double getBidPrice() {
+        return bidPrice;
+    }
+
+    @Override
+    public double getAskPrice() {
+        return askPrice;
+    }
+
+    @Override
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    @Override
+    public TickType getTickType() {
+        return type;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return Instant.ofEpochSecond(epochNanos / NANOS_PER_SECOND, epochNanos % NANOS_PER_SECOND);
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MutableTick{" +
+                "ticker=" + ticker +
+                ", type=" + type +
+                ", lastPrice=" + lastPrice +
+                ", bidPrice=" + bidPrice +
+                ", askPrice=" + askPrice +
+                ", epochNanos=" + epochNanos +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+package theta.tick.domain;
+
+import theta.domain.Ticker;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Latest LAST, BID and ASK prices of a single Ticker, with the time of each, guarded by a sequence lock. The writer
+ * makes the sequence odd, updates the fields, then makes it even again. Readers copy the fields between two reads of
+ * the sequence, and retry if it was odd or changed, so a snapshot never mixes fields of different updates and readers
+ * never block the writer.
+ *
+ * <p>Only one thread may update a quote, e.g. the broker callback thread. Any number of threads may snapshot it.
+ */
+public class SeqLockQuote {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(SeqLockQuote.class, "sequence", long.class);
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final Ticker ticker;
+
+    // Odd while an update is in progress. Only written by the updating thread.
+    private long sequence = 0L;
+
+    private double lastPrice = -1.0;
+    private long lastEpochNanos = 0L;
+    private double bidPrice = -1.0;
+    private long bidEpochNanos = 0L;
+    private double askPrice = -1.0;
+    private long askEpochNanos = 0L;
+
+    public SeqLockQuote(Ticker ticker) {
+        this.ticker = Objects.requireNonNull(ticker, "Ticker cannot be null.");
+    }
+
+    /**
+     * Overwrite price and time of a single Tick Type. Must only be called from one thread.
+     *
+     * @param type       Tick Type of price
+     * @param price      Price received
+     * @param epochNanos Time of price, as nanoseconds since epoch
+     */
+    public void update(TickType type, double price, long epochNanos) {
+        final long start = sequence;
+
+        // Odd sequence must be visible before any field is
+        SEQUENCE.setOpaque(this, start + 1L);
+        VarHandle.storeStoreFence();
+
+        switch (type) {
+            case LAST -> {
+                lastPrice = price;
+                lastEpochNanos = epochNanos;
+            }
+            case BID -> {
+                bidPrice = price;
+                bidEpochNanos = epochNanos;
+            }
+            case ASK -> {
+                askPrice = price;
+                askEpochNanos = epochNanos;
+            }
+        }
+
+        SEQUENCE.setRelease(this, start + 2L);
+    }
+
+    /**
+     * Consistent copy of all prices, spinning only while an update is in progress.
+     *
+     * @param type Tick Type of the Tick, whose time the Tick takes
+     * @return Tick of prices as of a single point between updates
+     */
+    public DefaultTick snapshot(TickType type) {
+        while (true) {
+            final long start = (long) SEQUENCE.getAcquire(this);
+
+            if ((start & 1L) == 0L) {
+                final double last = lastPrice;
+                final double bid = bidPrice;
+                final double ask = askPrice;
+                final long epochNanos = switch (type) {
+                    case LAST -> lastEpochNanos;
+                    case BID -> bidEpochNanos;
+                    case ASK -> askEpochNanos;
+                };
+
+                // Field reads must complete before the sequence is checked again
+                VarHandle.loadLoadFence();
+
+                if ((long) SEQUENCE.getOpaque(this) == start) {
+                    return new DefaultTick(ticker, type, last, bid, ask,
+                            Instant.ofEpochSecond(epochNanos / NANOS_PER_SECOND, epochNanos % NANOS_PER_SECOND));
+                }
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    public Ticker getTicker() {
+        return ticker;
+    }
+
+    @Override
+    public String toString() {
+        final DefaultTick snapshot = snapshot(TickType.LAST);
+
+        return "SeqLockQuote{" +
+                "ticker=" + ticker +
+                ", lastPrice=" + snapshot.getLastPrice() +
+                ", bidPrice=" + snapshot.getBidPrice() +
+                ", askPrice=" + snapshot.getAskPrice() +
+                '}';
+    }
+}
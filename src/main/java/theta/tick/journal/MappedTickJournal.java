@@ -0,0 +1,356 @@
+package theta.tick.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import theta.domain.Ticker;
+import theta.tick.api.TickJournal;
+import theta.tick.domain.TickType;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tick Journal appending fixed-width binary records to a memory-mapped file, one file per trading day. The broker
+ * callback thread only copies each record into a pre-allocated ring; a dedicated writer thread drains the ring into
+ * the mapped region, and does everything that may block: assigning Ticker ids and writing them to the sidecar symbols
+ * file, mapping further regions, and rolling to the next day's file, which forces the previous one to disk.
+ *
+ * <p>Records are dropped rather than blocking the caller when the ring is full, and the number dropped is logged by
+ * the writer. Records roll on the time they were appended, not the time they are written. {@link #close()} waits for
+ * records already appended to be written.
+ *
+ * <p>{@link #append} must only be called from one thread at a time, as Tick Handlers are from the broker thread.
+ *
+ * <p>Record layout, big-endian:
+ * <pre>
+ * 0  int    ticker id, from 1; 0 marks the end of the journal
+ * 4  byte   tick type, TickType ordinal + 1
+ * 8  double price, NaN for a size
+ * 16 int    size, 0 for a price
+ * 24 long   epoch nanos
+ * </pre>
+ */
+public class MappedTickJournal implements TickJournal {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    static final int RECORD_SIZE = 32;
+    static final int TICKER_ID_OFFSET = 0;
+    static final int TICK_TYPE_OFFSET = 4;
+    static final int PRICE_OFFSET = 8;
+    static final int SIZE_OFFSET = 16;
+    static final int EPOCH_NANOS_OFFSET = 24;
+
+    static final String JOURNAL_SUFFIX = ".bin";
+    static final String SYMBOLS_SUFFIX = ".symbols";
+
+    private static final String FILE_PREFIX = "ticks-";
+    private static final long DEFAULT_REGION_SIZE = 64L * 1024L * 1024L;
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final long WRITER_IDLE_NANOS = 1_000_000L;
+    private static final ZoneId MARKET_TIMEZONE = ZoneId.of("America/New_York");
+
+    private final Path directory;
+    private final Clock clock;
+    private final long regionSize;
+
+    // Ring of records, as parallel arrays so appending allocates nothing
+    private final Ticker[] tickers;
+    private final TickType[] tickTypes;
+    private final double[] prices;
+    private final long[] sizes;
+    private final long[] epochNanos;
+    private final long[] appendMillis;
+    private final int mask;
+
+    // Last sequence made visible to the writer, and last sequence the writer has finished with
+    private final AtomicLong publishedSequence = new AtomicLong(-1L);
+    private final AtomicLong consumedSequence = new AtomicLong(-1L);
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Only accessed by appending thread
+    private long nextSequence = 0L;
+    private long cachedConsumedSequence = -1L;
+
+    private volatile boolean closing = false;
+    private volatile boolean failed = false;
+    private final Thread writerThread;
+
+    // Only accessed by writer thread
+    private final Map<Ticker, Integer> tickerIds = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private Path symbolsFile;
+    private long nextRollMillis = Long.MIN_VALUE;
+
+    public MappedTickJournal(Path directory, Clock clock) {
+        this(directory, clock, DEFAULT_REGION_SIZE, DEFAULT_CAPACITY);
+    }
+
+    MappedTickJournal(Path directory, Clock clock, long regionSize) {
+        this(directory, clock, regionSize, DEFAULT_CAPACITY);
+    }
+
+    MappedTickJournal(Path directory, Clock clock, long regionSize, int capacity) {
+        this.directory = Objects.requireNonNull(directory, "Journal directory cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+
+        if (regionSize < RECORD_SIZE || regionSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("Region size must be a multiple of " + RECORD_SIZE + ": " + regionSize);
+        }
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Tick Journal capacity must be a power of two: " + capacity);
+        }
+        this.regionSize = regionSize;
+
+        tickers = new Ticker[capacity];
+        tickTypes = new TickType[capacity];
+        prices = new double[capacity];
+        sizes = new long[capacity];
+        epochNanos = new long[capacity];
+        appendMillis = new long[capacity];
+        mask = capacity - 1;
+
+        writerThread = new Thread(this::write, "tick-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Journal file of trading day.
+     *
+     * @param directory Journal directory
+     * @param date      Trading day, in market timezone
+     * @return Path of journal file
+     */
+    public static Path journalFile(Path directory, LocalDate date) {
+        return directory.resolve(FILE_PREFIX + date + JOURNAL_SUFFIX);
+    }
+
+    static Path symbolsFile(Path journalFile) {
+        final String journalName = journalFile.getFileName().toString();
+        return journalFile.resolveSibling(
+                journalName.substring(0, journalName.length() - JOURNAL_SUFFIX.length()) + SYMBOLS_SUFFIX);
+    }
+
+    @Override
+    public void append(Ticker ticker, TickType tickType, double price, long size, long epochNanos) {
+        if (failed || closing) {
+            return;
+        }
+
+        final long sequence = nextSequence;
+        final long wrapPoint = sequence - tickers.length;
+
+        // Only re-reads the writer's sequence when the cached one says the ring is full
+        if (wrapPoint > cachedConsumedSequence) {
+            cachedConsumedSequence = consumedSequence.get();
+
+            if (wrapPoint > cachedConsumedSequence) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+
+        final int index = (int) sequence & mask;
+        tickers[index] = ticker;
+        tickTypes[index] = tickType;
+        prices[index] = price;
+        sizes[index] = size;
+        this.epochNanos[index] = epochNanos;
+        appendMillis[index] = clock.millis();
+
+        publishedSequence.lazySet(sequence);
+        nextSequence = sequence + 1;
+    }
+
+    /**
+     * Stop journaling, waiting for records already appended to be written and forced to disk.
+     */
+    @Override
+    public void close() {
+        closing = true;
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException exception) {
+            logger.warn("Interrupted waiting for Tick Journal writer", exception);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        long nextToWrite = 0L;
+
+        while (true) {
+            final long available = publishedSequence.get();
+
+            if (available >= nextToWrite) {
+                for (long sequence = nextToWrite; sequence <= available; sequence++) {
+                    writeRecord((int) sequence & mask);
+                }
+
+                consumedSequence.lazySet(available);
+                nextToWrite = available + 1;
+                logDropped();
+            } else if (closing) {
+                // Anything appended before closing has been seen by the read above
+                if (publishedSequence.get() < nextToWrite) {
+                    break;
+                }
+            } else {
+                LockSupport.parkNanos(WRITER_IDLE_NANOS);
+            }
+        }
+
+        logDropped();
+        closeFile();
+        logger.info("Tick Journal writer stopped");
+    }
+
+    private void writeRecord(int index) {
+        final Ticker ticker = tickers[index];
+        tickers[index] = null;
+
+        if (failed) {
+            return;
+        }
+
+        try {
+            if (appendMillis[index] >= nextRollMillis) {
+                roll(appendMillis[index]);
+            }
+
+            if (!region.hasRemaining()) {
+                mapRegion(regionStart + regionSize);
+            }
+
+            final int tickerId = getTickerId(ticker);
+            final int position = region.position();
+
+            region.put(position + TICK_TYPE_OFFSET, (byte) (tickTypes[index].ordinal() + 1));
+            region.putDouble(position + PRICE_OFFSET, prices[index]);
+            region.putInt(position + SIZE_OFFSET, (int) sizes[index]);
+            region.putLong(position + EPOCH_NANOS_OFFSET, epochNanos[index]);
+            // Written last, so a record is only visible to readers once complete
+            region.putInt(position + TICKER_ID_OFFSET, tickerId);
+            region.position(position + RECORD_SIZE);
+        } catch (IOException | RuntimeException exception) {
+            // Never let journaling break Tick processing
+            logger.error("Tick Journal failed, journaling stopped", exception);
+            failed = true;
+            closeFile();
+        }
+    }
+
+    private void logDropped() {
+        final long droppedCount = dropped.getAndSet(0L);
+
+        if (droppedCount > 0L) {
+            logger.warn("Tick Journal full, dropped {} record(s)", droppedCount);
+        }
+    }
+
+    private void roll(long millis) throws IOException {
+        closeFile();
+
+        final LocalDate day = Instant.ofEpochMilli(millis).atZone(MARKET_TIMEZONE).toLocalDate();
+        nextRollMillis = day.plusDays(1L).atStartOfDay(MARKET_TIMEZONE).toInstant().toEpochMilli();
+
+        Files.createDirectories(directory);
+        final Path journalFile = journalFile(directory, day);
+        symbolsFile = symbolsFile(journalFile);
+
+        loadTickerIds();
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        openAtEnd();
+
+        logger.info("Journaling Ticks to: {}", journalFile);
+    }
+
+    // Restarting during the day continues after the last record already written
+    private void openAtEnd() throws IOException {
+        long start = 0L;
+
+        while (true) {
+            mapRegion(start);
+
+            while (region.hasRemaining() && region.getInt(region.position() + TICKER_ID_OFFSET) != 0) {
+                region.position(region.position() + RECORD_SIZE);
+            }
+
+            if (region.hasRemaining() || start + regionSize >= channel.size()) {
+                return;
+            }
+
+            start += regionSize;
+        }
+    }
+
+    private void mapRegion(long start) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+        regionStart = start;
+    }
+
+    private int getTickerId(Ticker ticker) throws IOException {
+        final Integer existingId = tickerIds.get(ticker);
+
+        if (existingId != null) {
+            return existingId;
+        }
+
+        final int newId = tickerIds.size() + 1;
+        Files.writeString(symbolsFile, newId + "," + ticker.getSymbol() + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        tickerIds.put(ticker, newId);
+
+        return newId;
+    }
+
+    private void loadTickerIds() throws IOException {
+        tickerIds.clear();
+
+        if (Files.exists(symbolsFile)) {
+            TickJournalReader.readSymbols(symbolsFile).forEach((id, ticker) -> tickerIds.put(ticker, id));
+        }
+    }
+
+    private void closeFile() {
+        if (channel != null) {
+            try {
+                region.force();
+                channel.close();
+            } catch (IOException exception) {
+                logger.warn("Error closing Tick Journal", exception);
+            }
+            channel = null;
+            region = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedTickJournal{" +
+                "directory=" + directory +
+                ", publishedSequence=" + publishedSequence.get() +
+                ", consumedSequence=" + consumedSequence.get() +
+                ", failed=" + failed +
+                '}';
+    }
+}
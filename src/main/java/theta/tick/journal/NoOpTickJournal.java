@@ -0,0 +1,17 @@
+package theta.tick.journal;
+
+import theta.domain.Ticker;
+import theta.tick.api.TickJournal;
+import theta.tick.domain.TickType;
+
+public enum NoOpTickJournal implements TickJournal {
+    INSTANCE;
+
+    @Override
+    public void append(Ticker ticker, TickType tickType, double price, long size, long epochNanos) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
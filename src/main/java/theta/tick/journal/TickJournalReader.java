@@ -0,0 +1,178 @@
+package theta.tick.journal;
+
+import reactor.core.publisher.Flux;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static theta.tick.journal.MappedTickJournal.*;
+
+/**
+ * Streams a journal written by {@link MappedTickJournal} back as Ticks. Like the broker Tick Handlers, each price
+ * record becomes a Tick carrying the latest last, bid and ask of its Ticker. Size records only appear in the journal.
+ */
+public class TickJournalReader {
+
+    private static final long READ_REGION_SIZE = 64L * 1024L * 1024L;
+    private static final TickType[] TICK_TYPES = TickType.values();
+
+    private TickJournalReader() {
+    }
+
+    /**
+     * Lazily read Ticks of journal file. Each subscription reads the file again.
+     *
+     * @param journalFile Journal file, with its symbols file alongside
+     * @return Journaled Ticks, in the order received
+     */
+    public static Flux<Tick> read(Path journalFile) {
+        return Flux.using(
+                () -> FileChannel.open(journalFile, StandardOpenOption.READ),
+                channel -> Flux.fromIterable(() -> new TickIterator(channel, readSymbols(symbolsFile(journalFile)))),
+                TickJournalReader::closeChannel);
+    }
+
+    static Map<Integer, Ticker> readSymbols(Path symbolsFile) {
+        final Map<Integer, Ticker> tickers = new HashMap<>();
+
+        try {
+            for (String line : Files.readAllLines(symbolsFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    final String[] fields = line.split(",", 2);
+                    tickers.put(Integer.parseInt(fields[0]), DefaultTicker.from(fields[1].strip()));
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not read journal symbols: " + symbolsFile, exception);
+        }
+
+        return tickers;
+    }
+
+    private static void closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static class TickIterator implements Iterator<Tick> {
+        private final FileChannel channel;
+        private final Map<Integer, Ticker> tickers;
+
+        // Latest last, bid and ask of each Ticker id
+        private final Map<Integer, double[]> pricesByTickerId = new HashMap<>();
+
+        private MappedByteBuffer region;
+        private long regionStart = 0L;
+        private Tick next = null;
+        private boolean ended = false;
+
+        private TickIterator(FileChannel channel, Map<Integer, Ticker> tickers) {
+            this.channel = channel;
+            this.tickers = tickers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !ended) {
+                next = readNextTick();
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public Tick next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Tick tick = next;
+            next = null;
+
+            return tick;
+        }
+
+        private Tick readNextTick() {
+            try {
+                while (true) {
+                    if (region == null || !region.hasRemaining()) {
+                        if (!mapNextRegion()) {
+                            ended = true;
+                            return null;
+                        }
+                    }
+
+                    final int position = region.position();
+                    final int tickerId = region.getInt(position + TICKER_ID_OFFSET);
+
+                    if (tickerId == 0) {
+                        ended = true;
+                        return null;
+                    }
+
+                    region.position(position + RECORD_SIZE);
+
+                    final double price = region.getDouble(position + PRICE_OFFSET);
+
+                    // Size record
+                    if (Double.isNaN(price)) {
+                        continue;
+                    }
+
+                    final TickType tickType = TICK_TYPES[region.get(position + TICK_TYPE_OFFSET) - 1];
+                    final double[] prices = pricesByTickerId.computeIfAbsent(tickerId, id -> new double[]{-1.0, -1.0, -1.0});
+                    prices[tickType.ordinal()] = price;
+
+                    final long epochNanos = region.getLong(position + EPOCH_NANOS_OFFSET);
+                    final Ticker ticker = tickers.get(tickerId);
+
+                    if (ticker == null) {
+                        throw new IllegalStateException("No symbol for journal ticker id: " + tickerId);
+                    }
+
+                    return new DefaultTick(ticker, tickType,
+                            prices[TickType.LAST.ordinal()],
+                            prices[TickType.BID.ordinal()],
+                            prices[TickType.ASK.ordinal()],
+                            Instant.ofEpochSecond(0L, epochNanos));
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private boolean mapNextRegion() throws IOException {
+            final long start = region == null ? 0L : regionStart + region.capacity();
+            final long remaining = channel.size() - start;
+
+            if (remaining < RECORD_SIZE) {
+                return false;
+            }
+
+            region = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(READ_REGION_SIZE, remaining - remaining % RECORD_SIZE));
+            regionStart = start;
+
+            return true;
+        }
+    }
+}
@@ -1,27 +1,41 @@
 package theta.tick.manager;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.Disposable;
 import reactor.core.Disposable.Composite;
 import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
+import theta.actor.TickerActors;
 import theta.api.TickSubscriber;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
 import theta.domain.composed.Theta;
 import theta.domain.manager.ManagerState;
 import theta.domain.manager.ManagerStatus;
 import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.pricelevel.PriceLevelBook;
+import theta.domain.ticker.TickerMap;
 import theta.domain.stock.Stock;
 import theta.domain.util.StockUtil;
 import theta.execution.api.Executor;
 import theta.execution.domain.CandidateStockOrder;
+import theta.metrics.LatencyRecorder;
+import theta.metrics.LatencyStage;
+import theta.metrics.SharedGauge;
+import theta.metrics.TickerCounter;
 import theta.tick.api.Tick;
 import theta.tick.api.TickMonitor;
 import theta.tick.api.TickProcessor;
 import theta.util.MarketUtility;
 
 import java.lang.invoke.MethodHandles;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -29,35 +43,108 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Reverses trades of Thetas whose Price Levels are crossed by Ticks.
+ *
+ * <p>Ticks, and adding and deleting monitors, run on the actor of their Ticker, so the Thetas and Price Levels of a
+ * Ticker are only touched by one thread at a time and Tickers are processed in parallel.
+ *
+ * <p>Reports "theta.ticks.processed" and "theta.ticks.triggered" by Ticker, "theta.ticks.out-of-hours", and the
+ * Thetas and Price Levels monitored as "theta.monitor.thetas" and "theta.monitor.price-levels".
+ */
 @Component
 public class TickManager implements TickMonitor {
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final TickerCounter TICKS_PROCESSED =
+            new TickerCounter("theta.ticks.processed", "Ticks processed by Tick Manager");
+    private static final TickerCounter TICKS_TRIGGERED =
+            new TickerCounter("theta.ticks.triggered", "Ticks that crossed a Price Level and reversed a trade");
+    private static final Counter TICKS_OUT_OF_HOURS = Counter.builder("theta.ticks.out-of-hours")
+            .description("Ticks dropped as outside of market hours")
+            .register(Metrics.globalRegistry);
+    private static final SharedGauge<TickManager> MONITORED_THETAS = new SharedGauge<>("theta.monitor.thetas",
+            "Thetas monitored for Price Level crossings", TickManager::getMonitoredThetaCount);
+    private static final SharedGauge<TickManager> MONITORED_PRICE_LEVELS = new SharedGauge<>("theta.monitor.price-levels",
+            "Price Levels monitored across all Tickers", TickManager::getMonitoredPriceLevelCount);
+
     private final TickSubscriber tickSubscriber;
     private final TickProcessor tickProcessor;
     private final Executor executor;
     private final MarketUtility marketUtility;
+    private final Clock clock;
+    private final TickerActors tickerActors;
 
     private static final Duration TICK_DELAY_WARNING = Duration.ofMillis(1000L);
 
-    private final List<Theta> monitoredThetas = new ArrayList<>();
+    // Thetas and their Price Levels indexed by Ticker, each only touched from the actor of its Ticker
+    private final TickerMap<MonitoredTicker> monitoredTickers = new TickerMap<>();
 
     private final ManagerStatus managerStatus = ManagerStatus.of(MethodHandles.lookup().lookupClass(), ManagerState.SHUTDOWN);
 
     private final Composite tickManagerDisposables = Disposables.composite();
 
     /**
-     * Create TickManager using supplied Subscriber and Processor.
+     * Create TickManager using supplied Subscriber and Processor, processing Ticks on the thread they arrive on.
      *
      * @param tickSubscriber TickSubscriber to use for TickManager
      * @param tickProcessor  TickProcessor to use for TickManager
      */
     public TickManager(TickSubscriber tickSubscriber, TickProcessor tickProcessor, Executor executor, MarketUtility marketUtility) {
+        this(tickSubscriber, tickProcessor, executor, marketUtility, Clock.systemUTC());
+    }
+
+    /**
+     * Create TickManager processing Ticks on the actors of their Tickers.
+     *
+     * @param tickSubscriber TickSubscriber to use for TickManager
+     * @param tickProcessor  TickProcessor to use for TickManager
+     * @param executor       Executor reversing trades
+     * @param marketUtility  Market hours of Ticks
+     * @param tickerActors   Actors Ticks and monitors of each Ticker are processed on
+     */
+    @Autowired
+    public TickManager(TickSubscriber tickSubscriber, TickProcessor tickProcessor, Executor executor,
+                       MarketUtility marketUtility, TickerActors tickerActors) {
+        this(tickSubscriber, tickProcessor, executor, marketUtility, Clock.systemUTC(), tickerActors);
+    }
+
+    /**
+     * Create TickManager with a supplied Clock, e.g. the virtual clock of a replay.
+     *
+     * @param tickSubscriber TickSubscriber to use for TickManager
+     * @param tickProcessor  TickProcessor to use for TickManager
+     * @param executor       Executor reversing trades
+     * @param marketUtility  Market hours of Ticks
+     * @param clock          Clock Tick delays are measured against
+     */
+    public TickManager(TickSubscriber tickSubscriber, TickProcessor tickProcessor, Executor executor,
+                       MarketUtility marketUtility, Clock clock) {
+        this(tickSubscriber, tickProcessor, executor, marketUtility, clock, TickerActors.direct());
+    }
+
+    /**
+     * Create TickManager with a supplied Clock and actors.
+     *
+     * @param tickSubscriber TickSubscriber to use for TickManager
+     * @param tickProcessor  TickProcessor to use for TickManager
+     * @param executor       Executor reversing trades
+     * @param marketUtility  Market hours of Ticks
+     * @param clock          Clock Tick delays are measured against
+     * @param tickerActors   Actors Ticks and monitors of each Ticker are processed on
+     */
+    public TickManager(TickSubscriber tickSubscriber, TickProcessor tickProcessor, Executor executor,
+                       MarketUtility marketUtility, Clock clock, TickerActors tickerActors) {
         getStatus().changeState(ManagerState.STARTING);
         this.tickSubscriber = Objects.requireNonNull(tickSubscriber, "Tick Subscriber cannot be null.");
         this.tickProcessor = Objects.requireNonNull(tickProcessor, "Tick Processor cannot be null.");
         this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
         this.marketUtility = Objects.requireNonNull(marketUtility, "Market Utility cannot be null.");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+        this.tickerActors = Objects.requireNonNull(tickerActors, "Ticker Actors cannot be null.");
+
+        MONITORED_THETAS.bind(this);
+        MONITORED_PRICE_LEVELS.bind(this);
     }
 
     /**
@@ -71,9 +158,9 @@ public class TickManager implements TickMonitor {
 
         return Mono.create(emitter -> {
             final Disposable tickSubscriberDisposable = tickSubscriber.getTicksAcrossStrikePrices()
-                    .filter(tickFilter -> marketUtility.isDuringMarketHours(tickFilter.getTimestamp()))
+                    .filter(this::isDuringMarketHours)
                     .subscribe(
-                            this::processTick,
+                            tick -> tickerActors.execute(tick.getTicker(), () -> processTick(tick)),
                             exception -> {
                                 logger.error("Error in Tick Manager", exception);
                                 emitter.error(exception);
@@ -88,34 +175,81 @@ public class TickManager implements TickMonitor {
 
     @Override
     public void addMonitor(Theta theta) {
-        monitoredThetas.add(theta);
-        tickSubscriber.addPriceLevelMonitor(DefaultPriceLevel.of(theta), tickProcessor);
+        final PriceLevel priceLevel = DefaultPriceLevel.of(theta);
+
+        tickerActors.execute(theta.getTicker(), () -> {
+            final MonitoredTicker monitoredTicker =
+                    monitoredTickers.computeIfAbsent(theta.getTicker(), ticker -> new MonitoredTicker());
+            monitoredTicker.thetas.add(theta);
+            monitoredTicker.priceLevels.add(priceLevel);
+        });
+        tickSubscriber.addPriceLevelMonitor(priceLevel, tickProcessor);
     }
 
     @Override
     public int deleteMonitor(Theta theta) {
-        monitoredThetas.remove(theta);
-        return tickSubscriber.removePriceLevelMonitor(DefaultPriceLevel.of(theta));
+        final PriceLevel priceLevel = DefaultPriceLevel.of(theta);
+
+        tickerActors.execute(theta.getTicker(), () -> {
+            final MonitoredTicker monitoredTicker = monitoredTickers.get(theta.getTicker());
+
+            if (monitoredTicker != null) {
+                monitoredTicker.thetas.remove(theta);
+
+                // Other Thetas of Ticker may share the Price Level
+                if (monitoredTicker.thetas.stream().map(DefaultPriceLevel::of).noneMatch(priceLevel::equals)) {
+                    monitoredTicker.priceLevels.remove(priceLevel);
+                }
+
+                if (monitoredTicker.thetas.isEmpty()) {
+                    monitoredTickers.remove(theta.getTicker());
+                }
+            }
+        });
+        return tickSubscriber.removePriceLevelMonitor(priceLevel);
     }
 
-    private void processTick(Tick tick) {
+    private boolean isDuringMarketHours(Tick tick) {
+        final boolean isDuringMarketHours = marketUtility.isDuringMarketHours(tick.getTimestamp());
+
+        if (!isDuringMarketHours) {
+            TICKS_OUT_OF_HOURS.increment();
+        }
+
+        return isDuringMarketHours;
+    }
+
+    // Runs on the actor of the Tick's Ticker. Package-private for benchmarking
+    void processTick(Tick tick) {
         logger.debug("Processing: {}", tick);
+        TICKS_PROCESSED.increment(tick.getTicker());
 
-        if (tick.getTimestamp().isBefore(Instant.now().minus(TICK_DELAY_WARNING))) {
+        if (tick.getTimestamp().isBefore(Instant.now(clock).minus(TICK_DELAY_WARNING))) {
             logger.warn("Tick timestamp indicates tick is significantly delayed: {}", tick);
         }
 
-        final List<Theta> tradesToCheck = monitoredThetas.stream()
-                .filter(theta -> theta.getTicker().equals(tick.getTicker()))
-                .collect(Collectors.toList());
+        final MonitoredTicker monitoredTicker = monitoredTickers.get(tick.getTicker());
+
+        if (monitoredTicker != null && !monitoredTicker.thetas.isEmpty()) {
+            final List<Theta> tradesToCheck = monitoredTicker.thetas;
+            logger.debug("Checking {} Position(s) from Position Provider: {}", tradesToCheck.size(), tradesToCheck);
 
-        if (!tradesToCheck.isEmpty()) {
-            logger.info("Received {} Position(s) from Position Provider: {}", tradesToCheck.size(), tradesToCheck);
+            // Only the crossed Price Levels are confirmed by the Tick Processor
+            final List<PriceLevel> crossedPriceLevels = monitoredTicker.priceLevels.getCrossed(
+                    tickProcessor.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW),
+                    tickProcessor.getCrossingPrice(tick, PriceLevelDirection.RISES_ABOVE));
 
-            final List<Theta> thetasToReverse = tradesToCheck.stream()
-                    .filter(theta -> tickProcessor.processTick(tick, DefaultPriceLevel.of(theta)))
+            final List<Theta> thetasToReverse = crossedPriceLevels.isEmpty() ? List.of() : tradesToCheck.stream()
+                    .filter(theta -> {
+                        final PriceLevel priceLevel = DefaultPriceLevel.of(theta);
+                        return crossedPriceLevels.contains(priceLevel) && tickProcessor.processTick(tick, priceLevel);
+                    })
                     .collect(Collectors.toList());
 
+            if (!thetasToReverse.isEmpty()) {
+                TICKS_TRIGGERED.increment(tick.getTicker());
+            }
+
             // FIXME: This won't always correctly calculate limit price
             for (final Stock stock : StockUtil.consolidateStock(thetasToReverse)) {
                 CandidateStockOrder candidateOrder = tickProcessor.getCandidateStockOrder(stock);
@@ -133,22 +267,41 @@ public class TickManager implements TickMonitor {
                                 }
                         );
 
-                tickManagerDisposables.add(disposableTrade);
+                // Trades completing immediately would otherwise be held until shutdown
+                if (!disposableTrade.isDisposed()) {
+                    tickManagerDisposables.add(disposableTrade);
+                }
             }
         } else {
             logger.warn("Received {}, but no positions were provided. Attempting to convert to MARKET order.", tick);
             executor.convertToMarketOrderIfExists(tick.getTicker());
         }
+
+        LatencyRecorder.record(LatencyStage.PROCESS_TICK, tick.getTicker());
     }
 
     public ManagerStatus getStatus() {
         return managerStatus;
     }
 
+    public int getMonitoredThetaCount() {
+        return monitoredTickers.values().stream().mapToInt(monitoredTicker -> monitoredTicker.thetas.size()).sum();
+    }
+
+    public int getMonitoredPriceLevelCount() {
+        return monitoredTickers.values().stream().mapToInt(monitoredTicker -> monitoredTicker.priceLevels.size()).sum();
+    }
+
     @Override
     public void shutdown() {
         getStatus().changeState(ManagerState.STOPPING);
         tickSubscriber.unsubscribeAll();
         tickManagerDisposables.dispose();
     }
+
+    // Only modified on the actor of its Ticker, the monitored counts may be read from any thread
+    private static class MonitoredTicker {
+        private final List<Theta> thetas = new ArrayList<>();
+        private final PriceLevelBook priceLevels = new PriceLevelBook();
+    }
 }
@@ -3,8 +3,9 @@ package theta.tick.processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import theta.domain.PriceLevel;
-import theta.domain.Ticker;
+import theta.domain.PriceLevelDirection;
 import theta.domain.stock.Stock;
+import theta.domain.ticker.TickerMap;
 import theta.execution.api.ExecutionType;
 import theta.execution.domain.CandidateStockOrder;
 import theta.tick.api.Tick;
@@ -12,8 +13,6 @@ import theta.tick.api.TickProcessor;
 import theta.tick.domain.TickType;
 
 import java.lang.invoke.MethodHandles;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,7 +24,7 @@ public class BidAskSpreadTickProcessor implements TickProcessor {
     private static final double DEVIATION = 0.68;
     private static final ExecutionType EXECUTION_TYPE = ExecutionType.LIMIT;
 
-    private final Map<Ticker, Double> limitPriceByTicker = new HashMap<>();
+    private final TickerMap<Double> limitPriceByTicker = new TickerMap<>();
     private final Set<TickType> applicableTickTypes = Set.of(TickType.ASK, TickType.BID);
 
     @Override
@@ -37,13 +36,14 @@ public class BidAskSpreadTickProcessor implements TickProcessor {
     public boolean processTick(Tick tick, PriceLevel priceLevel) {
         boolean shouldReverse = false;
 
-        if (isApplicable(tick.getTickType()) && tick.getAskPrice() > 0 && tick.getBidPrice() > 0 && priceLevel.getTicker().equals(tick.getTicker())) {
-            double limitPrice = priceLevel.getPrice();
+        if (priceLevel.getTicker().equals(tick.getTicker())) {
+            final double bidAskSpreadDeviation = getCrossingPrice(tick, priceLevel.tradeIf());
 
-            final double bidAskSpreadDeviation = switch (priceLevel.tradeIf()) {
-                case FALLS_BELOW -> tick.getBidPrice() + (tick.getAskPrice() - tick.getBidPrice()) * DEVIATION;
-                case RISES_ABOVE -> tick.getAskPrice() - (tick.getAskPrice() - tick.getBidPrice()) * DEVIATION;
-            };
+            if (Double.isNaN(bidAskSpreadDeviation)) {
+                return false;
+            }
+
+            double limitPrice = priceLevel.getPrice();
 
             switch (priceLevel.tradeIf()) {
                 case FALLS_BELOW -> {
@@ -69,20 +69,37 @@ public class BidAskSpreadTickProcessor implements TickProcessor {
                 }
             }
 
-            final Double previousLimit = limitPriceByTicker.put(priceLevel.getTicker(), Math.round(limitPrice * 100.0) / 100.0);
+            final double roundedLimitPrice = Math.round(limitPrice * 100.0) / 100.0;
+            final Double previousLimit = limitPriceByTicker.put(priceLevel.getTicker(), roundedLimitPrice);
 
-            if (previousLimit != null && Double.compare(previousLimit, limitPriceByTicker.get(priceLevel.getTicker())) != 0) {
-                logger.warn("Processing ticks found different Price Levels: {} and {} for Price Level: {}", limitPriceByTicker.get(priceLevel.getTicker()), previousLimit, priceLevel);
+            if (previousLimit != null && Double.compare(previousLimit, roundedLimitPrice) != 0) {
+                logger.warn("Processing ticks found different Price Levels: {} and {} for Price Level: {}", roundedLimitPrice, previousLimit, priceLevel);
             }
         }
 
         return shouldReverse;
     }
 
+    @Override
+    public double getCrossingPrice(Tick tick, PriceLevelDirection direction) {
+        double bidAskSpreadDeviation = Double.NaN;
+
+        if (isApplicable(tick.getTickType()) && tick.getAskPrice() > 0 && tick.getBidPrice() > 0) {
+            bidAskSpreadDeviation = switch (direction) {
+                case FALLS_BELOW -> tick.getBidPrice() + (tick.getAskPrice() - tick.getBidPrice()) * DEVIATION;
+                case RISES_ABOVE -> tick.getAskPrice() - (tick.getAskPrice() - tick.getBidPrice()) * DEVIATION;
+            };
+        }
+
+        return bidAskSpreadDeviation;
+    }
+
     @Override
     public CandidateStockOrder getCandidateStockOrder(Stock stock) {
-        if (limitPriceByTicker.containsKey(stock.getTicker())) {
-            return new CandidateStockOrder(stock, EXECUTION_TYPE, Optional.of(limitPriceByTicker.get(stock.getTicker())));
+        final Double limitPrice = limitPriceByTicker.get(stock.getTicker());
+
+        if (limitPrice != null) {
+            return new CandidateStockOrder(stock, EXECUTION_TYPE, Optional.of(limitPrice));
         } else {
             logger.warn("Performing Market order, instead of Limit. No limit price available for {}", stock.getTicker());
             return new CandidateStockOrder(stock, ExecutionType.MARKET, Optional.empty());
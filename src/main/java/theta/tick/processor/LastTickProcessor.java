@@ -33,27 +33,31 @@ public class LastTickProcessor implements TickProcessor {
     public boolean processTick(Tick tick, PriceLevel priceLevel) {
         boolean shouldReverse = false;
 
-        if (isApplicable(tick.getTickType())
-                && tick.getLastPrice() > 0
-                && priceLevel.getTicker().equals(tick.getTicker())) {
+        if (priceLevel.getTicker().equals(tick.getTicker())) {
             logger.debug("Checking {} against Price Level: {}", tick, priceLevel);
 
-            if (priceLevel.tradeIf() == PriceLevelDirection.FALLS_BELOW) {
-                if (tick.getLastPrice() < priceLevel.getPrice()) {
-                    shouldReverse = true;
-                }
-            } else if (priceLevel.tradeIf() == PriceLevelDirection.RISES_ABOVE) {
-                if (tick.getLastPrice() > priceLevel.getPrice()) {
-                    shouldReverse = true;
-                }
-            } else {
-                logger.error("Invalid Price Level: {}", priceLevel.tradeIf());
-            }
+            final double crossingPrice = getCrossingPrice(tick, priceLevel.tradeIf());
+
+            shouldReverse = switch (priceLevel.tradeIf()) {
+                case FALLS_BELOW -> priceLevel.getPrice() > crossingPrice;
+                case RISES_ABOVE -> priceLevel.getPrice() < crossingPrice;
+            };
         }
 
         return shouldReverse;
     }
 
+    @Override
+    public double getCrossingPrice(Tick tick, PriceLevelDirection direction) {
+        double crossingPrice = Double.NaN;
+
+        if (isApplicable(tick.getTickType()) && tick.getLastPrice() > 0) {
+            crossingPrice = tick.getLastPrice();
+        }
+
+        return crossingPrice;
+    }
+
     @Override
     public CandidateStockOrder getCandidateStockOrder(Stock stock) {
         return new CandidateStockOrder(stock, EXECUTION_TYPE, Optional.empty());
@@ -0,0 +1,280 @@
+package theta.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Trading sessions of an exchange, precomputed as open and close times in nanoseconds since epoch for every trading day
+ * of the years covered by its holiday file. Weekends and holidays have no session, early closes end theirs early.
+ *
+ * <p>The window around the last time checked, either a session or the gap between two, is cached, so checking the
+ * mostly increasing times of Ticks is a pair of long comparisons. Times outside the covered years fall back to regular
+ * hours on weekdays.
+ */
+public class MarketSessionCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final String NEW_YORK_HOLIDAYS = "/calendar/nyse.csv";
+    private static final String CLOSED = "CLOSED";
+
+    private final ZoneId zone;
+    private final LocalTime regularOpen;
+    private final LocalTime regularClose;
+
+    // Covered range, from start of first day to end of last day
+    private final long firstEpochSecond;
+    private final long endEpochSecond;
+
+    private final long[] openNanos;
+    private final long[] closeNanos;
+
+    private volatile Window window;
+
+    private final AtomicBoolean warnedUncovered = new AtomicBoolean();
+
+    /**
+     * Create calendar of sessions for every weekday from first to last date, other than holidays.
+     *
+     * @param zone         Time zone of exchange
+     * @param regularOpen  Opening time of every session
+     * @param regularClose Closing time of sessions without an early close
+     * @param firstDate    First date covered
+     * @param lastDate     Last date covered
+     * @param holidays     Dates without a session
+     * @param earlyCloses  Closing time of dates closing early
+     */
+    public MarketSessionCalendar(ZoneId zone, LocalTime regularOpen, LocalTime regularClose, LocalDate firstDate,
+                                 LocalDate lastDate, Set<LocalDate> holidays, Map<LocalDate, LocalTime> earlyCloses) {
+        this.zone = Objects.requireNonNull(zone, "Zone cannot be null.");
+        this.regularOpen = Objects.requireNonNull(regularOpen, "Regular Open cannot be null.");
+        this.regularClose = Objects.requireNonNull(regularClose, "Regular Close cannot be null.");
+        Objects.requireNonNull(holidays, "Holidays cannot be null.");
+        Objects.requireNonNull(earlyCloses, "Early Closes cannot be null.");
+
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException("Last Date: " + lastDate + " cannot be before First Date: " + firstDate);
+        }
+
+        firstEpochSecond = firstDate.atStartOfDay(zone).toEpochSecond();
+        endEpochSecond = lastDate.plusDays(1L).atStartOfDay(zone).toEpochSecond();
+
+        final long[] opens = new long[(int) (lastDate.toEpochDay() - firstDate.toEpochDay() + 1L)];
+        final long[] closes = new long[opens.length];
+        int sessions = 0;
+
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1L)) {
+            if (isWeekend(date.getDayOfWeek()) || holidays.contains(date)) {
+                continue;
+            }
+
+            opens[sessions] = toEpochNanos(ZonedDateTime.of(date, regularOpen, zone).toInstant());
+            closes[sessions] = toEpochNanos(ZonedDateTime.of(date, earlyCloses.getOrDefault(date, regularClose), zone).toInstant());
+            sessions++;
+        }
+
+        openNanos = Arrays.copyOf(opens, sessions);
+        closeNanos = Arrays.copyOf(closes, sessions);
+        window = lookup(firstEpochSecond * NANOS_PER_SECOND);
+
+        logger.info("Built Market Session Calendar of {} sessions from {} to {}", sessions, firstDate, lastDate);
+    }
+
+    /**
+     * Calendar of the New York Stock Exchange, open 9:30 to 16:00 New York time, with holidays and early closes read
+     * from the classpath.
+     *
+     * @return NYSE Calendar
+     */
+    public static MarketSessionCalendar newYork() {
+        return load(NEW_YORK_HOLIDAYS, ZoneId.of("America/New_York"), LocalTime.of(9, 30), LocalTime.of(16, 0));
+    }
+
+    /**
+     * Load calendar from a classpath resource of lines of "date,close", where close is either CLOSED for a holiday or
+     * the early closing time. Lines starting with # are comments. The calendar covers the years of the first and last
+     * dates listed.
+     *
+     * @param resource     Classpath resource of holidays
+     * @param zone         Time zone of exchange
+     * @param regularOpen  Opening time of every session
+     * @param regularClose Closing time of sessions without an early close
+     * @return Calendar of sessions
+     */
+    public static MarketSessionCalendar load(String resource, ZoneId zone, LocalTime regularOpen, LocalTime regularClose) {
+        final Set<LocalDate> holidays = new HashSet<>();
+        final Map<LocalDate, LocalTime> earlyCloses = new HashMap<>();
+        LocalDate firstDate = null;
+        LocalDate lastDate = null;
+
+        try (InputStream inputStream = MarketSessionCalendar.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Market Session resource not found: " + resource);
+            }
+
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                final String[] fields = line.split(",");
+                if (fields.length != 2) {
+                    throw new IllegalArgumentException("Malformed Market Session line: '" + line + "' in: " + resource);
+                }
+
+                final LocalDate date = LocalDate.parse(fields[0].strip());
+                final String close = fields[1].strip();
+                if (CLOSED.equalsIgnoreCase(close)) {
+                    holidays.add(date);
+                } else {
+                    earlyCloses.put(date, LocalTime.parse(close));
+                }
+
+                firstDate = firstDate == null || date.isBefore(firstDate) ? date : firstDate;
+                lastDate = lastDate == null || date.isAfter(lastDate) ? date : lastDate;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed reading Market Sessions from: " + resource, exception);
+        }
+
+        if (firstDate == null) {
+            throw new IllegalArgumentException("No Market Sessions in: " + resource);
+        }
+
+        return new MarketSessionCalendar(zone, regularOpen, regularClose, firstDate.withDayOfYear(1),
+                lastDate.withDayOfYear(lastDate.lengthOfYear()), holidays, earlyCloses);
+    }
+
+    /**
+     * @param time Time to check
+     * @return Whether time is strictly between the open and close of a session
+     */
+    public boolean isDuringSession(Instant time) {
+        final long epochSecond = time.getEpochSecond();
+
+        if (epochSecond < firstEpochSecond || epochSecond >= endEpochSecond) {
+            return isDuringRegularHours(time);
+        }
+
+        return isDuringSession(epochSecond * NANOS_PER_SECOND + time.getNano());
+    }
+
+    /**
+     * @param time Time to search from
+     * @return Open of the first session opening after time, or empty if past the covered years
+     */
+    public Optional<Instant> getNextOpen(Instant time) {
+        return next(openNanos, time);
+    }
+
+    /**
+     * @param time Time to search from
+     * @return Close of the first session closing after time, or empty if past the covered years
+     */
+    public Optional<Instant> getNextClose(Instant time) {
+        return next(closeNanos, time);
+    }
+
+    private static Optional<Instant> next(long[] epochNanos, Instant time) {
+        final long timeNanos = toEpochNanos(time);
+        final int found = Arrays.binarySearch(epochNanos, timeNanos);
+        final int next = found >= 0 ? found + 1 : -found - 1;
+
+        if (next >= epochNanos.length) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Instant.ofEpochSecond(epochNanos[next] / NANOS_PER_SECOND, epochNanos[next] % NANOS_PER_SECOND));
+    }
+
+    private boolean isDuringSession(long epochNanos) {
+        Window current = window;
+
+        if (epochNanos < current.start || epochNanos >= current.end) {
+            current = lookup(epochNanos);
+            window = current;
+        }
+
+        return current.open;
+    }
+
+    // Session or gap containing the time, which must be covered
+    private Window lookup(long epochNanos) {
+        final int found = Arrays.binarySearch(openNanos, epochNanos);
+        // Last session opening at or before the time
+        final int session = found >= 0 ? found : -found - 2;
+
+        if (session >= 0 && epochNanos == openNanos[session]) {
+            return new Window(epochNanos, epochNanos + 1L, false);
+        }
+
+        if (session >= 0 && epochNanos < closeNanos[session]) {
+            return new Window(openNanos[session] + 1L, closeNanos[session], true);
+        }
+
+        final long gapStart = session >= 0 ? closeNanos[session] : firstEpochSecond * NANOS_PER_SECOND;
+        final long gapEnd = session + 1 < openNanos.length ? openNanos[session + 1] + 1L : endEpochSecond * NANOS_PER_SECOND;
+
+        return new Window(gapStart, gapEnd, false);
+    }
+
+    private boolean isDuringRegularHours(Instant time) {
+        if (warnedUncovered.compareAndSet(false, true)) {
+            logger.warn("Time: {} not covered by Market Session Calendar, holidays are not observed", time);
+        }
+
+        final ZonedDateTime marketTime = time.atZone(zone);
+        final LocalTime marketLocalTime = marketTime.toLocalTime();
+
+        return !isWeekend(marketTime.getDayOfWeek())
+                && marketLocalTime.isAfter(regularOpen)
+                && marketLocalTime.isBefore(regularClose);
+    }
+
+    private static boolean isWeekend(DayOfWeek dayOfWeek) {
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    private static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    // Times from start, inclusive, to end, exclusive, that are all either in or out of session
+    private static final class Window {
+        private final long start;
+        private final long end;
+        private final boolean open;
+
+        private Window(long start, long end, boolean open) {
+            this.start = start;
+            this.end = end;
+            this.open = open;
+        }
+    }
+}
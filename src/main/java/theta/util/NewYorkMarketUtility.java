@@ -1,25 +1,27 @@
 package theta.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.*;
+import java.time.Instant;
+import java.util.Objects;
 
 @Component
 public class NewYorkMarketUtility implements MarketUtility {
-    // TODO: Put into external properties file
-    private static final ZoneId MARKET_TIMEZONE = ZoneId.of("America/New_York");
-    private static final LocalTime MARKET_OPEN_TIME = LocalTime.of(9, 30);
-    private static final LocalTime MARKET_CLOSE_TIME = LocalTime.of(16, 0);
+
+    private final MarketSessionCalendar calendar;
+
+    @Autowired
+    public NewYorkMarketUtility() {
+        this(MarketSessionCalendar.newYork());
+    }
+
+    public NewYorkMarketUtility(MarketSessionCalendar calendar) {
+        this.calendar = Objects.requireNonNull(calendar, "Market Session Calendar cannot be null.");
+    }
 
     @Override
     public boolean isDuringMarketHours(Instant timeToCheck) {
-        ZonedDateTime marketInstant = timeToCheck.atZone(MARKET_TIMEZONE);
-        DayOfWeek marketDayOfWeek = DayOfWeek.from(marketInstant);
-        LocalTime marketLocalTime = marketInstant.toLocalTime();
-
-        return marketDayOfWeek != DayOfWeek.SATURDAY
-                && marketDayOfWeek != DayOfWeek.SUNDAY
-                && marketLocalTime.isAfter(MARKET_OPEN_TIME)
-                && marketLocalTime.isBefore(MARKET_CLOSE_TIME);
+        return calendar.isDuringSession(timeToCheck);
     }
 }
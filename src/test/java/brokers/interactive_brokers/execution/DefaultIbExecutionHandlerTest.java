@@ -2,6 +2,7 @@ package brokers.interactive_brokers.execution;
 
 import brokers.interactive_brokers.IbController;
 import brokers.interactive_brokers.execution.order.IbOrderHandler;
+import brokers.interactive_brokers.pacing.TokenBucketIbMessageScheduler;
 import com.ib.client.Contract;
 import com.ib.client.Order;
 import com.ib.controller.ApiController;
@@ -18,6 +19,7 @@ import theta.execution.api.ExecutableOrder;
 import theta.execution.api.ExecutionAction;
 import theta.execution.api.ExecutionType;
 import theta.execution.api.OrderStatus;
+import theta.properties.PacingProperties;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -28,6 +30,8 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultIbExecutionHandlerTest {
+    private static final PacingProperties PACING_PROPERTIES = new PacingProperties(45.0, 5);
+
     private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(1000L);
 
     @Mock
@@ -43,7 +47,7 @@ class DefaultIbExecutionHandlerTest {
 
     @BeforeEach
     void setup() {
-        sut = new DefaultIbExecutionHandler(mockIbController);
+        sut = new DefaultIbExecutionHandler(new TokenBucketIbMessageScheduler(mockIbController, PACING_PROPERTIES));
     }
 
     @Test
@@ -87,6 +87,20 @@ class DefaultIbOrderHandlerTest {
                 .verify(VERIFY_TIMEOUT);
     }
 
+    @Test
+    void orderStatus_submittedWithFills_partiallyFilled() {
+        sut.orderStatus(com.ib.client.OrderStatus.get("Submitted"), 0, 100, 0.0,
+                31L, 10, 0.0, 1, "");
+        sut.orderStatus(com.ib.client.OrderStatus.get("Submitted"), 40, 60, 23.23,
+                31L, 10, 23.23, 1, "");
+
+        StepVerifier.create(sut.getOrderStatus())
+                .expectNextMatches(status -> status.getState().equals(OrderState.SUBMITTED))
+                .expectNextMatches(status -> status.getState().equals(OrderState.PARTIALLY_FILLED))
+                .thenCancel()
+                .verify(VERIFY_TIMEOUT);
+    }
+
     @Test
     void handle() {
         when(order.toString()).thenReturn("Order: []");
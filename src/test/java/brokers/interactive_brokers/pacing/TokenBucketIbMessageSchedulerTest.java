@@ -0,0 +1,127 @@
+package brokers.interactive_brokers.pacing;
+
+import brokers.interactive_brokers.IbController;
+import com.ib.controller.ApiController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import theta.properties.PacingProperties;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBucketIbMessageSchedulerTest {
+    private static final long VERIFY_TIMEOUT_MILLIS = 2000L;
+
+    @Mock
+    private IbController mockIbController;
+    @Mock
+    private ApiController mockApiController;
+
+    private final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+    private TokenBucketIbMessageScheduler sut;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(mockIbController.getController()).thenReturn(mockApiController);
+        sut = new TokenBucketIbMessageScheduler(mockIbController, new PacingProperties(20.0, 1));
+    }
+
+    @AfterEach
+    void teardown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void send_tokenAvailable_sentOnCallingThread() {
+        sut.send(IbMessagePriority.MARKET_DATA, record("first"));
+
+        assertThat(sentMessages).containsExactly("first");
+        assertThat(sut.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void send_paced_ordersAheadOfMarketData() throws InterruptedException {
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-1"));
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-2"));
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-3"));
+        sut.send(IbMessagePriority.ORDER, record("order"));
+
+        assertThat(sentMessages).containsExactly("subscribe-1");
+
+        awaitSent(4);
+
+        assertThat(sentMessages).containsExactly("subscribe-1", "order", "subscribe-2", "subscribe-3");
+        assertThat(sut.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void withdraw_waitingMessageNeverSent() throws InterruptedException {
+        final Object key = new Object();
+
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-1"));
+        sut.send(IbMessagePriority.MARKET_DATA, key, record("subscribe-2"));
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-3"));
+
+        assertThat(sut.withdraw(key)).isTrue();
+        assertThat(sut.getQueueDepth()).isEqualTo(1);
+
+        awaitSent(2);
+
+        assertThat(sentMessages).containsExactly("subscribe-1", "subscribe-3");
+        assertThat(sut.withdraw(key)).isFalse();
+    }
+
+    @Test
+    void send_sameKeyWaiting_replacedInPlace() throws InterruptedException {
+        final Object key = new Object();
+
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-1"));
+        sut.send(IbMessagePriority.MARKET_DATA, key, record("subscribe-2"));
+        sut.send(IbMessagePriority.MARKET_DATA, record("subscribe-3"));
+        sut.send(IbMessagePriority.MARKET_DATA, key, record("resubscribe-2"));
+
+        assertThat(sut.getQueueDepth()).isEqualTo(2);
+
+        awaitSent(3);
+
+        assertThat(sentMessages).containsExactly("subscribe-1", "resubscribe-2", "subscribe-3");
+    }
+
+    @Test
+    void withdraw_alreadySent() {
+        final Object key = new Object();
+
+        sut.send(IbMessagePriority.MARKET_DATA, key, record("subscribe"));
+
+        assertThat(sut.withdraw(key)).isFalse();
+        assertThat(sentMessages).containsExactly("subscribe");
+    }
+
+    private Consumer<ApiController> record(String message) {
+        return controller -> {
+            assertThat(controller).isSameAs(mockApiController);
+            sentMessages.add(message);
+        };
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + VERIFY_TIMEOUT_MILLIS;
+
+        while (sentMessages.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        // Nothing further arrives late
+        Thread.sleep(100L);
+    }
+}
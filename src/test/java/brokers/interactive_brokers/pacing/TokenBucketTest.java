@@ -0,0 +1,55 @@
+package brokers.interactive_brokers.pacing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryConsume_upToCapacity() {
+        final TokenBucket sut = new TokenBucket(10.0, 2, 0L);
+
+        assertThat(sut.tryConsume(0L)).isTrue();
+        assertThat(sut.tryConsume(0L)).isTrue();
+        assertThat(sut.tryConsume(0L)).isFalse();
+    }
+
+    @Test
+    void tryConsume_refillsAtRate() {
+        final TokenBucket sut = new TokenBucket(10.0, 1, 0L);
+        sut.tryConsume(0L);
+
+        assertThat(sut.tryConsume(SECOND / 20)).isFalse();
+        assertThat(sut.tryConsume(SECOND / 10)).isTrue();
+    }
+
+    @Test
+    void tryConsume_refillCappedAtCapacity() {
+        final TokenBucket sut = new TokenBucket(10.0, 2, 0L);
+        sut.tryConsume(0L);
+        sut.tryConsume(0L);
+
+        final long muchLater = 60 * SECOND;
+        assertThat(sut.tryConsume(muchLater)).isTrue();
+        assertThat(sut.tryConsume(muchLater)).isTrue();
+        assertThat(sut.tryConsume(muchLater)).isFalse();
+    }
+
+    @Test
+    void nanosUntilAvailable() {
+        final TokenBucket sut = new TokenBucket(10.0, 1, 0L);
+
+        assertThat(sut.nanosUntilAvailable(0L)).isZero();
+        sut.tryConsume(0L);
+        assertThat(sut.nanosUntilAvailable(0L)).isEqualTo(SECOND / 10);
+        assertThat(sut.nanosUntilAvailable(SECOND / 20)).isEqualTo(SECOND / 20);
+    }
+
+    @Test
+    void constructor_invalidRate() {
+        assertThatThrownBy(() -> new TokenBucket(0.0, 1, 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
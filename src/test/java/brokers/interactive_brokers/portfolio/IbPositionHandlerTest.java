@@ -1,6 +1,7 @@
 package brokers.interactive_brokers.portfolio;
 
 import brokers.interactive_brokers.IbController;
+import brokers.interactive_brokers.pacing.TokenBucketIbMessageScheduler;
 import com.ib.contracts.OptContract;
 import com.ib.contracts.StkContract;
 import com.ib.controller.ApiController;
@@ -16,19 +17,24 @@ import theta.domain.SecurityType;
 import theta.domain.option.Option;
 import theta.domain.stock.Stock;
 import theta.domain.ticker.DefaultTicker;
+import theta.properties.PacingProperties;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class IbPositionHandlerTest {
+    private static final PacingProperties PACING_PROPERTIES = new PacingProperties(45.0, 5);
+
     private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(1000L);
 
     @Mock
@@ -40,7 +46,7 @@ class IbPositionHandlerTest {
 
     @BeforeEach
     void setup() {
-        sut = new IbPositionHandler(mockController);
+        sut = new IbPositionHandler(new TokenBucketIbMessageScheduler(mockController, PACING_PROPERTIES));
         when(mockController.getController()).thenReturn(mockApiController);
     }
 
@@ -97,6 +103,21 @@ class IbPositionHandlerTest {
                 .verify(VERIFY_TIMEOUT);
     }
 
+    @Test
+    void position_idDerivedFromContractId() {
+        IbPositionHandler restartedSut =
+                new IbPositionHandler(new TokenBucketIbMessageScheduler(mockController, PACING_PROPERTIES));
+
+        List<Security> securities = requestPosition(sut, 123);
+        List<Security> resyncedSecurities = requestPosition(sut, 123);
+        List<Security> restartedSecurities = requestPosition(restartedSut, 123);
+        List<Security> otherSecurities = requestPosition(sut, 456);
+
+        assertThat(resyncedSecurities.get(0).getId()).isEqualTo(securities.get(0).getId());
+        assertThat(restartedSecurities.get(0).getId()).isEqualTo(securities.get(0).getId());
+        assertThat(otherSecurities.get(0).getId()).isNotEqualTo(securities.get(0).getId());
+    }
+
     @Test
     void positionEnd() {
         Flux<Security> securitiesFlux = sut.requestPositionsFromBrokerage();
@@ -118,4 +139,15 @@ class IbPositionHandlerTest {
                 .expectComplete()
                 .verify(VERIFY_TIMEOUT);
     }
+
+    private static List<Security> requestPosition(IbPositionHandler positionHandler, int contractId) {
+        Flux<Security> securitiesFlux = positionHandler.requestPositionsFromBrokerage();
+
+        StkContract contract = new StkContract("ABC");
+        contract.conid(contractId);
+        positionHandler.position("TEST_ACCOUNT", contract, 100.0, 123.1);
+        positionHandler.positionEnd();
+
+        return securitiesFlux.collectList().block(VERIFY_TIMEOUT);
+    }
 }
@@ -1,6 +1,7 @@
 package brokers.interactive_brokers.tick;
 
 import brokers.interactive_brokers.IbController;
+import brokers.interactive_brokers.pacing.TokenBucketIbMessageScheduler;
 import brokers.interactive_brokers.tick.handler.IbTickHandler;
 import brokers.interactive_brokers.tick.handler.IbTickHandlerFactory;
 import com.ib.controller.ApiController;
@@ -14,8 +15,13 @@ import reactor.test.publisher.TestPublisher;
 import theta.domain.PriceLevel;
 import theta.domain.Ticker;
 import theta.domain.ticker.DefaultTicker;
+import theta.properties.MarketDataProperties;
+import theta.properties.PacingProperties;
+import theta.properties.TickProperties;
 import theta.tick.api.Tick;
 import theta.tick.api.TickProcessor;
+import theta.tick.buffer.TickBufferType;
+import theta.tick.buffer.WaitStrategy;
 import theta.tick.domain.DefaultTick;
 import theta.tick.domain.TickType;
 
@@ -28,6 +34,9 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class IbTickSubscriberTest {
+    private static final PacingProperties PACING_PROPERTIES = new PacingProperties(45.0, 5);
+    private static final MarketDataProperties MARKET_DATA_PROPERTIES = new MarketDataProperties(100, Duration.ofSeconds(10L), Duration.ofMinutes(5L));
+
     @Mock
     private IbController mockIbController;
     @Mock
@@ -43,9 +52,19 @@ class IbTickSubscriberTest {
 
     private IbTickSubscriber sut;
 
+    private MarketDataLineManager lineManager() {
+        return new MarketDataLineManager(new TokenBucketIbMessageScheduler(mockIbController, PACING_PROPERTIES),
+                MARKET_DATA_PROPERTIES);
+    }
+
+    private static TickProperties tickProperties(TickBufferType bufferType) {
+        return new TickProperties(false, new TickProperties.Buffer(bufferType, 16, WaitStrategy.YIELD),
+                new TickProperties.Journal(false, "journal"));
+    }
+
     @BeforeEach
     void setup() {
-        sut = new IbTickSubscriber(mockIbController, mockTickHandlerFactory);
+        sut = new IbTickSubscriber(lineManager(), mockTickHandlerFactory, tickProperties(TickBufferType.SINK));
     }
 
     @Test
@@ -81,6 +100,29 @@ class IbTickSubscriberTest {
                 .verify(Duration.ofSeconds(1L));
     }
 
+    @Test
+    void getTicksAcrossStrikePrices_ringBuffer() {
+        when(mockPriceLevel.getTicker()).thenReturn(DefaultTicker.from("XYZ"));
+        when(mockIbController.getController()).thenReturn(mockApiController);
+
+        final TestPublisher<Tick> testPublisher = TestPublisher.create();
+        when(mockIbTickHandler.getTicks()).thenReturn(testPublisher.flux());
+        when(mockIbTickHandler.getPriceLevelsMonitored()).thenReturn(Set.of(mockPriceLevel));
+        when(mockTickHandlerFactory.createTickHandler(isA(Ticker.class), isA(TickProcessor.class)))
+                .thenReturn(mockIbTickHandler);
+
+        Tick firstTick = new DefaultTick(DefaultTicker.from("XYZ"), TickType.LAST, 1.0, 2.0, 3.0, Instant.EPOCH);
+
+        sut = new IbTickSubscriber(lineManager(), mockTickHandlerFactory, tickProperties(TickBufferType.RING));
+        sut.addPriceLevelMonitor(mockPriceLevel, mockTickProcessor);
+
+        StepVerifier.create(sut.getTicksAcrossStrikePrices())
+                .then(() -> testPublisher.emit(firstTick))
+                .expectNext(firstTick)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1L));
+    }
+
     @Test
     void addPriceLevelMonitor() {
         when(mockPriceLevel.getTicker()).thenReturn(DefaultTicker.from("XYZ"));
@@ -0,0 +1,341 @@
+package brokers.interactive_brokers.tick;
+
+import brokers.interactive_brokers.pacing.IbMessageScheduler;
+import brokers.interactive_brokers.tick.handler.IbTickHandler;
+import com.ib.client.TickType;
+import com.ib.contracts.StkContract;
+import com.ib.controller.ApiController;
+import com.ib.controller.ApiController.ITopMktDataHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.TickProcessor;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketDataLineManagerTest {
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(10L);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofSeconds(60L);
+
+    private static final Ticker NEAR = DefaultTicker.from("NEAR");
+    private static final Ticker FAR = DefaultTicker.from("FAR");
+
+    @Mock
+    private IbMessageScheduler mockIbMessageScheduler;
+    @Mock
+    private ApiController mockApiController;
+    @Mock
+    private TickProcessor mockTickProcessor;
+
+    private final VirtualTimeScheduler virtualTimeScheduler = VirtualTimeScheduler.create();
+
+    private IbTickHandler nearHandler;
+    private IbTickHandler farHandler;
+
+    private MarketDataLineManager sut;
+
+    @BeforeEach
+    void setup() {
+        // Messages are sent straight away
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<ApiController>>getArgument(invocation.getArguments().length - 1).accept(mockApiController);
+            return null;
+        }).when(mockIbMessageScheduler).send(any(), any());
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<ApiController>>getArgument(2).accept(mockApiController);
+            return null;
+        }).when(mockIbMessageScheduler).send(any(), any(), any());
+
+        nearHandler = buildHandler(NEAR);
+        farHandler = buildHandler(FAR);
+
+        sut = new MarketDataLineManager(mockIbMessageScheduler, 1, POLL_INTERVAL, MAX_POLL_INTERVAL,
+                virtualTimeScheduler);
+    }
+
+    @Test
+    void subscribe_lineAvailable_streams() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(farHandler));
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+        assertThat(sut.getPolledCount()).isZero();
+    }
+
+    @Test
+    void subscribe_noLineAvailable_snapshots() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        verify(mockApiController, never()).reqTopMktData(any(), any(), eq(false), eq(nearHandler));
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(true), any());
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+        assertThat(sut.getPolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void poll_nearerTickerTakesLine() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        farHandler.tickPrice(TickType.LAST, 150.0, 0);
+        snapshotHandler().tickPrice(TickType.LAST, 101.0, 0);
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController).cancelTopMktData(farHandler);
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(nearHandler));
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+        assertThat(sut.getPolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void poll_streamingTickerKeepsLineWhenAboutAsNear() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        farHandler.tickPrice(TickType.LAST, 110.0, 0);
+        snapshotHandler().tickPrice(TickType.LAST, 109.0, 0);
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController, never()).cancelTopMktData(farHandler);
+    }
+
+    @Test
+    void poll_snapshotOutstanding_notRequestedAgain() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController, times(1)).reqTopMktData(any(), any(), eq(true), any());
+
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+        snapshotHandler.tickSnapshotEnd();
+
+        verify(mockApiController).cancelTopMktData(snapshotHandler);
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController, times(2)).reqTopMktData(any(), any(), eq(true), any());
+    }
+
+    @Test
+    void poll_snapshotNeverEnds_cancelledAndRequestedAgain() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+
+        // Deadline is a max poll interval after the next snapshot was due
+        virtualTimeScheduler.advanceTimeBy(MAX_POLL_INTERVAL);
+
+        verify(mockApiController, never()).cancelTopMktData(snapshotHandler);
+        verify(mockApiController, times(1)).reqTopMktData(any(), any(), eq(true), any());
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController).cancelTopMktData(snapshotHandler);
+        verify(mockApiController, times(2)).reqTopMktData(any(), any(), eq(true), any());
+        assertThat(snapshotHandler()).isNotSameAs(snapshotHandler);
+    }
+
+    @Test
+    void unsubscribe_streaming_lineGivenToPolledTicker() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        sut.unsubscribe(FAR);
+
+        verify(mockApiController).cancelTopMktData(farHandler);
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(nearHandler));
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+        assertThat(sut.getPolledCount()).isZero();
+    }
+
+    @Test
+    void unsubscribe_queuedSnapshotWithdrawn() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+        when(mockIbMessageScheduler.withdraw(snapshotHandler)).thenReturn(true);
+
+        sut.unsubscribe(NEAR);
+
+        verify(mockIbMessageScheduler).withdraw(snapshotHandler);
+        assertThat(sut.getPolledCount()).isZero();
+    }
+
+    @Test
+    void unsubscribe_lateSnapshotIgnored() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+        sut.unsubscribe(NEAR);
+        nearHandler.cancel();
+
+        snapshotHandler.tickPrice(TickType.LAST, 101.0, 0);
+
+        assertThat(nearHandler.getDistanceToTrigger()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void poll_quietFarTicker_polledSlowlyEvenWithFreeLine() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        farHandler.tickPrice(TickType.LAST, 150.0, 0);
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+        farHandler.tickPrice(TickType.LAST, 150.15, 0);
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController).cancelTopMktData(farHandler);
+        verify(mockApiController, times(1)).reqTopMktData(any(), any(), eq(true), any());
+        assertThat(sut.getStreamingCount()).isZero();
+        assertThat(sut.getPollIntervalNanos(FAR)).isEqualTo(MAX_POLL_INTERVAL.toNanos());
+
+        snapshotHandler().tickSnapshotEnd();
+        virtualTimeScheduler.advanceTimeBy(MAX_POLL_INTERVAL.minus(POLL_INTERVAL));
+
+        verify(mockApiController, times(1)).reqTopMktData(any(), any(), eq(true), any());
+
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController, times(2)).reqTopMktData(any(), any(), eq(true), any());
+    }
+
+    @Test
+    void getPollIntervalNanos_volatileTickerPolledSooner() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        farHandler.tickPrice(TickType.LAST, 150.0, 0);
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+        farHandler.tickPrice(TickType.LAST, 120.0, 0);
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        assertThat(sut.getPollIntervalNanos(FAR)).isEqualTo(POLL_INTERVAL.toNanos());
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getPollIntervalNanos_noPrice() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        assertThat(sut.getPollIntervalNanos(FAR)).isEqualTo(POLL_INTERVAL.toNanos());
+    }
+
+    @Test
+    void onSessionClose_linesCancelledAndPollingStopped() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+
+        // Only the queued snapshot can still be withdrawn, the streaming request has been sent
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+        when(mockIbMessageScheduler.withdraw(any())).thenAnswer(invocation -> invocation.getArgument(0) == snapshotHandler);
+
+        sut.onSessionClose();
+        virtualTimeScheduler.advanceTimeBy(MAX_POLL_INTERVAL.multipliedBy(2L));
+
+        verify(mockApiController).cancelTopMktData(farHandler);
+        verify(mockIbMessageScheduler).withdraw(snapshotHandler);
+        verify(mockApiController, times(1)).reqTopMktData(any(), any(), eq(true), any());
+        assertThat(sut.isSuspended()).isTrue();
+        assertThat(sut.getStreamingCount()).isZero();
+        assertThat(sut.getPolledCount()).isEqualTo(2);
+    }
+
+    @Test
+    void onSessionWarmUp_cancelStillQueued_withdrawnInsteadOfRequestingAgain() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        // The streaming request has been sent, but the cancel waits for pacing
+        lenient().doNothing().when(mockIbMessageScheduler).send(any(), argThat(key -> key != farHandler), any());
+        when(mockIbMessageScheduler.withdraw(any())).thenAnswer(invocation -> invocation.getArgument(0) != farHandler);
+
+        sut.onSessionClose();
+        sut.onSessionWarmUp();
+
+        verify(mockApiController, never()).cancelTopMktData(farHandler);
+        verify(mockApiController, times(1)).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(farHandler));
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_suspended_requestedAtWarmUp() {
+        sut.onSessionClose();
+
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+
+        verify(mockApiController, never()).reqTopMktData(any(), any(), anyBoolean(), any());
+
+        sut.onSessionWarmUp();
+
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(farHandler));
+        assertThat(sut.isSuspended()).isFalse();
+    }
+
+    @Test
+    void onSessionWarmUp_linesRequestedAndOthersSnapshotted() {
+        sut.subscribe(FAR, new StkContract(FAR.getSymbol()), farHandler);
+        sut.subscribe(NEAR, new StkContract(NEAR.getSymbol()), nearHandler);
+        final ITopMktDataHandler snapshotHandler = snapshotHandler();
+        when(mockIbMessageScheduler.withdraw(any())).thenAnswer(invocation -> invocation.getArgument(0) == snapshotHandler);
+
+        // Last prices before the close rank NEAR ahead of FAR
+        farHandler.tickPrice(TickType.LAST, 150.0, 0);
+        nearHandler.tickPrice(TickType.LAST, 101.0, 0);
+        sut.onSessionClose();
+
+        sut.onSessionWarmUp();
+
+        verify(mockApiController).reqTopMktData(isA(StkContract.class), eq(""), eq(false), eq(nearHandler));
+        verify(mockApiController, times(2)).reqTopMktData(any(), any(), eq(true), any());
+        assertThat(sut.getStreamingCount()).isEqualTo(1);
+        assertThat(sut.getPolledCount()).isEqualTo(1);
+
+        snapshotHandler().tickSnapshotEnd();
+        virtualTimeScheduler.advanceTimeBy(POLL_INTERVAL);
+
+        verify(mockApiController, times(3)).reqTopMktData(any(), any(), eq(true), any());
+    }
+
+    @Test
+    void constructor_invalidPollInterval() {
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> new MarketDataLineManager(mockIbMessageScheduler, 1, Duration.ZERO, MAX_POLL_INTERVAL,
+                        virtualTimeScheduler));
+    }
+
+    private ITopMktDataHandler snapshotHandler() {
+        final ArgumentCaptor<ITopMktDataHandler> handlerCaptor = ArgumentCaptor.forClass(ITopMktDataHandler.class);
+        verify(mockApiController, atLeastOnce()).reqTopMktData(any(), any(), eq(true), handlerCaptor.capture());
+
+        return handlerCaptor.getValue();
+    }
+
+    private IbTickHandler buildHandler(Ticker ticker) {
+        final IbTickHandler ibTickHandler = new IbTickHandler(ticker, mockTickProcessor);
+        ibTickHandler.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 100.0, PriceLevelDirection.FALLS_BELOW));
+
+        return ibTickHandler;
+    }
+}
@@ -0,0 +1,57 @@
+package brokers.interactive_brokers.tick;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PriceVolatilityTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void getPerSecond_unknownUntilTwoSamples() {
+        final PriceVolatility sut = new PriceVolatility();
+
+        assertThat(sut.getPerSecond()).isNaN();
+
+        sut.sample(100.0, 0L);
+
+        assertThat(sut.getPerSecond()).isNaN();
+    }
+
+    @Test
+    void getPerSecond_scaledByTimeBetweenSamples() {
+        final PriceVolatility oneSecond = new PriceVolatility();
+        oneSecond.sample(100.0, 0L);
+        oneSecond.sample(101.0, SECOND);
+
+        final PriceVolatility fourSeconds = new PriceVolatility();
+        fourSeconds.sample(100.0, 0L);
+        fourSeconds.sample(101.0, 4 * SECOND);
+
+        assertThat(oneSecond.getPerSecond()).isCloseTo(Math.log(1.01), within(1e-12));
+        assertThat(fourSeconds.getPerSecond()).isCloseTo(oneSecond.getPerSecond() / 2.0, within(1e-12));
+    }
+
+    @Test
+    void getPerSecond_decaysWhenQuiet() {
+        final PriceVolatility sut = new PriceVolatility();
+        sut.sample(100.0, 0L);
+        sut.sample(101.0, SECOND);
+
+        final double afterMove = sut.getPerSecond();
+        sut.sample(101.0, 2 * SECOND);
+
+        assertThat(sut.getPerSecond()).isLessThan(afterMove).isGreaterThan(0.0);
+    }
+
+    @Test
+    void sample_noPriceIgnored() {
+        final PriceVolatility sut = new PriceVolatility();
+        sut.sample(100.0, 0L);
+        sut.sample(-1.0, SECOND);
+        sut.sample(100.0, 2 * SECOND);
+
+        assertThat(sut.getPerSecond()).isZero();
+    }
+}
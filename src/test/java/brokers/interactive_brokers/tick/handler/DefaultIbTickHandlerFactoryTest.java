@@ -6,7 +6,10 @@ import org.mockito.Mock;
 import theta.api.TickHandler;
 import theta.domain.Ticker;
 import theta.domain.ticker.DefaultTicker;
+import theta.properties.TickProperties;
 import theta.tick.api.TickProcessor;
+import theta.tick.buffer.TickBufferType;
+import theta.tick.buffer.WaitStrategy;
 import theta.tick.processor.LastTickProcessor;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,7 +23,8 @@ class DefaultIbTickHandlerFactoryTest {
 
     @BeforeEach
     void setup() {
-        sut = new DefaultIbTickHandlerFactory();
+        sut = new DefaultIbTickHandlerFactory(new TickProperties(false, new TickProperties.Buffer(TickBufferType.SINK, 4096, WaitStrategy.PARK),
+                new TickProperties.Journal(false, "journal")));
     }
 
     @Test
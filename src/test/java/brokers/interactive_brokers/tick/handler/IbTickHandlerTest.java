@@ -1,16 +1,23 @@
 package brokers.interactive_brokers.tick.handler;
 
 import com.ib.client.TickType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
 import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
 import theta.domain.ticker.DefaultTicker;
 import theta.tick.api.Tick;
 import theta.tick.api.TickProcessor;
@@ -22,6 +29,7 @@ import java.time.temporal.ChronoField;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -33,12 +41,10 @@ class IbTickHandlerTest {
 
     @Mock
     private TickProcessor mockTickProcessor;
-    @Mock
-    private PriceLevel mockPriceLevel;
-
     private IbTickHandler sut;
 
     private final Ticker TICKER = DefaultTicker.from("ABC");
+    private final PriceLevel PRICE_LEVEL = DefaultPriceLevel.from(TICKER, 10.0, PriceLevelDirection.RISES_ABOVE);
 
     @BeforeEach
     void setup() {
@@ -48,8 +54,7 @@ class IbTickHandlerTest {
     @Test
     void getTicks() {
         when(mockTickProcessor.isApplicable(eq(theta.tick.domain.TickType.LAST))).thenReturn(true);
-        when(mockTickProcessor.processTick(isA(Tick.class), isA(PriceLevel.class))).thenReturn(true);
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
+        when(mockTickProcessor.getCrossingPrice(isA(Tick.class), isA(PriceLevelDirection.class))).thenReturn(10.99);
 
         Instant lastTimestamp = Instant.now().with(ChronoField.NANO_OF_SECOND, 0);
 
@@ -58,7 +63,7 @@ class IbTickHandlerTest {
 
         Flux<Tick> tickFlux = sut.getTicks();
 
-        sut.addPriceLevelMonitor(mockPriceLevel);
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
         sut.tickString(TickType.LAST_TIMESTAMP, String.valueOf(lastTimestamp.getEpochSecond()));
         sut.tickPrice(TickType.LAST, 10.99, 0);
         sut.cancel();
@@ -72,15 +77,14 @@ class IbTickHandlerTest {
     @Test
     void tickPrice() {
         when(mockTickProcessor.isApplicable(isA(theta.tick.domain.TickType.class))).thenReturn(true);
-        when(mockTickProcessor.processTick(isA(Tick.class), isA(PriceLevel.class))).thenReturn(true);
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
+        when(mockTickProcessor.getCrossingPrice(isA(Tick.class), isA(PriceLevelDirection.class))).thenReturn(10.99);
 
         Instant lastTimestamp = Instant.now();
         double price = 10.99;
 
         Flux<Tick> tickFlux = sut.getTicks();
 
-        sut.addPriceLevelMonitor(mockPriceLevel);
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
         sut.tickPrice(TickType.BID, price, 0);
         sut.tickPrice(TickType.CLOSE, 11.11, 0);
 
@@ -120,34 +124,130 @@ class IbTickHandlerTest {
 
     @Test
     void addPriceLevelMonitor_count() {
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
-        sut.addPriceLevelMonitor(mockPriceLevel);
-        assertThat(sut.addPriceLevelMonitor(mockPriceLevel)).isEqualTo(1);
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+        assertThat(sut.addPriceLevelMonitor(PRICE_LEVEL)).isEqualTo(1);
     }
 
     @Test
     void removePriceLevelMonitor_count() {
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
-        sut.addPriceLevelMonitor(mockPriceLevel);
-        assertThat(sut.removePriceLevelMonitor(mockPriceLevel)).isEqualTo(0);
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+        assertThat(sut.removePriceLevelMonitor(PRICE_LEVEL)).isEqualTo(0);
     }
 
     @Test
     void removePriceLevelMonitor_cancelFailure() {
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
-        sut.addPriceLevelMonitor(mockPriceLevel);
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
 
         // called twice, so canceled twice. results in exception
-        sut.removePriceLevelMonitor(mockPriceLevel);
+        sut.removePriceLevelMonitor(PRICE_LEVEL);
         assertThatExceptionOfType(Sinks.EmissionException.class)
-                .isThrownBy(() -> sut.removePriceLevelMonitor(mockPriceLevel))
+                .isThrownBy(() -> sut.removePriceLevelMonitor(PRICE_LEVEL))
                 .withMessage("Sink emission failed with FAIL_TERMINATED");
     }
 
+    @Test
+    void getTicks_notCrossed() {
+        when(mockTickProcessor.isApplicable(isA(theta.tick.domain.TickType.class))).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(isA(Tick.class), isA(PriceLevelDirection.class))).thenReturn(9.99);
+
+        Flux<Tick> tickFlux = sut.getTicks();
+
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+
+        StepVerifier.create(tickFlux)
+                .then(() -> {
+                    sut.tickPrice(TickType.BID, 9.99, 0);
+                    sut.cancel();
+                })
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void getTicks_flyweight() {
+        when(mockTickProcessor.isApplicable(eq(theta.tick.domain.TickType.LAST))).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(isA(Tick.class), isA(PriceLevelDirection.class))).thenReturn(10.99);
+
+        IbTickHandler flyweightSut = new IbTickHandler(TICKER, mockTickProcessor, true);
+
+        Instant lastTimestamp = Instant.now().with(ChronoField.NANO_OF_SECOND, 0);
+
+        Tick expectTick = new DefaultTick(TICKER, theta.tick.domain.TickType.LAST, 10.99,
+                -1.0, -1.0, lastTimestamp);
+
+        flyweightSut.addPriceLevelMonitor(PRICE_LEVEL);
+
+        StepVerifier.create(flyweightSut.getTicks())
+                .then(() -> {
+                    flyweightSut.tickString(TickType.LAST_TIMESTAMP, String.valueOf(lastTimestamp.getEpochSecond()));
+                    flyweightSut.tickPrice(TickType.LAST, 10.99, 0);
+                    flyweightSut.cancel();
+                })
+                .expectNext(expectTick)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void getTicks_flyweightNoSubscriber() {
+        when(mockTickProcessor.isApplicable(isA(theta.tick.domain.TickType.class))).thenReturn(true);
+
+        IbTickHandler flyweightSut = new IbTickHandler(TICKER, mockTickProcessor, true);
+
+        flyweightSut.addPriceLevelMonitor(PRICE_LEVEL);
+        flyweightSut.tickPrice(TickType.BID, 10.99, 0);
+
+        assertThat(flyweightSut.toString()).contains("bidPrice=10.99");
+    }
+
+    @Test
+    void getTicks_flyweightSubscriberWithoutDemand_tickDropped() {
+        when(mockTickProcessor.isApplicable(isA(theta.tick.domain.TickType.class))).thenReturn(true);
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+
+        try {
+            final Ticker ticker = DefaultTicker.from("DROPPED");
+            final IbTickHandler flyweightSut = new IbTickHandler(ticker, mockTickProcessor, true);
+            flyweightSut.addPriceLevelMonitor(DefaultPriceLevel.from(ticker, 10.0, PriceLevelDirection.RISES_ABOVE));
+
+            // Subscribes without ever requesting, like a subscriber that has fallen behind
+            flyweightSut.getTicks().subscribe(new BaseSubscriber<>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                }
+            });
+
+            assertThatCode(() -> flyweightSut.tickPrice(TickType.BID, 10.99, 0)).doesNotThrowAnyException();
+            assertThat(meterRegistry.get("theta.ticks.dropped").tag("ticker", "DROPPED").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
     @Test
     void getPriceLevelsMonitored() {
-        when(mockPriceLevel.getTicker()).thenReturn(TICKER);
-        sut.addPriceLevelMonitor(mockPriceLevel);
-        assertThat(sut.getPriceLevelsMonitored()).isEqualTo(Set.of(mockPriceLevel));
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+        assertThat(sut.getPriceLevelsMonitored()).isEqualTo(Set.of(PRICE_LEVEL));
+    }
+
+    @Test
+    void getDistanceToTrigger() {
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+        sut.tickPrice(TickType.ASK, 8.0, 0);
+
+        assertThat(sut.getDistanceToTrigger()).isEqualTo(0.25);
+    }
+
+    @Test
+    void getDistanceToTrigger_noPrice() {
+        sut.addPriceLevelMonitor(PRICE_LEVEL);
+
+        assertThat(sut.getDistanceToTrigger()).isEqualTo(Double.POSITIVE_INFINITY);
+
+        sut.tickPrice(TickType.LAST, -1.0, 0);
+
+        assertThat(sut.getDistanceToTrigger()).isEqualTo(Double.POSITIVE_INFINITY);
     }
 }
@@ -0,0 +1,161 @@
+package brokers.interactive_brokers.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class ConcurrentIntMapTest {
+
+    private final ConcurrentIntMap<String> sut = new ConcurrentIntMap<>();
+
+    @Test
+    void put_get() {
+        assertThat(sut.put(1, "one")).isNull();
+        assertThat(sut.put(0, "zero")).isNull();
+        assertThat(sut.put(-1, "minus one")).isNull();
+
+        assertThat(sut.get(1)).isEqualTo("one");
+        assertThat(sut.get(0)).isEqualTo("zero");
+        assertThat(sut.get(-1)).isEqualTo("minus one");
+        assertThat(sut.get(2)).isNull();
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_replacesValue() {
+        sut.put(1, "one");
+
+        assertThat(sut.put(1, "uno")).isEqualTo("one");
+        assertThat(sut.get(1)).isEqualTo("uno");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsent_keepsValue() {
+        sut.put(1, "one");
+
+        assertThat(sut.putIfAbsent(1, "uno")).isEqualTo("one");
+        assertThat(sut.putIfAbsent(2, "two")).isNull();
+        assertThat(sut.get(1)).isEqualTo("one");
+        assertThat(sut.get(2)).isEqualTo("two");
+    }
+
+    @Test
+    void computeIfAbsent_computesOnce() {
+        assertThat(sut.computeIfAbsent(7, Integer::toString)).isEqualTo("7");
+        assertThat(sut.computeIfAbsent(7, key -> "other")).isEqualTo("7");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove() {
+        sut.put(1, "one");
+
+        assertThat(sut.remove(1)).isEqualTo("one");
+        assertThat(sut.remove(1)).isNull();
+        assertThat(sut.get(1)).isNull();
+        assertThat(sut.containsKey(1)).isFalse();
+        assertThat(sut.isEmpty()).isTrue();
+    }
+
+    @Test
+    void remove_probingContinuesPastRemovedEntry() {
+        // Keys sharing a probe sequence are found after an earlier one is removed
+        for (int key = 0; key < 64; key++) {
+            sut.put(key, Integer.toString(key));
+        }
+        for (int key = 0; key < 64; key += 2) {
+            sut.remove(key);
+        }
+
+        for (int key = 1; key < 64; key += 2) {
+            assertThat(sut.get(key)).isEqualTo(Integer.toString(key));
+        }
+        assertThat(sut.size()).isEqualTo(32);
+    }
+
+    @Test
+    void put_afterRemove_reusesKey() {
+        sut.put(1, "one");
+        sut.remove(1);
+
+        assertThat(sut.put(1, "uno")).isNull();
+        assertThat(sut.get(1)).isEqualTo("uno");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_growsPastInitialCapacity() {
+        for (int key = 0; key < 10_000; key++) {
+            sut.put(key * 31, Integer.toString(key));
+        }
+
+        for (int key = 0; key < 10_000; key++) {
+            assertThat(sut.get(key * 31)).isEqualTo(Integer.toString(key));
+        }
+        assertThat(sut.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void putAndRemove_manyTimes_sizeStaysBounded() {
+        for (int key = 0; key < 10_000; key++) {
+            sut.put(key, "value");
+            sut.remove(key);
+        }
+
+        assertThat(sut.isEmpty()).isTrue();
+        assertThat(sut.get(9_999)).isNull();
+    }
+
+    @Test
+    void put_nullValue() {
+        assertThatNullPointerException().isThrownBy(() -> sut.put(1, null));
+    }
+
+    @Test
+    void constructor_negativeExpectedSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ConcurrentIntMap<String>(-1));
+    }
+
+    @Test
+    void get_concurrentWithRebuilds_seesEveryEarlierKey() throws Exception {
+        final int keys = 50_000;
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+
+        try {
+            final Future<?> writer = executor.submit(() -> {
+                started.countDown();
+                for (int key = 0; key < keys; key++) {
+                    sut.put(key, Integer.toString(key));
+                }
+                writing.set(false);
+            });
+
+            started.await();
+            while (writing.get()) {
+                // A key is visible once a later key is
+                final int size = sut.size();
+                for (int key = 0; key < size; key += 97) {
+                    assertThat(sut.get(key)).isEqualTo(Integer.toString(key));
+                }
+            }
+
+            writer.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sut.size()).isEqualTo(keys);
+    }
+}
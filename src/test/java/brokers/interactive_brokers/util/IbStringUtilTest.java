@@ -130,4 +130,27 @@ class IbStringUtilTest {
     void toStringContract_null() {
         assertThat(IbStringUtil.toStringContract(null)).isEqualTo("null");
     }
+
+    @Test
+    void lazyContract() {
+        Contract contract = new Contract();
+        contract.symbol("ABC");
+        contract.secType("STK");
+
+        Object lazyContract = IbStringUtil.lazyContract(contract);
+        contract.symbol("XYZ");
+
+        assertThat(lazyContract).hasToString(IbStringUtil.toStringContract(contract));
+    }
+
+    @Test
+    void lazyOrder() {
+        Order order = new Order();
+        assertThat(IbStringUtil.lazyOrder(order)).hasToString(IbStringUtil.toStringOrder(order));
+    }
+
+    @Test
+    void lazyOrderState_null() {
+        assertThat(IbStringUtil.lazyOrderState(null)).hasToString(IbStringUtil.toStringOrderState(null));
+    }
 }
@@ -0,0 +1,131 @@
+package theta.actor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+import theta.properties.ActorProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickerActorsTest {
+    private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(1000L);
+
+    private static final Ticker ABC = DefaultTicker.from("ABC");
+    private static final Ticker XYZ = DefaultTicker.from("XYZ");
+
+    private final TickerActors sut = new TickerActors(new ActorProperties(4));
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void execute_tasksOfTickerRunInOrderOneAtATime() throws InterruptedException {
+        final int taskCount = 10_000;
+        final List<Integer> order = new ArrayList<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            final int taskNumber = i;
+            sut.execute(ABC, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                // Not thread-safe, so only correct if tasks are serialized
+                order.add(taskNumber);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5L, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlaps).hasValue(0);
+        assertThat(order).hasSize(taskCount).isSorted();
+    }
+
+    @Test
+    void execute_tickersRunInParallel() throws InterruptedException {
+        final CountDownLatch bothRunning = new CountDownLatch(2);
+        final CountDownLatch done = new CountDownLatch(2);
+
+        for (final Ticker ticker : List.of(ABC, XYZ)) {
+            sut.execute(ticker, () -> {
+                bothRunning.countDown();
+                try {
+                    // Only returns if the other Ticker runs at the same time
+                    if (bothRunning.await(1L, TimeUnit.SECONDS)) {
+                        done.countDown();
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertThat(done.await(2L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_failedTaskDoesNotStopLaterTasks() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        sut.execute(ABC, () -> {
+            throw new IllegalStateException("Test Exception");
+        });
+        sut.execute(ABC, done::countDown);
+
+        assertThat(done.await(1L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit() {
+        StepVerifier.create(sut.submit(ABC, () -> "value"))
+                .expectNext("value")
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void submit_exception() {
+        StepVerifier.create(sut.submit(ABC, () -> {
+                    throw new IllegalStateException("Test Exception");
+                }))
+                .expectError(IllegalStateException.class)
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void direct_taskSentFromTaskOfSameTickerRunsAfterIt() {
+        final TickerActors direct = TickerActors.direct();
+        final List<String> order = new ArrayList<>();
+
+        direct.execute(ABC, () -> {
+            direct.execute(ABC, () -> order.add("second"));
+            order.add("first");
+        });
+
+        assertThat(order).containsExactly("first", "second");
+    }
+
+    @Test
+    void shutdown_tasksDropped() {
+        sut.shutdown();
+
+        final AtomicInteger runs = new AtomicInteger();
+        sut.execute(ABC, runs::incrementAndGet);
+
+        assertThat(runs).hasValue(0);
+    }
+}
@@ -0,0 +1,88 @@
+package theta.connection.manager;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import theta.api.ConnectionHandler;
+import theta.connection.domain.ConnectionAddress;
+import theta.connection.domain.ConnectionState;
+import theta.connection.domain.ConnectionStatus;
+import theta.domain.manager.ManagerState;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultConnectionManagerTest {
+    private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(1000L);
+
+    @Mock
+    private ConnectionHandler mockConnectionHandler;
+    @Mock
+    private ConnectionAddress mockConnectionAddress;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DefaultConnectionManager sut;
+
+    @BeforeEach
+    void setup() {
+        Metrics.addRegistry(meterRegistry);
+        sut = new DefaultConnectionManager(mockConnectionHandler, mockConnectionAddress);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void connect() {
+        when(mockConnectionAddress.getHostAddress()).thenReturn("127.0.0.1");
+        when(mockConnectionHandler.connect(anyString(), anyInt()))
+                .thenReturn(Mono.just(ConnectionStatus.of(ConnectionState.CONNECTED)));
+
+        StepVerifier.create(sut.connect())
+                .expectNextMatches(status -> status.getState() == ConnectionState.CONNECTED)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertThat(sut.isConnected()).isTrue();
+    }
+
+    @Test
+    void connect_again_countedAsReconnect() {
+        when(mockConnectionAddress.getHostAddress()).thenReturn("127.0.0.1");
+        when(mockConnectionHandler.connect(anyString(), anyInt()))
+                .thenAnswer(invocation -> Mono.just(ConnectionStatus.of(ConnectionState.CONNECTED)));
+
+        StepVerifier.create(sut.connect()).expectNextCount(1L).expectComplete().verify(VERIFY_TIMEOUT);
+
+        assertThat(meterRegistry.get("theta.connection.reconnects").counter().count()).isZero();
+
+        StepVerifier.create(sut.connect()).expectNextCount(1L).expectComplete().verify(VERIFY_TIMEOUT);
+
+        assertThat(meterRegistry.get("theta.connection.reconnects").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shutdown() {
+        sut.shutdown();
+
+        verify(mockConnectionHandler).disconnect();
+        assertThat(sut.isConnected()).isFalse();
+        assertThat(sut.getManagerStatus().getState()).isEqualTo(ManagerState.STOPPING);
+    }
+}
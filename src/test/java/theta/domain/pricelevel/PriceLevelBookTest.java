@@ -0,0 +1,109 @@
+package theta.domain.pricelevel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceLevelBookTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+    private static final PriceLevel FALLS_BELOW_10 = DefaultPriceLevel.from(TICKER, 10.0, PriceLevelDirection.FALLS_BELOW);
+    private static final PriceLevel FALLS_BELOW_20 = DefaultPriceLevel.from(TICKER, 20.0, PriceLevelDirection.FALLS_BELOW);
+    private static final PriceLevel RISES_ABOVE_30 = DefaultPriceLevel.from(TICKER, 30.0, PriceLevelDirection.RISES_ABOVE);
+    private static final PriceLevel RISES_ABOVE_40 = DefaultPriceLevel.from(TICKER, 40.0, PriceLevelDirection.RISES_ABOVE);
+
+    private PriceLevelBook sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new PriceLevelBook();
+        sut.add(FALLS_BELOW_20);
+        sut.add(RISES_ABOVE_40);
+        sut.add(FALLS_BELOW_10);
+        sut.add(RISES_ABOVE_30);
+    }
+
+    @Test
+    void add_duplicate() {
+        assertThat(sut.add(FALLS_BELOW_10)).isEqualTo(4);
+    }
+
+    @Test
+    void remove() {
+        assertThat(sut.remove(FALLS_BELOW_10)).isTrue();
+        assertThat(sut.toSet()).isEqualTo(Set.of(FALLS_BELOW_20, RISES_ABOVE_30, RISES_ABOVE_40));
+    }
+
+    @Test
+    void remove_nonExistent() {
+        sut.remove(RISES_ABOVE_30);
+        assertThat(sut.remove(RISES_ABOVE_30)).isFalse();
+        assertThat(sut.size()).isEqualTo(3);
+    }
+
+    @Test
+    void isCrossed_betweenLevels() {
+        assertThat(sut.isCrossed(25.0, 25.0)).isFalse();
+        assertThat(sut.getCrossed(25.0, 25.0)).isEmpty();
+    }
+
+    @Test
+    void isCrossed_atLevel() {
+        assertThat(sut.isCrossed(20.0, 30.0)).isFalse();
+    }
+
+    @Test
+    void getCrossed_fallsBelow() {
+        assertThat(sut.isCrossed(15.0, 15.0)).isTrue();
+        assertThat(sut.getCrossed(15.0, 15.0)).containsExactly(FALLS_BELOW_20);
+    }
+
+    @Test
+    void getCrossed_fallsBelowAll() {
+        assertThat(sut.getCrossed(5.0, 5.0)).containsExactly(FALLS_BELOW_10, FALLS_BELOW_20);
+    }
+
+    @Test
+    void getCrossed_risesAbove() {
+        assertThat(sut.isCrossed(45.0, 45.0)).isTrue();
+        assertThat(sut.getCrossed(45.0, 45.0)).containsExactly(RISES_ABOVE_30, RISES_ABOVE_40);
+    }
+
+    @Test
+    void getCrossed_differentCrossingPrices() {
+        assertThat(sut.getCrossed(15.0, 35.0)).containsExactly(FALLS_BELOW_20, RISES_ABOVE_30);
+    }
+
+    @Test
+    void getCrossed_notANumber() {
+        assertThat(sut.isCrossed(Double.NaN, Double.NaN)).isFalse();
+        assertThat(sut.getCrossed(Double.NaN, Double.NaN)).isEmpty();
+    }
+
+    @Test
+    void distanceToNearest() {
+        assertThat(sut.distanceToNearest(24.0)).isEqualTo(4.0);
+        assertThat(sut.distanceToNearest(27.0)).isEqualTo(3.0);
+        assertThat(sut.distanceToNearest(50.0)).isEqualTo(10.0);
+        assertThat(sut.distanceToNearest(10.0)).isZero();
+    }
+
+    @Test
+    void distanceToNearest_noPriceOrLevels() {
+        assertThat(sut.distanceToNearest(Double.NaN)).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(new PriceLevelBook().distanceToNearest(10.0)).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    void isEmpty() {
+        assertThat(new PriceLevelBook().isEmpty()).isTrue();
+        assertThat(new PriceLevelBook().isCrossed(1.0, 1.0)).isFalse();
+    }
+}
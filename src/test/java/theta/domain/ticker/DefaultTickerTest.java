@@ -0,0 +1,34 @@
+package theta.domain.ticker;
+
+import org.junit.jupiter.api.Test;
+import theta.domain.Ticker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultTickerTest {
+
+    @Test
+    void from_interned() {
+        final Ticker ticker = DefaultTicker.from("INTERNED");
+
+        assertThat(DefaultTicker.from("INTERNED")).isSameAs(ticker);
+        assertThat(DefaultTicker.from("INTERNED").getId()).isEqualTo(ticker.getId());
+    }
+
+    @Test
+    void getId_denseInOrderOfFirstUse() {
+        final Ticker first = DefaultTicker.from("FIRST_DENSE");
+        final Ticker second = DefaultTicker.from("SECOND_DENSE");
+
+        assertThat(first.getId()).isNotNegative();
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+    }
+
+    @Test
+    void hashCode_isId() {
+        final Ticker ticker = DefaultTicker.from("HASHED");
+
+        assertThat(ticker.hashCode()).isEqualTo(ticker.getId());
+        assertThat(ticker).isEqualTo(DefaultTicker.from("HASHED")).isNotEqualTo(DefaultTicker.from("OTHER_HASHED"));
+    }
+}
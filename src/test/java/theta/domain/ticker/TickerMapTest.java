@@ -0,0 +1,89 @@
+package theta.domain.ticker;
+
+import org.junit.jupiter.api.Test;
+import theta.domain.Ticker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class TickerMapTest {
+
+    private static final Ticker ABC = DefaultTicker.from("ABC");
+    private static final Ticker XYZ = DefaultTicker.from("XYZ");
+
+    private final TickerMap<String> sut = new TickerMap<>();
+
+    @Test
+    void put_get() {
+        assertThat(sut.put(ABC, "abc")).isNull();
+
+        assertThat(sut.get(ABC)).isEqualTo("abc");
+        assertThat(sut.get(XYZ)).isNull();
+        assertThat(sut.containsKey(ABC)).isTrue();
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_replacesValue() {
+        sut.put(ABC, "abc");
+
+        assertThat(sut.put(ABC, "ABC")).isEqualTo("abc");
+        assertThat(sut.get(ABC)).isEqualTo("ABC");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void computeIfAbsent_computesOnce() {
+        assertThat(sut.computeIfAbsent(ABC, Ticker::getSymbol)).isEqualTo("ABC");
+        assertThat(sut.computeIfAbsent(ABC, ticker -> "other")).isEqualTo("ABC");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove() {
+        sut.put(ABC, "abc");
+
+        assertThat(sut.remove(ABC)).isEqualTo("abc");
+        assertThat(sut.remove(ABC)).isNull();
+        assertThat(sut.get(ABC)).isNull();
+        assertThat(sut.isEmpty()).isTrue();
+    }
+
+    @Test
+    void remove_neverStored() {
+        assertThat(sut.remove(XYZ)).isNull();
+    }
+
+    @Test
+    void put_growsPastInitialCapacity() {
+        final List<Ticker> tickers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tickers.add(DefaultTicker.from("GROW" + i));
+        }
+
+        tickers.forEach(ticker -> sut.put(ticker, ticker.getSymbol()));
+
+        tickers.forEach(ticker -> assertThat(sut.get(ticker)).isEqualTo(ticker.getSymbol()));
+        assertThat(sut.size()).isEqualTo(500);
+    }
+
+    @Test
+    void keysAndValues_inIdOrder() {
+        final Ticker first = DefaultTicker.from("FIRST_ORDERED");
+        final Ticker second = DefaultTicker.from("SECOND_ORDERED");
+
+        sut.put(second, "second");
+        sut.put(first, "first");
+
+        assertThat(sut.keys()).containsExactly(first, second);
+        assertThat(sut.values()).containsExactly("first", "second");
+    }
+
+    @Test
+    void put_nullValue() {
+        assertThatNullPointerException().isThrownBy(() -> sut.put(ABC, null));
+    }
+}
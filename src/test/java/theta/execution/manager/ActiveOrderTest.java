@@ -0,0 +1,181 @@
+package theta.execution.manager;
+
+import org.junit.jupiter.api.Test;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.ExecutableOrder;
+import theta.execution.api.ExecutionAction;
+import theta.execution.api.ExecutionType;
+import theta.execution.api.OrderState;
+import theta.execution.domain.DefaultOrderStatus;
+import theta.execution.domain.DefaultStockOrder;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveOrderTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 1000;
+
+    private static final Stock STOCK = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+
+    @Test
+    void update_forwardTransitions() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ActiveOrder sut = new ActiveOrder(order);
+
+        assertThat(sut.update(status(order, OrderState.SUBMITTED))).isTrue();
+        assertThat(sut.update(status(order, OrderState.PARTIALLY_FILLED))).isTrue();
+        assertThat(sut.update(status(order, OrderState.FILLED))).isTrue();
+
+        assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.FILLED);
+        assertThat(sut.getSnapshot().version()).isEqualTo(3L);
+    }
+
+    @Test
+    void update_staleStatusIgnored() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ActiveOrder sut = new ActiveOrder(order);
+
+        sut.update(status(order, OrderState.PARTIALLY_FILLED));
+
+        assertThat(sut.update(status(order, OrderState.SUBMITTED))).isFalse();
+        assertThat(sut.update(status(order, OrderState.PENDING))).isFalse();
+        assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.PARTIALLY_FILLED);
+    }
+
+    @Test
+    void update_terminalStateFinal() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ActiveOrder sut = new ActiveOrder(order);
+
+        sut.update(status(order, OrderState.CANCELLED));
+
+        assertThat(sut.update(status(order, OrderState.FILLED))).isFalse();
+        assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.CANCELLED);
+    }
+
+    @Test
+    void update_repeatedFilled_applied() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ActiveOrder sut = new ActiveOrder(order);
+
+        sut.update(status(order, OrderState.FILLED));
+
+        assertThat(sut.update(status(order, OrderState.FILLED))).isTrue();
+        assertThat(sut.update(status(order, OrderState.SUBMITTED))).isFalse();
+        assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.FILLED);
+        assertThat(sut.getSnapshot().version()).isEqualTo(2L);
+    }
+
+    @Test
+    void update_keepsModifiedOrder() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ExecutableOrder modifiedOrder = buildOrder(ExecutionType.MARKET);
+        final ActiveOrder sut = new ActiveOrder(order);
+
+        sut.update(status(order, OrderState.SUBMITTED));
+        sut.modify(sut.getSnapshot(), modifiedOrder);
+
+        // Status of the order as first submitted, received after the modification
+        assertThat(sut.update(status(order, OrderState.PARTIALLY_FILLED))).isTrue();
+
+        assertThat(sut.getSnapshot().order()).isSameAs(modifiedOrder);
+        assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.PARTIALLY_FILLED);
+    }
+
+    @Test
+    void modify_staleSnapshotRejected() {
+        final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+        final ActiveOrder sut = new ActiveOrder(order);
+        final ActiveOrder.Snapshot snapshot = sut.getSnapshot();
+
+        sut.update(status(order, OrderState.SUBMITTED));
+
+        assertThat(sut.modify(snapshot, buildOrder(ExecutionType.MARKET))).isFalse();
+        assertThat(sut.getSnapshot().order()).isSameAs(order);
+    }
+
+    @Test
+    void modify_concurrent_onlyOneWins() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+                final ActiveOrder sut = new ActiveOrder(order);
+                sut.update(status(order, OrderState.SUBMITTED));
+
+                final ActiveOrder.Snapshot snapshot = sut.getSnapshot();
+                final CountDownLatch start = new CountDownLatch(1);
+                final AtomicInteger wins = new AtomicInteger();
+
+                final List<Future<?>> futures = IntStream.range(0, THREADS)
+                        .mapToObj(thread -> executorService.submit(() -> {
+                            start.await();
+                            if (sut.modify(snapshot, buildOrder(ExecutionType.MARKET))) {
+                                wins.incrementAndGet();
+                            }
+                            return null;
+                        }))
+                        .collect(Collectors.toList());
+
+                start.countDown();
+                for (final Future<?> future : futures) {
+                    future.get(1, TimeUnit.SECONDS);
+                }
+
+                assertThat(wins.get()).isEqualTo(1);
+                assertThat(sut.getSnapshot().version()).isEqualTo(snapshot.version() + 1);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void update_concurrentWithModify_fillNeverLost() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final ExecutableOrder order = buildOrder(ExecutionType.LIMIT);
+                final ActiveOrder sut = new ActiveOrder(order);
+                sut.update(status(order, OrderState.SUBMITTED));
+
+                final ActiveOrder.Snapshot snapshot = sut.getSnapshot();
+                final CountDownLatch start = new CountDownLatch(1);
+
+                final Future<?> modification = executorService.submit(() -> {
+                    start.await();
+                    return sut.modify(snapshot, buildOrder(ExecutionType.MARKET));
+                });
+                final Future<?> fill = executorService.submit(() -> {
+                    start.await();
+                    return sut.update(status(order, OrderState.FILLED));
+                });
+
+                start.countDown();
+                modification.get(1, TimeUnit.SECONDS);
+                assertThat(fill.get(1, TimeUnit.SECONDS)).isEqualTo(true);
+
+                assertThat(sut.getSnapshot().state()).isEqualTo(OrderState.FILLED);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static ExecutableOrder buildOrder(ExecutionType executionType) {
+        return new DefaultStockOrder(STOCK, 100L, ExecutionAction.SELL, executionType);
+    }
+
+    private static DefaultOrderStatus status(ExecutableOrder order, OrderState orderState) {
+        return new DefaultOrderStatus(order, orderState, 0.0, 0L, 100L, 0.0);
+    }
+}
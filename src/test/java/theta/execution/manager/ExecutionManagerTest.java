@@ -1,5 +1,8 @@
 package theta.execution.manager;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +12,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.TestPublisher;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import theta.api.ExecutionHandler;
 import theta.domain.manager.ManagerState;
 import theta.domain.stock.Stock;
@@ -22,13 +26,18 @@ import theta.execution.domain.DefaultOrderStatus;
 import theta.execution.domain.DefaultStockOrder;
 import theta.util.MarketUtility;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ExecutionManagerTest {
@@ -39,13 +48,21 @@ class ExecutionManagerTest {
     @Mock
     private MarketUtility mockMarketUtility;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private ExecutionManager sut;
 
     @BeforeEach
     void setup() {
+        Metrics.addRegistry(meterRegistry);
         sut = new ExecutionManager(mockExecutionHandler, mockMarketUtility);
     }
 
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
     @Test
     void reverseTrade_whenSuccessfulOrderButNoActiveOrderStatus_thenError() {
         TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
@@ -110,6 +127,190 @@ class ExecutionManagerTest {
                 .verify(VERIFY_TIMEOUT);
     }
 
+    @Test
+    void reverseTrade_filled_recordsOrderMeters() {
+        TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(orderStatusFlux.flux());
+        when(mockExecutionHandler.modifyOrder(any())).thenReturn(true);
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        CandidateStockOrder candidateStockOrder = new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2));
+        var providedOrderStatus = new DefaultOrderStatus(
+                new DefaultStockOrder(candidateStockOrder.stock(), 200L, ExecutionAction.SELL, candidateStockOrder.executionType(), candidateStockOrder.limitPrice().orElseThrow()),
+                OrderState.SUBMITTED,
+                0.0,
+                0,
+                100L,
+                0.0);
+        providedOrderStatus.getOrder().setBrokerId(888);
+
+        StepVerifier.create(sut.reverseTrade(candidateStockOrder))
+                .then(() -> orderStatusFlux.next(providedOrderStatus))
+                .then(() -> sut.convertToMarketOrderIfExists(stock.getTicker()))
+                .then(orderStatusFlux::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertThat(orderCount("submitted")).isEqualTo(1.0);
+        assertThat(orderCount("modified")).isEqualTo(1.0);
+        assertThat(orderCount("filled")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("theta.orders.fill").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void reverseTrade_concurrentReversals_submittedOnce() throws Exception {
+        final int threads = 8;
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(Flux.never());
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        CandidateStockOrder candidateStockOrder = new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            final List<Future<?>> futures = IntStream.range(0, threads)
+                    .mapToObj(thread -> executorService.submit(() -> {
+                        start.await();
+                        sut.reverseTrade(candidateStockOrder).subscribe();
+                        return null;
+                    }))
+                    .collect(Collectors.toList());
+
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(mockExecutionHandler, times(1)).executeOrder(any());
+        verify(mockExecutionHandler, never()).modifyOrder(any());
+    }
+
+    @Test
+    void convertToMarketOrderIfExists_concurrent_modifiedOnce() throws Exception {
+        final int threads = 8;
+        TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(orderStatusFlux.flux());
+        when(mockExecutionHandler.modifyOrder(any())).thenReturn(true);
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        CandidateStockOrder candidateStockOrder = new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2));
+        var submittedOrder = new DefaultStockOrder(stock, 100L, ExecutionAction.SELL, ExecutionType.LIMIT, 1.2);
+        submittedOrder.setBrokerId(888);
+
+        sut.reverseTrade(candidateStockOrder).subscribe();
+        orderStatusFlux.next(new DefaultOrderStatus(submittedOrder, OrderState.SUBMITTED, 0.0, 0L, 100L, 0.0));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            final List<Future<?>> futures = IntStream.range(0, threads)
+                    .mapToObj(thread -> executorService.submit(() -> {
+                        start.await();
+                        sut.convertToMarketOrderIfExists(stock.getTicker());
+                        return null;
+                    }))
+                    .collect(Collectors.toList());
+
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(mockExecutionHandler, times(1)).executeOrder(any());
+        verify(mockExecutionHandler, times(1)).modifyOrder(any());
+    }
+
+    @Test
+    void reverseTrade_repeatedReversal_completesWithWorkingOrder() {
+        TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(orderStatusFlux.flux());
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        CandidateStockOrder candidateStockOrder = new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2));
+        var submittedOrder = new DefaultStockOrder(stock, 200L, ExecutionAction.SELL, ExecutionType.LIMIT, 1.2);
+        submittedOrder.setBrokerId(888);
+
+        Mono<Void> firstReversal = sut.reverseTrade(candidateStockOrder);
+        Mono<Void> repeatedReversal = sut.reverseTrade(candidateStockOrder);
+
+        StepVerifier.create(Mono.when(firstReversal, repeatedReversal))
+                .then(() -> orderStatusFlux.next(new DefaultOrderStatus(submittedOrder, OrderState.FILLED, 0.0, 200L, 0L, 1.2)))
+                .then(orderStatusFlux::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+        verify(mockExecutionHandler, times(1)).executeOrder(any());
+        verify(mockExecutionHandler, never()).modifyOrder(any());
+    }
+
+    @Test
+    void reverseTrade_amendsWithinWindow_coalesced() {
+        final Duration window = Duration.ofMillis(100L);
+        final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        sut = new ExecutionManager(mockExecutionHandler, mockMarketUtility, Clock.systemUTC(), window, scheduler);
+
+        TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(orderStatusFlux.flux());
+        when(mockExecutionHandler.modifyOrder(any())).thenReturn(true);
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        var submittedOrder = new DefaultStockOrder(stock, 200L, ExecutionAction.SELL, ExecutionType.LIMIT, 1.2);
+        submittedOrder.setBrokerId(888);
+
+        sut.reverseTrade(new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2))).subscribe();
+        orderStatusFlux.next(new DefaultOrderStatus(submittedOrder, OrderState.SUBMITTED, 0.0, 0L, 200L, 0.0));
+
+        for (final double limitPrice : new double[]{1.3, 1.4, 1.5}) {
+            sut.reverseTrade(new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(limitPrice))).subscribe();
+        }
+        verify(mockExecutionHandler, times(1)).modifyOrder(argThat(order -> order.getLimitPrice().equals(Optional.of(1.3))));
+
+        scheduler.advanceTimeBy(window);
+
+        verify(mockExecutionHandler, times(1)).modifyOrder(argThat(order -> order.getLimitPrice().equals(Optional.of(1.5))));
+        verify(mockExecutionHandler, times(2)).modifyOrder(any());
+    }
+
+    @Test
+    void reverseTrade_amendWhilePlacementQueued_sentOnceAcknowledged() {
+        TestPublisher<OrderStatus> orderStatusFlux = TestPublisher.create();
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockExecutionHandler.executeOrder(any())).thenReturn(orderStatusFlux.flux());
+        when(mockExecutionHandler.modifyOrder(any())).thenReturn(true);
+
+        Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+        var submittedOrder = new DefaultStockOrder(stock, 200L, ExecutionAction.SELL, ExecutionType.LIMIT, 1.2);
+        submittedOrder.setBrokerId(888);
+
+        // Placement waits for pacing, so no broker id or status yet when amended
+        sut.reverseTrade(new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.2))).subscribe();
+        sut.reverseTrade(new CandidateStockOrder(stock, ExecutionType.LIMIT, Optional.of(1.3))).subscribe();
+
+        verify(mockExecutionHandler, never()).modifyOrder(any());
+
+        orderStatusFlux.next(new DefaultOrderStatus(submittedOrder, OrderState.SUBMITTED, 0.0, 0L, 200L, 0.0));
+
+        verify(mockExecutionHandler, times(1)).modifyOrder(argThat(order -> order.getLimitPrice().equals(Optional.of(1.3))
+                && order.getBrokerId().equals(Optional.of(888))));
+
+        // Sent once only, later statuses don't send it again
+        orderStatusFlux.next(new DefaultOrderStatus(submittedOrder, OrderState.PARTIALLY_FILLED, 0.0, 100L, 100L, 1.3));
+
+        verify(mockExecutionHandler, times(1)).modifyOrder(any());
+    }
+
     @Test
     void shutdown() {
         sut.shutdown();
@@ -120,4 +321,8 @@ class ExecutionManagerTest {
     void getStatus() {
         assertThat(sut.getStatus().getState()).isEqualTo(ManagerState.SHUTDOWN);
     }
+
+    private double orderCount(String action) {
+        return meterRegistry.get("theta.orders").tag("action", action).counter().count();
+    }
 }
@@ -0,0 +1,82 @@
+package theta.execution.manager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.ExecutableOrder;
+import theta.execution.api.ExecutionAction;
+import theta.execution.api.ExecutionType;
+import theta.execution.domain.DefaultStockOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderCoalescerTest {
+    private static final Duration WINDOW = Duration.ofMillis(100L);
+
+    private static final Stock STOCK = Stock.of(DefaultTicker.from("ABC"), 100L, 123.45);
+
+    private final List<ExecutableOrder> sentAmends = new ArrayList<>();
+
+    private VirtualTimeScheduler scheduler;
+    private OrderCoalescer sut;
+
+    @BeforeEach
+    void setup() {
+        scheduler = VirtualTimeScheduler.create();
+        sut = new OrderCoalescer(WINDOW, scheduler);
+    }
+
+    @Test
+    void amend_zeroWindow_sentImmediately() {
+        sut = new OrderCoalescer(Duration.ZERO, scheduler);
+
+        sut.amend(buildOrder(1.1), sentAmends::add);
+        sut.amend(buildOrder(1.2), sentAmends::add);
+
+        assertThat(sentAmends).extracting(order -> order.getLimitPrice().orElseThrow()).containsExactly(1.1, 1.2);
+    }
+
+    @Test
+    void amend_firstSentImmediately_latestSentAtEndOfWindow() {
+        sut.amend(buildOrder(1.1), sentAmends::add);
+        sut.amend(buildOrder(1.2), sentAmends::add);
+        sut.amend(buildOrder(1.3), sentAmends::add);
+
+        assertThat(sentAmends).extracting(order -> order.getLimitPrice().orElseThrow()).containsExactly(1.1);
+
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(sentAmends).extracting(order -> order.getLimitPrice().orElseThrow()).containsExactly(1.1, 1.3);
+        assertThat(sut.getCoalescedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void amend_afterQuietWindow_sentImmediately() {
+        sut.amend(buildOrder(1.1), sentAmends::add);
+        scheduler.advanceTimeBy(WINDOW);
+        sut.amend(buildOrder(1.2), sentAmends::add);
+
+        assertThat(sentAmends).extracting(order -> order.getLimitPrice().orElseThrow()).containsExactly(1.1, 1.2);
+    }
+
+    @Test
+    void remove_pendingAmendDropped() {
+        sut.amend(buildOrder(1.1), sentAmends::add);
+        sut.amend(buildOrder(1.2), sentAmends::add);
+
+        sut.remove(STOCK.getId());
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(sentAmends).extracting(order -> order.getLimitPrice().orElseThrow()).containsExactly(1.1);
+    }
+
+    private static ExecutableOrder buildOrder(double limitPrice) {
+        return new DefaultStockOrder(STOCK, 200L, ExecutionAction.SELL, ExecutionType.LIMIT, limitPrice);
+    }
+}
@@ -0,0 +1,58 @@
+package theta.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void record_sinceReceived() {
+        final Ticker ticker = DefaultTicker.from("LATENCY");
+
+        LatencyRecorder.markReceived(ticker, System.nanoTime());
+        LatencyRecorder.record(LatencyStage.BROKER_SUBMIT, ticker);
+
+        assertThat(meterRegistry.get("theta.latency").tag("stage", "BROKER_SUBMIT").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void record_neverReceived() {
+        LatencyRecorder.record(LatencyStage.REVERSE_ORDER, DefaultTicker.from("NEVER"));
+
+        assertThat(meterRegistry.get("theta.latency").tag("stage", "REVERSE_ORDER").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void getSummary() {
+        LatencyRecorder.recordSince(LatencyStage.CALLBACK, System.nanoTime());
+
+        final Map<String, Number> callbackSummary = LatencyRecorder.getSummary().get(LatencyStage.CALLBACK);
+
+        assertThat(LatencyRecorder.getSummary()).containsOnlyKeys(LatencyStage.values());
+        assertThat(callbackSummary).containsOnlyKeys("count", "p50", "p99", "p99.9", "max");
+        assertThat(callbackSummary.get("count").longValue()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,69 @@
+package theta.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedGaugeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void bind_twoInstances_bothReported() {
+        final SharedGauge<AtomicInteger> sut = new SharedGauge<>("test.shared.two", "Test", AtomicInteger::get);
+        final AtomicInteger first = new AtomicInteger(2);
+        final AtomicInteger second = new AtomicInteger(3);
+
+        sut.bind(first);
+        sut.bind(second);
+
+        assertThat(meterRegistry.get("test.shared.two").gauge().value()).isEqualTo(5.0);
+
+        first.set(0);
+
+        assertThat(meterRegistry.get("test.shared.two").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void bind_tags_reportedSeparately() {
+        final SharedGauge<AtomicInteger> sut = new SharedGauge<>("test.shared.tags", "Test", AtomicInteger::get);
+
+        sut.bind(new AtomicInteger(2), "mode", "streaming");
+        sut.bind(new AtomicInteger(3), "mode", "polled");
+
+        assertThat(meterRegistry.get("test.shared.tags").tag("mode", "streaming").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("test.shared.tags").tag("mode", "polled").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void bind_firstInstanceCollected_laterStillReported() throws InterruptedException {
+        final SharedGauge<AtomicInteger> sut = new SharedGauge<>("test.shared.collected", "Test", AtomicInteger::get);
+        final AtomicInteger second = new AtomicInteger(3);
+
+        sut.bind(new AtomicInteger(2));
+        sut.bind(second);
+
+        for (int attempt = 0; attempt < 50 && meterRegistry.get("test.shared.collected").gauge().value() > 3.0; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+
+        assertThat(meterRegistry.get("test.shared.collected").gauge().value()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,103 @@
+package theta.portfolio.factory;
+
+import org.junit.jupiter.api.Test;
+import theta.domain.SecurityType;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.option.Option;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThetaTradeFactoryTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+    private static final LocalDate EXPIRATION = LocalDate.of(2020, 11, 20);
+
+    @Test
+    void processThetaTrade_singleTheta() {
+        final Stock stock = Stock.of(TICKER, 100L, 1.12);
+        final Option call = buildOption(SecurityType.CALL, -1L, 1.5, EXPIRATION);
+        final Option put = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+
+        assertThat(ThetaTradeFactory.processThetaTrade(List.of(stock), List.of(call), List.of(put)))
+                .containsExactly(Theta.of(stock, call, put));
+    }
+
+    @Test
+    void processThetaTrade_callSplitAcrossPuts() {
+        final Stock stock = Stock.of(TICKER, 200L, 1.12);
+        final Option call = buildOption(SecurityType.CALL, -2L, 1.5, EXPIRATION);
+        final Option put1 = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+        final Option put2 = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+
+        final List<Theta> thetas = ThetaTradeFactory.processThetaTrade(List.of(stock), List.of(call), List.of(put1, put2));
+
+        assertThat(thetas).hasSize(2);
+        assertThat(thetas).allSatisfy(theta -> {
+            assertThat(theta.getCall().getId()).isEqualTo(call.getId());
+            assertThat(theta.getQuantity()).isEqualTo(1L);
+        });
+        assertThat(thetas).extracting(theta -> theta.getPut().getId()).containsExactly(put1.getId(), put2.getId());
+    }
+
+    @Test
+    void processThetaTrade_putNotReusedAcrossCalls() {
+        final Stock stock = Stock.of(TICKER, 200L, 1.12);
+        final Option call1 = buildOption(SecurityType.CALL, -1L, 1.5, EXPIRATION);
+        final Option call2 = buildOption(SecurityType.CALL, -1L, 1.5, EXPIRATION);
+        final Option put = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+
+        assertThat(ThetaTradeFactory.processThetaTrade(List.of(stock), List.of(call1, call2), List.of(put)))
+                .containsExactly(Theta.of(Stock.of(stock.getId(), TICKER, 100L, 1.12), call1, put));
+    }
+
+    @Test
+    void processThetaTrade_multipleExpirationsAndStrikes() {
+        final Stock stock = Stock.of(TICKER, 300L, 1.12);
+        final Option nearCall = buildOption(SecurityType.CALL, -1L, 1.5, EXPIRATION);
+        final Option farCall = buildOption(SecurityType.CALL, -1L, 1.5, EXPIRATION.plusWeeks(1));
+        final Option otherStrikeCall = buildOption(SecurityType.CALL, -1L, 2.0, EXPIRATION);
+        final Option nearPut = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+        final Option farPut = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION.plusWeeks(1));
+        final Option otherStrikePut = buildOption(SecurityType.PUT, -1L, 2.0, EXPIRATION);
+
+        final List<Theta> thetas = ThetaTradeFactory.processThetaTrade(List.of(stock),
+                List.of(nearCall, farCall, otherStrikeCall), List.of(otherStrikePut, farPut, nearPut));
+
+        assertThat(thetas).extracting(theta -> theta.getPut().getId())
+                .containsExactly(nearPut.getId(), farPut.getId(), otherStrikePut.getId());
+    }
+
+    @Test
+    void processThetaTrade_stockSplitAcrossLots() {
+        final Stock stock1 = Stock.of(TICKER, 150L, 1.12);
+        final Stock stock2 = Stock.of(TICKER, 100L, 1.12);
+        final Option call = buildOption(SecurityType.CALL, -3L, 1.5, EXPIRATION);
+        final Option put = buildOption(SecurityType.PUT, -3L, 1.5, EXPIRATION);
+
+        final List<Theta> thetas = ThetaTradeFactory.processThetaTrade(List.of(stock1, stock2), List.of(call), List.of(put));
+
+        // 50 shares of the first lot can't cover a contract, so only two of three contracts are covered
+        assertThat(thetas).extracting(theta -> theta.getStock().getId()).containsExactly(stock1.getId(), stock2.getId());
+        assertThat(thetas).extracting(Theta::getQuantity).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void processThetaTrade_longOptionsIgnored() {
+        final Stock stock = Stock.of(TICKER, 100L, 1.12);
+        final Option call = buildOption(SecurityType.CALL, 1L, 1.5, EXPIRATION);
+        final Option put = buildOption(SecurityType.PUT, -1L, 1.5, EXPIRATION);
+
+        assertThat(ThetaTradeFactory.processThetaTrade(List.of(stock), List.of(call), List.of(put))).isEmpty();
+    }
+
+    private static Option buildOption(SecurityType securityType, long quantity, double strikePrice, LocalDate expiration) {
+        return new Option(UUID.randomUUID(), securityType, TICKER, quantity, strikePrice, expiration, 0.21);
+    }
+}
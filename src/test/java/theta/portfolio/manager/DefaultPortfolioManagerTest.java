@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.test.publisher.TestPublisher;
+import theta.actor.TickerActors;
 import theta.api.PositionHandler;
 import theta.domain.Security;
 import theta.domain.SecurityType;
@@ -17,9 +18,13 @@ import theta.domain.manager.ManagerState;
 import theta.domain.option.Option;
 import theta.domain.stock.Stock;
 import theta.domain.ticker.DefaultTicker;
+import theta.properties.ActorProperties;
+import theta.properties.PortfolioProperties;
 import theta.tick.api.TickMonitor;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -72,6 +77,90 @@ class DefaultPortfolioManagerTest {
         verify(mockTickMonitor).addMonitor(eq(buildTheta()));
     }
 
+    @Test
+    void startPositionProcessing_closedThenReopenedStock() {
+        final UUID stockId = UUID.randomUUID();
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        TestPublisher<Security> positionsFromBrokerage = TestPublisher.create();
+        when(mockPositionHandler.requestPositionsFromBrokerage())
+                .thenReturn(positionsFromBrokerage.flux());
+
+        sut.startPositionProcessing().subscribe();
+
+        positionsFromBrokerage.next(Stock.of(stockId, ticker, 100L, 123.45), buildCall(), buildPut());
+        positionsFromBrokerage.next(Stock.of(stockId, ticker, 0L, 123.45));
+        verify(mockTickMonitor, times(1)).addMonitor(any());
+
+        // Call and Put were released when the Theta was removed, so they pair again
+        positionsFromBrokerage.emit(Stock.of(stockId, ticker, 100L, 123.45));
+        verify(mockTickMonitor, times(2)).addMonitor(eq(buildTheta()));
+    }
+
+    @Test
+    void startPositionProcessing_batch_waitsForPositionEnd() {
+        sut = new DefaultPortfolioManager(mockPositionHandler, mockTickMonitor, new PortfolioProperties(true));
+
+        TestPublisher<Security> positionsFromBrokerage = TestPublisher.create();
+        when(mockPositionHandler.requestPositionsFromBrokerage())
+                .thenReturn(positionsFromBrokerage.flux());
+
+        sut.startPositionProcessing().subscribe();
+
+        positionsFromBrokerage.next(buildStock(DefaultTicker.from("ABC")), buildCall(), buildPut());
+        verify(mockTickMonitor, never()).addMonitor(any());
+        positionsFromBrokerage.complete();
+        verify(mockTickMonitor).addMonitor(eq(buildTheta()));
+    }
+
+    @Test
+    void startPositionProcessing_batch_multipleTickers() {
+        sut = new DefaultPortfolioManager(mockPositionHandler, mockTickMonitor, new PortfolioProperties(true));
+
+        final Ticker otherTicker = DefaultTicker.from("XYZ");
+        final Stock otherStock = buildStock(otherTicker);
+        final Option otherCall = buildOption(otherTicker, SecurityType.CALL);
+        final Option otherPut = buildOption(otherTicker, SecurityType.PUT);
+
+        final Flux<Security> positions = Flux.just(
+                buildStock(DefaultTicker.from("ABC")), otherCall, buildCall(), otherStock, buildPut(), otherPut);
+        when(mockPositionHandler.requestPositionsFromBrokerage()).thenReturn(positions);
+
+        sut.startPositionProcessing().block();
+
+        verify(mockTickMonitor).addMonitor(eq(buildTheta()));
+        verify(mockTickMonitor).addMonitor(eq(Theta.of(otherStock, otherCall, otherPut)));
+        assertThat(sut.getStatus().getState()).isEqualTo(ManagerState.SHUTDOWN);
+    }
+
+    @Test
+    void startPositionProcessing_tickersOnActors() {
+        final TickerActors tickerActors = new TickerActors(new ActorProperties(2));
+
+        for (final boolean batchReconciliation : List.of(false, true)) {
+            sut = new DefaultPortfolioManager(mockPositionHandler, mockTickMonitor,
+                    new PortfolioProperties(batchReconciliation), tickerActors);
+            reset(mockTickMonitor);
+
+            final Ticker otherTicker = DefaultTicker.from("XYZ");
+            final Stock otherStock = buildStock(otherTicker);
+            final Option otherCall = buildOption(otherTicker, SecurityType.CALL);
+            final Option otherPut = buildOption(otherTicker, SecurityType.PUT);
+
+            // Built before stubbing, as building securities logs
+            final Flux<Security> positions = Flux.just(
+                    buildStock(DefaultTicker.from("ABC")), otherCall, buildCall(), otherStock, buildPut(), otherPut);
+            when(mockPositionHandler.requestPositionsFromBrokerage()).thenReturn(positions);
+
+            sut.startPositionProcessing().block(Duration.ofSeconds(1L));
+
+            verify(mockTickMonitor).addMonitor(eq(buildTheta()));
+            verify(mockTickMonitor).addMonitor(eq(Theta.of(otherStock, otherCall, otherPut)));
+        }
+
+        tickerActors.shutdown();
+    }
+
     @Test
     void getStatus_starting() {
         assertThat(sut.getStatus().getState()).isEqualTo(ManagerState.STARTING);
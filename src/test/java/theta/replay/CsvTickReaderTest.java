@@ -0,0 +1,45 @@
+package theta.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CsvTickReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read() throws IOException {
+        final Path tickFile = Files.write(tempDir.resolve("ticks.csv"), List.of(
+                "# timestamp,ticker,type,last,bid,ask",
+                "2020-10-30T13:30:00.125Z,ABC,BID,-1.0,49.98,50.02",
+                "",
+                "2020-10-30T13:30:01Z,XYZ,LAST,12.5,12.49,12.51"));
+
+        StepVerifier.create(CsvTickReader.read(tickFile))
+                .expectNext(new DefaultTick(DefaultTicker.from("ABC"), TickType.BID, -1.0, 49.98, 50.02,
+                        Instant.parse("2020-10-30T13:30:00.125Z")))
+                .expectNext(new DefaultTick(DefaultTicker.from("XYZ"), TickType.LAST, 12.5, 12.49, 12.51,
+                        Instant.parse("2020-10-30T13:30:01Z")))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void parseTick_missingField() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> CsvTickReader.parseTick("2020-10-30T13:30:00Z,ABC,BID,-1.0,49.98"));
+    }
+}
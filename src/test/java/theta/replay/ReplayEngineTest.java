@@ -0,0 +1,64 @@
+package theta.replay;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import theta.domain.SecurityType;
+import theta.domain.Ticker;
+import theta.domain.composed.Theta;
+import theta.domain.option.Option;
+import theta.domain.stock.Stock;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.ExecutionAction;
+import theta.execution.api.OrderStatus;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+import theta.tick.processor.LastTickProcessor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayEngineTest {
+
+    private static final Instant OPEN = Instant.parse("2020-10-30T13:31:00Z");
+
+    private static Theta theta(Ticker ticker) {
+        return Theta.of(Stock.of(ticker, 100L, 50.0),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, LocalDate.of(2020, 11, 20), 1.0),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, LocalDate.of(2020, 11, 20), 1.0));
+    }
+
+    @Test
+    void run_reversesCrossedTheta() {
+        final Ticker crossed = DefaultTicker.from("ABC");
+        final Ticker notCrossed = DefaultTicker.from("XYZ");
+
+        final ReplayEngine sut = new ReplayEngine(Flux.just(
+                new DefaultTick(crossed, TickType.LAST, 50.5, 50.49, 50.51, OPEN),
+                new DefaultTick(notCrossed, TickType.LAST, 51.0, 50.99, 51.01, OPEN.plusSeconds(1L)),
+                new DefaultTick(crossed, TickType.LAST, 49.5, 49.49, 49.51, OPEN.plusSeconds(2L)),
+                new DefaultTick(crossed, TickType.LAST, 49.0, 48.99, 49.01, OPEN.plusSeconds(3L))),
+                LastTickProcessor::new, ReplayTickSubscriber.AS_FAST_AS_POSSIBLE);
+
+        final List<OrderStatus> fills = sut.run(List.of(theta(crossed), theta(notCrossed)));
+
+        assertThat(fills).hasSize(1);
+        assertThat(fills.get(0).getOrder().getTicker()).isEqualTo(crossed);
+        assertThat(fills.get(0).getOrder().getExecutionAction()).isEqualTo(ExecutionAction.SELL);
+        assertThat(fills.get(0).getAveragePrice()).isEqualTo(49.49);
+    }
+
+    @Test
+    void run_outsideMarketHours() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+
+        final ReplayEngine sut = new ReplayEngine(Flux.just(
+                new DefaultTick(ticker, TickType.LAST, 49.5, 49.49, 49.51, Instant.parse("2020-10-31T14:00:00Z"))),
+                LastTickProcessor::new, ReplayTickSubscriber.AS_FAST_AS_POSSIBLE);
+
+        assertThat(sut.run(List.of(theta(ticker)))).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package theta.replay;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import theta.domain.PriceLevel;
+import theta.domain.PriceLevelDirection;
+import theta.domain.Ticker;
+import theta.domain.pricelevel.DefaultPriceLevel;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+import theta.tick.processor.LastTickProcessor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ReplayTickSubscriberTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+    private static final Instant START = Instant.parse("2020-10-30T14:00:00Z");
+    private static final PriceLevel PRICE_LEVEL = DefaultPriceLevel.from(TICKER, 50.0, PriceLevelDirection.FALLS_BELOW);
+
+    private static final Tick ABOVE = new DefaultTick(TICKER, TickType.LAST, 50.5, 50.49, 50.51, START);
+    private static final Tick BID = new DefaultTick(TICKER, TickType.BID, 50.5, 49.49, 50.51, START.plusSeconds(1L));
+    private static final Tick BELOW = new DefaultTick(TICKER, TickType.LAST, 49.5, 49.49, 49.51, START.plusSeconds(2L));
+    private static final Tick OTHER = new DefaultTick(DefaultTicker.from("XYZ"), TickType.LAST, 1.0, 0.99, 1.01,
+            START.plusSeconds(3L));
+
+    @Test
+    void getTicksAcrossStrikePrices_onlyCrossed() {
+        final VirtualClock clock = new VirtualClock(Instant.EPOCH);
+        final ReplayTickSubscriber sut = new ReplayTickSubscriber(Flux.just(ABOVE, BID, BELOW, OTHER), clock,
+                ReplayTickSubscriber.AS_FAST_AS_POSSIBLE);
+
+        sut.addPriceLevelMonitor(PRICE_LEVEL, new LastTickProcessor());
+
+        StepVerifier.create(sut.getTicksAcrossStrikePrices())
+                .expectNext(BELOW)
+                .expectComplete()
+                .verify();
+
+        assertThat(clock.instant()).isEqualTo(OTHER.getTimestamp());
+        assertThat(sut.getLatestTick(TICKER)).contains(BELOW);
+    }
+
+    @Test
+    void getTicksAcrossStrikePrices_removedPriceLevel() {
+        final ReplayTickSubscriber sut = new ReplayTickSubscriber(Flux.just(ABOVE, BELOW), new VirtualClock(Instant.EPOCH),
+                ReplayTickSubscriber.AS_FAST_AS_POSSIBLE);
+
+        sut.addPriceLevelMonitor(PRICE_LEVEL, new LastTickProcessor());
+
+        assertThat(sut.removePriceLevelMonitor(PRICE_LEVEL)).isZero();
+        StepVerifier.create(sut.getTicksAcrossStrikePrices())
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void getTicksAcrossStrikePrices_paced() {
+        final ReplayTickSubscriber sut = new ReplayTickSubscriber(Flux.just(ABOVE, BELOW), new VirtualClock(Instant.EPOCH),
+                20.0);
+
+        sut.addPriceLevelMonitor(PRICE_LEVEL, new LastTickProcessor());
+
+        // 2 recorded seconds at 20x
+        final Duration elapsed = StepVerifier.create(sut.getTicksAcrossStrikePrices())
+                .expectNext(BELOW)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5L));
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(100L));
+    }
+
+    @Test
+    void constructor_negativeSpeed() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new ReplayTickSubscriber(Flux.empty(), new VirtualClock(Instant.EPOCH), -1.0));
+    }
+}
@@ -0,0 +1,63 @@
+package theta.replay;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+import theta.execution.api.ExecutionAction;
+import theta.execution.api.ExecutionType;
+import theta.execution.api.OrderState;
+import theta.execution.domain.DefaultStockOrder;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulatedExecutionHandlerTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+
+    private final SimulatedExecutionHandler sut = new SimulatedExecutionHandler(ticker -> Optional.of(
+            new DefaultTick(ticker, TickType.BID, 50.0, 49.98, 50.02, Instant.EPOCH)));
+
+    @Test
+    void executeOrder_sellAtBid() {
+        final DefaultStockOrder order = new DefaultStockOrder(TICKER, UUID.randomUUID(), 100L, ExecutionAction.SELL,
+                ExecutionType.MARKET);
+
+        StepVerifier.create(sut.executeOrder(order))
+                .expectNextMatches(status -> status.getState() == OrderState.FILLED
+                        && status.getFilled() == 100L
+                        && status.getAveragePrice() == 49.98)
+                .expectComplete()
+                .verify();
+
+        assertThat(order.getBrokerId()).isPresent();
+        assertThat(sut.getFills()).hasSize(1);
+    }
+
+    @Test
+    void executeOrder_buyAtAsk() {
+        final DefaultStockOrder order = new DefaultStockOrder(TICKER, UUID.randomUUID(), 100L, ExecutionAction.BUY,
+                ExecutionType.MARKET);
+
+        StepVerifier.create(sut.executeOrder(order))
+                .expectNextMatches(status -> status.getAveragePrice() == 50.02)
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void executeOrder_noQuote() {
+        final SimulatedExecutionHandler noQuoteSut = new SimulatedExecutionHandler(ticker -> Optional.empty());
+
+        StepVerifier.create(noQuoteSut.executeOrder(new DefaultStockOrder(TICKER, UUID.randomUUID(), 100L,
+                ExecutionAction.BUY, ExecutionType.MARKET)))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
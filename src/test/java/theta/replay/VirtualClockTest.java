@@ -0,0 +1,42 @@
+package theta.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualClockTest {
+
+    private static final Instant START = Instant.parse("2020-10-30T13:30:00Z");
+
+    @Test
+    void advanceTo() {
+        final VirtualClock sut = new VirtualClock(START);
+
+        sut.advanceTo(START.plusSeconds(5L));
+
+        assertThat(Instant.now(sut)).isEqualTo(START.plusSeconds(5L));
+    }
+
+    @Test
+    void advanceTo_neverBackwards() {
+        final VirtualClock sut = new VirtualClock(START);
+
+        assertThat(sut.advanceTo(START.minusSeconds(5L))).isEqualTo(START);
+    }
+
+    @Test
+    void withZone_sharesTime() {
+        final VirtualClock sut = new VirtualClock(START);
+        final ZoneId newYork = ZoneId.of("America/New_York");
+
+        final Clock zonedClock = sut.withZone(newYork);
+        sut.advanceTo(START.plusSeconds(1L));
+
+        assertThat(zonedClock.getZone()).isEqualTo(newYork);
+        assertThat(zonedClock.instant()).isEqualTo(START.plusSeconds(1L));
+    }
+}
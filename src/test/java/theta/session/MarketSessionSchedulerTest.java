@@ -0,0 +1,143 @@
+package theta.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import theta.api.MarketSessionListener;
+import theta.util.MarketSessionCalendar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MarketSessionSchedulerTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final Duration WARM_UP = Duration.ofMinutes(5L);
+
+    // Monday 2020-11-02 to Sunday 2020-11-08, with Wednesday a holiday
+    private static final MarketSessionCalendar CALENDAR = new MarketSessionCalendar(NEW_YORK,
+            LocalTime.of(9, 30),
+            LocalTime.of(16, 0),
+            LocalDate.of(2020, 11, 2),
+            LocalDate.of(2020, 11, 8),
+            Set.of(LocalDate.of(2020, 11, 4)),
+            Map.of());
+
+    @Mock
+    private MarketSessionListener mockListener;
+
+    private final VirtualTimeScheduler virtualTimeScheduler = VirtualTimeScheduler.create();
+
+    private MarketSessionScheduler sut;
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void start_duringSession_closesAtClose() {
+        startAt(at(2, LocalTime.NOON));
+
+        verifyNoInteractions(mockListener);
+
+        advanceTo(at(2, LocalTime.of(16, 0)).minusMillis(1L));
+        verifyNoInteractions(mockListener);
+
+        advanceTo(at(2, LocalTime.of(16, 0)));
+        verify(mockListener).onSessionClose();
+        verify(mockListener, never()).onSessionWarmUp();
+    }
+
+    @Test
+    void start_outsideSession_closesStraightAway() {
+        startAt(at(2, LocalTime.of(20, 0)));
+
+        verify(mockListener).onSessionClose();
+        verify(mockListener, never()).onSessionWarmUp();
+    }
+
+    @Test
+    void start_duringWarmUp_keepsMarketData() {
+        startAt(at(3, LocalTime.of(9, 27)));
+
+        verifyNoInteractions(mockListener);
+    }
+
+    @Test
+    void close_warmsUpBeforeNextOpen() {
+        startAt(at(2, LocalTime.of(20, 0)));
+
+        advanceTo(at(3, LocalTime.of(9, 25)).minusMillis(1L));
+        verify(mockListener, never()).onSessionWarmUp();
+
+        advanceTo(at(3, LocalTime.of(9, 25)));
+        verify(mockListener).onSessionWarmUp();
+    }
+
+    @Test
+    void holiday_skipped() {
+        startAt(at(3, LocalTime.NOON));
+
+        advanceTo(at(5, LocalTime.of(9, 24)));
+
+        final InOrder inOrder = inOrder(mockListener);
+        inOrder.verify(mockListener).onSessionClose();
+        inOrder.verifyNoMoreInteractions();
+
+        advanceTo(at(5, LocalTime.of(9, 25)));
+        inOrder.verify(mockListener).onSessionWarmUp();
+    }
+
+    @Test
+    void listenerFailure_othersStillNotified() {
+        final MarketSessionListener failingListener = mock(MarketSessionListener.class);
+        doThrow(new IllegalStateException("Test Exception")).when(failingListener).onSessionClose();
+
+        sut = new MarketSessionScheduler(List.of(failingListener, mockListener), CALENDAR, WARM_UP,
+                virtualTimeScheduler, true);
+        advanceTo(at(2, LocalTime.of(20, 0)));
+        sut.start();
+
+        verify(mockListener).onSessionClose();
+    }
+
+    @Test
+    void disabled_noTransitions() {
+        sut = new MarketSessionScheduler(List.of(mockListener), CALENDAR, WARM_UP, virtualTimeScheduler, false);
+        advanceTo(at(2, LocalTime.of(20, 0)));
+        sut.start();
+
+        advanceTo(at(6, LocalTime.of(20, 0)));
+
+        verifyNoInteractions(mockListener);
+    }
+
+    private void startAt(Instant time) {
+        sut = new MarketSessionScheduler(List.of(mockListener), CALENDAR, WARM_UP, virtualTimeScheduler, true);
+        advanceTo(time);
+        sut.start();
+    }
+
+    private void advanceTo(Instant time) {
+        virtualTimeScheduler.advanceTimeTo(time);
+    }
+
+    private static Instant at(int day, LocalTime time) {
+        return ZonedDateTime.of(LocalDate.of(2020, 11, day), time, NEW_YORK).toInstant();
+    }
+}
@@ -0,0 +1,93 @@
+package theta.tick.buffer;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflatingTickBufferTest {
+    private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(5000L);
+
+    private static Tick tick(String symbol, double price) {
+        return new DefaultTick(DefaultTicker.from(symbol), TickType.BID, -1.0, price, price + 0.01, Instant.EPOCH);
+    }
+
+    @Test
+    void publish_consumerKeepingUp() {
+        final ConflatingTickBuffer sut = new ConflatingTickBuffer(WaitStrategy.YIELD);
+
+        StepVerifier.create(sut.getTicks())
+                .then(() -> sut.publish(tick("ABC", 1.0)))
+                .expectNext(tick("ABC", 1.0))
+                .then(() -> sut.publish(tick("ABC", 2.0)))
+                .expectNext(tick("ABC", 2.0))
+                .then(sut::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertThat(sut.getDeliveredCount()).isEqualTo(2L);
+        assertThat(sut.getConflatedCount()).isZero();
+    }
+
+    @Test
+    void publish_consumerBehind_latestPerTicker() throws InterruptedException {
+        final ConflatingTickBuffer sut = new ConflatingTickBuffer(WaitStrategy.YIELD);
+
+        final List<Tick> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch firstReceived = new CountDownLatch(1);
+        final CountDownLatch releaseConsumer = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        sut.getTicks().subscribe(
+                tick -> {
+                    received.add(tick);
+                    firstReceived.countDown();
+                    try {
+                        releaseConsumer.await(5L, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                exception -> completed.countDown(),
+                completed::countDown);
+
+        sut.publish(tick("ABC", 1.0));
+        assertThat(firstReceived.await(5L, TimeUnit.SECONDS)).isTrue();
+
+        // Consumer is blocked, so these collapse to the latest per Ticker
+        sut.publish(tick("ABC", 2.0));
+        sut.publish(tick("ABC", 3.0));
+        sut.publish(tick("XYZ", 1.0));
+        sut.publish(tick("ABC", 4.0));
+
+        releaseConsumer.countDown();
+        sut.complete();
+        assertThat(completed.await(5L, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(received).containsExactly(tick("ABC", 1.0), tick("ABC", 4.0), tick("XYZ", 1.0));
+        assertThat(sut.getDeliveredCount()).isEqualTo(3L);
+        assertThat(sut.getConflatedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void error() {
+        final ConflatingTickBuffer sut = new ConflatingTickBuffer(WaitStrategy.PARK);
+
+        StepVerifier.create(sut.getTicks())
+                .then(() -> sut.error(new IllegalStateException("Test Exception")))
+                .expectError(IllegalStateException.class)
+                .verify(VERIFY_TIMEOUT);
+    }
+}
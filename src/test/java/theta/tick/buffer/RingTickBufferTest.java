@@ -0,0 +1,112 @@
+package theta.tick.buffer;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import theta.domain.ticker.DefaultTicker;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class RingTickBufferTest {
+    private static final Duration VERIFY_TIMEOUT = Duration.ofMillis(5000L);
+
+    private static Tick tick(int price) {
+        return new DefaultTick(DefaultTicker.from("ABC"), TickType.LAST, price, price, price, Instant.EPOCH);
+    }
+
+    @Test
+    void constructor_notPowerOfTwo() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new RingTickBuffer(100, WaitStrategy.PARK));
+    }
+
+    @Test
+    void publish_wrapsInOrder() {
+        final RingTickBuffer sut = new RingTickBuffer(4, WaitStrategy.YIELD);
+
+        StepVerifier.create(sut.getTicks())
+                .then(() -> {
+                    IntStream.range(0, 100).mapToObj(RingTickBufferTest::tick).forEach(sut::publish);
+                    sut.complete();
+                })
+                .expectNextSequence(IntStream.range(0, 100).mapToObj(RingTickBufferTest::tick).collect(Collectors.toList()))
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void publish_beforeFirstSubscriber_buffered() {
+        final RingTickBuffer sut = new RingTickBuffer(4, WaitStrategy.PARK);
+
+        sut.publish(tick(1));
+        sut.publish(tick(2));
+
+        StepVerifier.create(sut.getTicks())
+                .expectNext(tick(1), tick(2))
+                .then(sut::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void publish_beforeFirstSubscriber_fullRingDropsInsteadOfBlocking() {
+        final RingTickBuffer sut = new RingTickBuffer(4, WaitStrategy.PARK);
+
+        // Returns, as nothing frees the ring until a subscriber attaches
+        IntStream.range(0, 10).mapToObj(RingTickBufferTest::tick).forEach(sut::publish);
+
+        StepVerifier.create(sut.getTicks())
+                .expectNext(tick(0), tick(1), tick(2), tick(3))
+                .then(sut::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void error() {
+        final RingTickBuffer sut = new RingTickBuffer(8, WaitStrategy.BUSY_SPIN);
+
+        StepVerifier.create(sut.getTicks())
+                .then(() -> {
+                    sut.publish(tick(1));
+                    sut.error(new IllegalStateException("Test Exception"));
+                })
+                .expectNext(tick(1))
+                .expectError(IllegalStateException.class)
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void close() {
+        final RingTickBuffer sut = new RingTickBuffer(8, WaitStrategy.PARK);
+
+        StepVerifier.create(sut.getTicks())
+                .then(sut::close)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void publish_afterComplete_dropped() {
+        final RingTickBuffer sut = new RingTickBuffer(4, WaitStrategy.PARK);
+
+        StepVerifier.create(sut.getTicks())
+                .then(sut::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        // Returns without storing, however many are published
+        IntStream.range(0, 10).mapToObj(RingTickBufferTest::tick).forEach(sut::publish);
+
+        assertThat(sut.getDepth()).isZero();
+        assertThat(sut.toString()).contains("droppedAfterStop=10");
+    }
+}
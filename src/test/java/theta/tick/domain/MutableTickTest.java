@@ -0,0 +1,53 @@
+package theta.tick.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutableTickTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+
+    private MutableTick sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new MutableTick(TICKER);
+    }
+
+    @Test
+    void update_keepsOtherPrices() {
+        sut.update(TickType.BID, 10.0, 1L);
+        sut.update(TickType.ASK, 10.02, 2L);
+        sut.update(TickType.LAST, 10.01, 3L);
+
+        assertThat(sut.getTickType()).isEqualTo(TickType.LAST);
+        assertThat(sut.getBidPrice()).isEqualTo(10.0);
+        assertThat(sut.getAskPrice()).isEqualTo(10.02);
+        assertThat(sut.getLastPrice()).isEqualTo(10.01);
+        assertThat(sut.getEpochNanos()).isEqualTo(3L);
+    }
+
+    @Test
+    void getTimestamp() {
+        sut.update(TickType.BID, 10.0, 1_600_000_000_123_456_789L);
+
+        assertThat(sut.getTimestamp()).isEqualTo(Instant.ofEpochSecond(1_600_000_000L, 123_456_789L));
+    }
+
+    @Test
+    void toDefaultTick() {
+        sut.update(TickType.ASK, 10.02, 1_000_000_000L);
+
+        final DefaultTick defaultTick = sut.toDefaultTick();
+        sut.update(TickType.ASK, 11.0, 2_000_000_000L);
+
+        assertThat(defaultTick).isEqualTo(new DefaultTick(TICKER, TickType.ASK, -1.0, -1.0, 10.02,
+                Instant.ofEpochSecond(1L)));
+    }
+}
@@ -0,0 +1,89 @@
+package theta.tick.domain;
+
+import org.junit.jupiter.api.Test;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeqLockQuoteTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+
+    private final SeqLockQuote sut = new SeqLockQuote(TICKER);
+
+    @Test
+    void snapshot_noUpdates() {
+        final DefaultTick tick = sut.snapshot(TickType.LAST);
+
+        assertThat(tick.getTicker()).isEqualTo(TICKER);
+        assertThat(tick.getLastPrice()).isEqualTo(-1.0);
+        assertThat(tick.getBidPrice()).isEqualTo(-1.0);
+        assertThat(tick.getAskPrice()).isEqualTo(-1.0);
+        assertThat(tick.getTimestamp()).isEqualTo(Instant.EPOCH);
+    }
+
+    @Test
+    void snapshot_keepsOtherPricesAndTakesTimeOfType() {
+        sut.update(TickType.BID, 10.0, 1_600_000_000_000_000_001L);
+        sut.update(TickType.ASK, 10.02, 1_600_000_000_000_000_002L);
+        sut.update(TickType.LAST, 10.01, 1_600_000_000_123_456_789L);
+
+        final DefaultTick tick = sut.snapshot(TickType.LAST);
+
+        assertThat(tick.getTickType()).isEqualTo(TickType.LAST);
+        assertThat(tick.getBidPrice()).isEqualTo(10.0);
+        assertThat(tick.getAskPrice()).isEqualTo(10.02);
+        assertThat(tick.getLastPrice()).isEqualTo(10.01);
+        assertThat(tick.getTimestamp()).isEqualTo(Instant.ofEpochSecond(1_600_000_000L, 123_456_789L));
+        assertThat(sut.snapshot(TickType.ASK).getTimestamp()).isEqualTo(Instant.ofEpochSecond(1_600_000_000L, 2L));
+    }
+
+    @Test
+    void snapshot_neverSeesPartialUpdate() throws InterruptedException {
+        final int updates = 1_000_000;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicInteger torn = new AtomicInteger();
+        final AtomicInteger snapshots = new AtomicInteger();
+
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final Thread reader = new Thread(() -> {
+                while (writing.get()) {
+                    final DefaultTick tick = sut.snapshot(TickType.BID);
+                    final double bid = tick.getBidPrice();
+                    final double ask = tick.getAskPrice();
+
+                    // BID is written before ASK, each with the update number as both price and time
+                    final boolean sameUpdate = bid < 0.0 || tick.getTimestamp().getNano() == (long) bid;
+                    final boolean consistent = sameUpdate && (ask == bid || ask == bid - 1.0 || bid == 1.0 && ask < 0.0);
+                    if (!consistent) {
+                        torn.incrementAndGet();
+                    }
+                    snapshots.incrementAndGet();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int i = 1; i <= updates; i++) {
+            sut.update(TickType.BID, i, i);
+            sut.update(TickType.ASK, i, i);
+        }
+        writing.set(false);
+
+        for (final Thread reader : readers) {
+            reader.join(5_000L);
+        }
+
+        assertThat(snapshots.get()).isPositive();
+        assertThat(torn).hasValue(0);
+    }
+}
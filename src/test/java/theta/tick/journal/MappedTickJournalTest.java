@@ -0,0 +1,159 @@
+package theta.tick.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+import theta.replay.VirtualClock;
+import theta.tick.api.Tick;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class MappedTickJournalTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+    private static final Instant FRIDAY = Instant.parse("2020-10-30T14:00:00Z");
+    private static final long EPOCH_NANOS = FRIDAY.getEpochSecond() * 1_000_000_000L;
+
+    @TempDir
+    Path journalDirectory;
+
+    private Path fridayJournal() {
+        return MappedTickJournal.journalFile(journalDirectory, LocalDate.of(2020, 10, 30));
+    }
+
+    @Test
+    void append_writesRecordAndSymbol() throws IOException {
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY));
+
+        sut.append(TICKER, TickType.BID, 49.98, 0L, EPOCH_NANOS);
+        sut.close();
+
+        assertThat(Files.readAllLines(MappedTickJournal.symbolsFile(fridayJournal()))).containsExactly("1,ABC");
+        StepVerifier.create(TickJournalReader.read(fridayJournal()))
+                .expectNext(new DefaultTick(TICKER, TickType.BID, -1.0, 49.98, -1.0, FRIDAY))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void append_acrossRegions() {
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY),
+                2L * MappedTickJournal.RECORD_SIZE);
+
+        for (int i = 1; i <= 5; i++) {
+            sut.append(TICKER, TickType.LAST, i, 0L, EPOCH_NANOS);
+        }
+        sut.close();
+
+        StepVerifier.create(TickJournalReader.read(fridayJournal()).map(tick -> tick.getLastPrice()))
+                .expectNext(1.0, 2.0, 3.0, 4.0, 5.0)
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void append_reopenContinuesAfterLastRecord() {
+        final MappedTickJournal first = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY),
+                2L * MappedTickJournal.RECORD_SIZE);
+        first.append(TICKER, TickType.LAST, 1.0, 0L, EPOCH_NANOS);
+        first.append(TICKER, TickType.LAST, 2.0, 0L, EPOCH_NANOS);
+        first.close();
+
+        final MappedTickJournal second = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY),
+                2L * MappedTickJournal.RECORD_SIZE);
+        second.append(DefaultTicker.from("XYZ"), TickType.LAST, 3.0, 0L, EPOCH_NANOS);
+        second.append(TICKER, TickType.LAST, 4.0, 0L, EPOCH_NANOS);
+        second.close();
+
+        StepVerifier.create(TickJournalReader.read(fridayJournal()).map(tick -> tick.getTicker().getSymbol() + tick.getLastPrice()))
+                .expectNext("ABC1.0", "ABC2.0", "XYZ3.0", "ABC4.0")
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void append_rollsDaily() {
+        final VirtualClock clock = new VirtualClock(FRIDAY);
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, clock);
+
+        sut.append(TICKER, TickType.LAST, 1.0, 0L, EPOCH_NANOS);
+        clock.advanceTo(FRIDAY.plusSeconds(3L * 24L * 60L * 60L));
+        sut.append(TICKER, TickType.LAST, 2.0, 0L, EPOCH_NANOS);
+        sut.close();
+
+        assertThat(MappedTickJournal.journalFile(journalDirectory, LocalDate.of(2020, 11, 2))).exists();
+        StepVerifier.create(TickJournalReader.read(fridayJournal()))
+                .expectNextCount(1L)
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void close_writesEveryRecordAppended() {
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY));
+
+        for (int i = 1; i <= 10_000; i++) {
+            sut.append(TICKER, TickType.LAST, i, 0L, EPOCH_NANOS);
+        }
+        sut.close();
+
+        StepVerifier.create(TickJournalReader.read(fridayJournal()))
+                .expectNextCount(10_000L)
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void append_ringFull_dropsInsteadOfBlocking() {
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY),
+                2L * MappedTickJournal.RECORD_SIZE, 2);
+
+        for (int i = 1; i <= 10_000; i++) {
+            sut.append(TICKER, TickType.LAST, i, 0L, EPOCH_NANOS);
+        }
+        sut.close();
+
+        // Records written are still complete and in order, however many were dropped
+        final List<Double> written = TickJournalReader.read(fridayJournal()).map(Tick::getLastPrice).collectList().block();
+        assertThat(written).isNotEmpty().isSorted().allMatch(price -> price >= 1.0 && price <= 10_000.0);
+    }
+
+    @Test
+    void append_afterClose_ignored() {
+        final MappedTickJournal sut = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY));
+
+        sut.append(TICKER, TickType.LAST, 1.0, 0L, EPOCH_NANOS);
+        sut.close();
+        sut.append(TICKER, TickType.LAST, 2.0, 0L, EPOCH_NANOS);
+
+        StepVerifier.create(TickJournalReader.read(fridayJournal()))
+                .expectNextCount(1L)
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void constructor_capacityNotPowerOfTwo() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY),
+                        MappedTickJournal.RECORD_SIZE, 3));
+    }
+
+    @Test
+    void constructor_regionNotMultipleOfRecord() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY), 100L));
+    }
+}
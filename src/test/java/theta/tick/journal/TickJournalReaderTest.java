@@ -0,0 +1,63 @@
+package theta.tick.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+import theta.domain.Ticker;
+import theta.domain.ticker.DefaultTicker;
+import theta.replay.VirtualClock;
+import theta.tick.domain.DefaultTick;
+import theta.tick.domain.TickType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickJournalReaderTest {
+
+    private static final Ticker TICKER = DefaultTicker.from("ABC");
+    private static final Instant FRIDAY = Instant.parse("2020-10-30T14:00:00.000000123Z");
+    private static final long EPOCH_NANOS = FRIDAY.getEpochSecond() * 1_000_000_000L + FRIDAY.getNano();
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    void read_carriesLatestPricesAndSkipsSizes() {
+        final MappedTickJournal journal = new MappedTickJournal(journalDirectory, new VirtualClock(FRIDAY));
+        journal.append(TICKER, TickType.BID, 49.98, 0L, EPOCH_NANOS);
+        journal.append(TICKER, TickType.BID, Double.NaN, 300L, EPOCH_NANOS);
+        journal.append(TICKER, TickType.ASK, 50.02, 0L, EPOCH_NANOS);
+        journal.close();
+
+        StepVerifier.create(TickJournalReader.read(MappedTickJournal.journalFile(journalDirectory, LocalDate.of(2020, 10, 30))))
+                .expectNext(new DefaultTick(TICKER, TickType.BID, -1.0, 49.98, -1.0, FRIDAY))
+                .expectNext(new DefaultTick(TICKER, TickType.ASK, -1.0, 49.98, 50.02, FRIDAY))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void read_emptyJournal() throws IOException {
+        final Path journalFile = Files.createFile(journalDirectory.resolve("ticks-2020-10-30.bin"));
+        Files.createFile(journalDirectory.resolve("ticks-2020-10-30.symbols"));
+
+        StepVerifier.create(TickJournalReader.read(journalFile))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    void readSymbols() throws IOException {
+        final Path symbolsFile = Files.write(journalDirectory.resolve("ticks.symbols"), List.of("1,ABC", "2,XYZ"));
+
+        assertThat(TickJournalReader.readSymbols(symbolsFile))
+                .containsEntry(1, TICKER)
+                .containsEntry(2, DefaultTicker.from("XYZ"));
+    }
+}
@@ -1,5 +1,8 @@
 package theta.tick.manager;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,11 +11,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.TestPublisher;
+import theta.actor.TickerActors;
 import theta.api.TickSubscriber;
 import theta.domain.SecurityType;
 import theta.domain.Ticker;
 import theta.domain.composed.Theta;
 import theta.domain.manager.ManagerState;
+import theta.properties.ActorProperties;
 import theta.domain.option.Option;
 import theta.domain.stock.Stock;
 import theta.domain.ticker.DefaultTicker;
@@ -45,13 +50,21 @@ class TickManagerTest {
     @Mock
     private MarketUtility mockMarketUtility;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private TickManager sut;
 
     @BeforeEach
     void setup() {
+        Metrics.addRegistry(meterRegistry);
         sut = new TickManager(mockTickSubscriber, mockTickProcessor, mockExecutor, mockMarketUtility);
     }
 
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
     @Test
     void startTickProcessing_noTick() {
         TestPublisher<Tick> ticksAcross = TestPublisher.create();
@@ -95,6 +108,7 @@ class TickManagerTest {
         TestPublisher<Tick> ticksAcross = TestPublisher.create();
         when(mockTickSubscriber.getTicksAcrossStrikePrices()).thenReturn(ticksAcross.flux());
         when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(any(), any())).thenReturn(1.0);
         when(mockTickProcessor.processTick(any(), any())).thenReturn(true);
         when(mockExecutor.reverseTrade(any())).thenReturn(Mono.empty());
 
@@ -164,6 +178,177 @@ class TickManagerTest {
         verify(mockExecutor).convertToMarketOrderIfExists(any());
     }
 
+    @Test
+    void startTickProcessing_singleTick_onlyProcessesThetasOfTicker() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+        final Theta theta = Theta.of(Stock.of(ticker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1));
+
+        final Ticker otherTicker = DefaultTicker.from("XYZ");
+        final Theta otherTheta = Theta.of(Stock.of(otherTicker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, otherTicker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, otherTicker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1));
+
+        DefaultTick tick = new DefaultTick(
+                ticker,
+                TickType.ASK,
+                1.0,
+                1.0,
+                1.0,
+                Instant.now().minusSeconds(1L));
+
+        TestPublisher<Tick> ticksAcross = TestPublisher.create();
+        when(mockTickSubscriber.getTicksAcrossStrikePrices()).thenReturn(ticksAcross.flux());
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(any(), any())).thenReturn(1.0);
+        when(mockTickProcessor.processTick(any(), any())).thenReturn(false);
+
+        sut.addMonitor(theta);
+        sut.addMonitor(otherTheta);
+
+        StepVerifier.create(sut.startTickProcessing())
+                .then(() -> ticksAcross.next(tick))
+                .then(ticksAcross::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+        verify(mockTickProcessor, times(1)).processTick(any(), any());
+        verify(mockExecutor, never()).reverseTrade(any());
+        verify(mockExecutor, never()).convertToMarketOrderIfExists(any());
+    }
+
+    @Test
+    void startTickProcessing_singleTick_priceLevelNotCrossed() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+        final Stock stock = Stock.of(ticker, 100L, 123.45);
+        final Option call = new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0,
+                LocalDate.of(2020, 10, 30), 1.1);
+        final Option put = new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0,
+                LocalDate.of(2020, 10, 30), 1.1);
+        Theta theta = Theta.of(stock, call, put);
+
+        DefaultTick tick = new DefaultTick(
+                ticker,
+                TickType.ASK,
+                51.0,
+                51.0,
+                51.0,
+                Instant.now().minusSeconds(1L));
+
+        TestPublisher<Tick> ticksAcross = TestPublisher.create();
+        when(mockTickSubscriber.getTicksAcrossStrikePrices()).thenReturn(ticksAcross.flux());
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(any(), any())).thenReturn(51.0);
+
+        sut.addMonitor(theta);
+
+        StepVerifier.create(sut.startTickProcessing())
+                .then(() -> ticksAcross.next(tick))
+                .then(ticksAcross::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+        verify(mockTickProcessor, never()).processTick(any(), any());
+        verify(mockExecutor, never()).reverseTrade(any());
+    }
+
+    @Test
+    void startTickProcessing_outOfHoursTick_counted() {
+        DefaultTick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.ASK, 1.0, 1.0, 1.0,
+                Instant.now().minusSeconds(1L));
+
+        TestPublisher<Tick> ticksAcross = TestPublisher.create();
+        when(mockTickSubscriber.getTicksAcrossStrikePrices()).thenReturn(ticksAcross.flux());
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(false);
+
+        StepVerifier.create(sut.startTickProcessing())
+                .then(() -> ticksAcross.next(tick))
+                .then(ticksAcross::complete)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertThat(meterRegistry.get("theta.ticks.out-of-hours").counter().count()).isEqualTo(1.0);
+        verify(mockExecutor, never()).convertToMarketOrderIfExists(any());
+    }
+
+    @Test
+    void startTickProcessing_tickersOnActors() {
+        final TickerActors tickerActors = new TickerActors(new ActorProperties(2));
+        sut = new TickManager(mockTickSubscriber, mockTickProcessor, mockExecutor, mockMarketUtility, tickerActors);
+
+        final Ticker ticker = DefaultTicker.from("ABC");
+        final Theta theta = Theta.of(Stock.of(ticker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1));
+        final Ticker otherTicker = DefaultTicker.from("XYZ");
+
+        TestPublisher<Tick> ticksAcross = TestPublisher.create();
+        when(mockTickSubscriber.getTicksAcrossStrikePrices()).thenReturn(ticksAcross.flux());
+        when(mockMarketUtility.isDuringMarketHours(any())).thenReturn(true);
+        when(mockTickProcessor.getCrossingPrice(any(), any())).thenReturn(1.0);
+        when(mockTickProcessor.processTick(any(), any())).thenReturn(true);
+        when(mockExecutor.reverseTrade(any())).thenReturn(Mono.empty());
+
+        try {
+            // Monitor is added on the actor before the Tick sent after it
+            sut.addMonitor(theta);
+
+            StepVerifier.create(sut.startTickProcessing())
+                    .then(() -> ticksAcross.next(
+                            new DefaultTick(ticker, TickType.ASK, 1.0, 1.0, 1.0, Instant.now()),
+                            new DefaultTick(otherTicker, TickType.ASK, 1.0, 1.0, 1.0, Instant.now())))
+                    .then(ticksAcross::complete)
+                    .expectComplete()
+                    .verify(VERIFY_TIMEOUT);
+
+            verify(mockExecutor, timeout(VERIFY_TIMEOUT.toMillis())).reverseTrade(any());
+            verify(mockExecutor, timeout(VERIFY_TIMEOUT.toMillis())).convertToMarketOrderIfExists(otherTicker);
+        } finally {
+            tickerActors.shutdown();
+        }
+    }
+
+    @Test
+    void processTick_countedByTicker() {
+        final Ticker ticker = DefaultTicker.from("COUNTED");
+        final Theta theta = Theta.of(Stock.of(ticker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1));
+
+        when(mockTickProcessor.getCrossingPrice(any(), any())).thenReturn(1.0);
+        when(mockTickProcessor.processTick(any(), any())).thenReturn(true);
+        when(mockExecutor.reverseTrade(any())).thenReturn(Mono.never());
+
+        sut.addMonitor(theta);
+        sut.processTick(new DefaultTick(ticker, TickType.ASK, 1.0, 1.0, 1.0, Instant.now()));
+
+        assertThat(meterRegistry.get("theta.ticks.processed").tag("ticker", "COUNTED").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("theta.ticks.triggered").tag("ticker", "COUNTED").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void getMonitoredCounts() {
+        final Ticker ticker = DefaultTicker.from("ABC");
+        final Theta theta = Theta.of(Stock.of(ticker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 50.0, LocalDate.of(2020, 10, 30), 1.1));
+        final Theta otherStrikeTheta = Theta.of(Stock.of(ticker, 100L, 123.45),
+                new Option(UUID.randomUUID(), SecurityType.CALL, ticker, -1L, 60.0, LocalDate.of(2020, 10, 30), 1.1),
+                new Option(UUID.randomUUID(), SecurityType.PUT, ticker, -1L, 60.0, LocalDate.of(2020, 10, 30), 1.1));
+
+        sut.addMonitor(theta);
+        sut.addMonitor(otherStrikeTheta);
+
+        assertThat(sut.getMonitoredThetaCount()).isEqualTo(2);
+        assertThat(sut.getMonitoredPriceLevelCount()).isEqualTo(2);
+
+        sut.deleteMonitor(theta);
+
+        assertThat(sut.getMonitoredThetaCount()).isEqualTo(1);
+        assertThat(sut.getMonitoredPriceLevelCount()).isEqualTo(1);
+    }
+
     @Test
     void shutdown() {
         sut.shutdown();
@@ -17,6 +17,7 @@ import theta.tick.domain.TickType;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class BidAskSpreadTickProcessorTest {
 
@@ -118,6 +119,27 @@ class BidAskSpreadTickProcessorTest {
         assertThat(shouldOrder).isFalse();
     }
 
+    @Test
+    void getCrossingPrice_fallsBelow() {
+        Tick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.ASK, 0.9, 1.0, 2.0, Instant.now());
+
+        assertThat(sut.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW)).isCloseTo(1.68, within(0.0001));
+    }
+
+    @Test
+    void getCrossingPrice_risesAbove() {
+        Tick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.BID, 0.9, 1.0, 2.0, Instant.now());
+
+        assertThat(sut.getCrossingPrice(tick, PriceLevelDirection.RISES_ABOVE)).isCloseTo(1.32, within(0.0001));
+    }
+
+    @Test
+    void getCrossingPrice_noBid() {
+        Tick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.ASK, 0.9, -1.0, 2.0, Instant.now());
+
+        assertThat(sut.getCrossingPrice(tick, PriceLevelDirection.FALLS_BELOW)).isNaN();
+    }
+
     @Test
     void getCandidateStockOrder() {
         Tick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.ASK, 0.9, 0.3, 1.3, Instant.now());
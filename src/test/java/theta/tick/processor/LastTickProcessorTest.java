@@ -71,6 +71,18 @@ class LastTickProcessorTest {
         assertThat(shouldTrade).isTrue();
     }
 
+    @Test
+    void getCrossingPrice_last() {
+        assertThat(sut.getCrossingPrice(TICK_ABOVE, PriceLevelDirection.FALLS_BELOW)).isEqualTo(10.01);
+    }
+
+    @Test
+    void getCrossingPrice_notApplicable() {
+        Tick tick = new DefaultTick(DefaultTicker.from("ABC"), TickType.BID, 10.01, 10.0, 10.02, Instant.now());
+
+        assertThat(sut.getCrossingPrice(tick, PriceLevelDirection.RISES_ABOVE)).isNaN();
+    }
+
     @Test
     void getCandidateStockOrder() {
         Stock stock = Stock.of(DefaultTicker.from("ABC"), 100L, 22.34);
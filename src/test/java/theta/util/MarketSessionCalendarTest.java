@@ -0,0 +1,106 @@
+package theta.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketSessionCalendarTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    // Monday 2020-11-02 to Sunday 2020-11-08, with Wednesday a holiday and Thursday closing early
+    private final MarketSessionCalendar sut = new MarketSessionCalendar(NEW_YORK,
+            LocalTime.of(9, 30),
+            LocalTime.of(16, 0),
+            LocalDate.of(2020, 11, 2),
+            LocalDate.of(2020, 11, 8),
+            Set.of(LocalDate.of(2020, 11, 4)),
+            Map.of(LocalDate.of(2020, 11, 5), LocalTime.of(13, 0)));
+
+    @Test
+    void isDuringSession_openAndCloseExcluded() {
+        final Instant open = at(2020, 11, 2, LocalTime.of(9, 30));
+        final Instant close = at(2020, 11, 2, LocalTime.of(16, 0));
+
+        assertThat(sut.isDuringSession(open)).isFalse();
+        assertThat(sut.isDuringSession(open.plusNanos(1L))).isTrue();
+        assertThat(sut.isDuringSession(close.minusNanos(1L))).isTrue();
+        assertThat(sut.isDuringSession(close)).isFalse();
+    }
+
+    @Test
+    void isDuringSession_holiday() {
+        assertThat(sut.isDuringSession(at(2020, 11, 4, LocalTime.NOON))).isFalse();
+    }
+
+    @Test
+    void isDuringSession_earlyClose() {
+        assertThat(sut.isDuringSession(at(2020, 11, 5, LocalTime.NOON))).isTrue();
+        assertThat(sut.isDuringSession(at(2020, 11, 5, LocalTime.of(14, 0)))).isFalse();
+    }
+
+    @Test
+    void isDuringSession_weekend() {
+        assertThat(sut.isDuringSession(at(2020, 11, 7, LocalTime.NOON))).isFalse();
+        assertThat(sut.isDuringSession(at(2020, 11, 8, LocalTime.NOON))).isFalse();
+    }
+
+    @Test
+    void isDuringSession_timesOutOfOrder() {
+        assertThat(sut.isDuringSession(at(2020, 11, 6, LocalTime.NOON))).isTrue();
+        assertThat(sut.isDuringSession(at(2020, 11, 4, LocalTime.NOON))).isFalse();
+        assertThat(sut.isDuringSession(at(2020, 11, 3, LocalTime.NOON))).isTrue();
+        assertThat(sut.isDuringSession(at(2020, 11, 3, LocalTime.of(8, 0)))).isFalse();
+        assertThat(sut.isDuringSession(at(2020, 11, 2, LocalTime.of(10, 0)))).isTrue();
+    }
+
+    @Test
+    void isDuringSession_uncoveredFallsBackToRegularHours() {
+        assertThat(sut.isDuringSession(at(2020, 11, 9, LocalTime.NOON))).isTrue();
+        assertThat(sut.isDuringSession(at(2020, 11, 9, LocalTime.of(17, 0)))).isFalse();
+        assertThat(sut.isDuringSession(at(2020, 10, 31, LocalTime.NOON))).isFalse();
+    }
+
+    @Test
+    void getNextOpen_skipsHolidayAndWeekend() {
+        assertThat(sut.getNextOpen(at(2020, 11, 3, LocalTime.NOON))).contains(at(2020, 11, 5, LocalTime.of(9, 30)));
+        assertThat(sut.getNextOpen(at(2020, 11, 6, LocalTime.of(9, 30)))).isEmpty();
+    }
+
+    @Test
+    void getNextClose_earlyClose() {
+        assertThat(sut.getNextClose(at(2020, 11, 5, LocalTime.of(8, 0)))).contains(at(2020, 11, 5, LocalTime.of(13, 0)));
+        assertThat(sut.getNextClose(at(2020, 11, 2, LocalTime.of(16, 0)))).contains(at(2020, 11, 3, LocalTime.of(16, 0)));
+    }
+
+    @Test
+    void newYork_holidaysLoaded() {
+        final MarketSessionCalendar newYork = MarketSessionCalendar.newYork();
+
+        assertThat(newYork.isDuringSession(at(2024, 12, 24, LocalTime.NOON))).isTrue();
+        assertThat(newYork.isDuringSession(at(2024, 12, 24, LocalTime.of(13, 30)))).isFalse();
+        assertThat(newYork.isDuringSession(at(2024, 12, 25, LocalTime.NOON))).isFalse();
+        assertThat(newYork.isDuringSession(at(2027, 3, 26, LocalTime.NOON))).isFalse();
+        assertThat(newYork.isDuringSession(at(2027, 3, 29, LocalTime.NOON))).isTrue();
+    }
+
+    @Test
+    void load_missingResource() {
+        assertThatThrownBy(() -> MarketSessionCalendar.load("/calendar/missing.csv", NEW_YORK,
+                LocalTime.of(9, 30), LocalTime.of(16, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Instant at(int year, int month, int day, LocalTime time) {
+        return ZonedDateTime.of(LocalDate.of(year, month, day), time, NEW_YORK).toInstant();
+    }
+}
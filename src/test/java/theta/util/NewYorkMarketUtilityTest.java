@@ -65,4 +65,24 @@ class NewYorkMarketUtilityTest {
                 .toInstant();
         assertThat(sut.isDuringMarketHours(saturday)).isTrue();
     }
+
+    @Test
+    void isDuringMarketHours_holiday() {
+        Instant thanksgiving = ZonedDateTime.of(
+                LocalDate.of(2020, 11, 26),
+                LocalTime.NOON,
+                ZoneId.of("America/New_York"))
+                .toInstant();
+        assertThat(sut.isDuringMarketHours(thanksgiving)).isFalse();
+    }
+
+    @Test
+    void isDuringMarketHours_afterEarlyClose() {
+        Instant blackFriday = ZonedDateTime.of(
+                LocalDate.of(2020, 11, 27),
+                LocalTime.of(14, 0, 0),
+                ZoneId.of("America/New_York"))
+                .toInstant();
+        assertThat(sut.isDuringMarketHours(blackFriday)).isFalse();
+    }
 }